@@ -0,0 +1,16 @@
+package org.polyforms.benchmarks;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Delegatee bean of {@link Calculator}.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+@Component
+public class Adder {
+    public int add(final int augend, final int addend) {
+        return augend + addend;
+    }
+}
@@ -0,0 +1,34 @@
+package org.polyforms.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run all benchmarks single-threaded and with 2 threads per processor, reporting allocation rates by GC profiler.
+ * 
+ * Command line options of JMH are accepted to select benchmarks or override settings, e.g.
+ * <code>java -jar target/benchmarks.jar Delegation -wi 10</code>.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public final class BenchmarkRunner {
+    private BenchmarkRunner() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static void main(final String[] args) throws RunnerException, CommandLineOptionException {
+        final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        final int[] threadCounts = { 1, Runtime.getRuntime().availableProcessors() * 2 };
+        for (final int threads : threadCounts) {
+            final Options options = new OptionsBuilder().parent(commandLineOptions).threads(threads)
+                    .addProfiler(GCProfiler.class).build();
+            new Runner(options).run();
+        }
+    }
+}
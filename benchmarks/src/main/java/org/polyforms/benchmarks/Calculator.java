@@ -0,0 +1,29 @@
+package org.polyforms.benchmarks;
+
+/**
+ * Delegator interface used by benchmarks, whose methods are delegated in different modes.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public interface Calculator {
+    /**
+     * Bean delegation with matched parameters.
+     */
+    int add(int augend, int addend);
+
+    /**
+     * Bean delegation with argument providers.
+     */
+    int addReversed(int addend, int augend);
+
+    /**
+     * Delegation to the first argument with matched parameters.
+     */
+    int length(Text text);
+
+    /**
+     * Delegation to the first argument with argument providers.
+     */
+    char charAt(Text text, int index);
+}
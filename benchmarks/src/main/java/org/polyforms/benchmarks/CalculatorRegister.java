@@ -0,0 +1,28 @@
+package org.polyforms.benchmarks;
+
+import org.polyforms.delegation.DelegatorRegister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Register delegations of {@link Calculator}.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+@Component
+public class CalculatorRegister extends DelegatorRegister<Calculator> {
+    @Override
+    public void register(final Calculator source) {
+        this.<Text> delegate(source.length(null)).length();
+        this.<Text> delegate(source.charAt(null, 0)).charAt(at(int.class, 1));
+
+        with(new DelegateeRegister<Adder>() {
+            @Override
+            public void register(final Calculator calculator) {
+                calculator.add(0, 0);
+                delegate();
+                delegate(calculator.addReversed(0, 0)).add(at(int.class, 1), at(int.class, 0));
+            }
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package org.polyforms.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.polyforms.util.ConversionUtils;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+/**
+ * Benchmarks of {@link ConversionUtils#convertArguments(ConversionService, Class, Method, Object[])}, with arguments
+ * of same types as parameters and arguments which have to be converted.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionBenchmark {
+    private final ConversionService conversionService = new DefaultConversionService();
+    private Method add;
+    private TypeDescriptor[] parameterTypeDescriptors;
+    private Object[] numbers;
+    private Object[] strings;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        add = Adder.class.getMethod("add", int.class, int.class);
+        parameterTypeDescriptors = ConversionUtils.getParameterTypeDescriptors(Adder.class, add);
+        numbers = new Object[] { 1, 2 };
+        strings = new Object[] { "1", "2" };
+    }
+
+    @Benchmark
+    public Object[] convertSameTypes() {
+        return ConversionUtils.convertArguments(conversionService, Adder.class, add, numbers);
+    }
+
+    @Benchmark
+    public Object[] convertDifferentTypes() {
+        return ConversionUtils.convertArguments(conversionService, Adder.class, add, strings);
+    }
+
+    @Benchmark
+    public Object[] convertWithResolvedTypes() {
+        return ConversionUtils.convertArguments(conversionService, parameterTypeDescriptors, strings);
+    }
+}
@@ -0,0 +1,83 @@
+package org.polyforms.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.polyforms.delegation.DelegationService;
+import org.polyforms.delegation.support.SimpleDelegationRegistry;
+import org.polyforms.delegation.support.SimpleDelegationRegistry.Invocation;
+import org.springframework.context.support.GenericXmlApplicationContext;
+
+/**
+ * Benchmarks of {@link DelegationService#delegate(Class, Method, Object...)} with delegatee methods invoked by
+ * reflection and by generated classes, see {@link SimpleDelegationRegistry#setInvocation(Invocation)}.
+ * 
+ * The invocation is set to the registry before the context is refreshed, because it applies to delegations
+ * registered afterwards.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DelegateeInvocationBenchmark {
+    private static final String CONTEXT = "classpath:org/polyforms/benchmarks/benchmark-context.xml";
+    @Param({ "GENERATED", "REFLECTION" })
+    private Invocation invocation;
+    private GenericXmlApplicationContext applicationContext;
+    private DelegationService delegationService;
+    private Class<?> delegatorType;
+    private Method add;
+    private Method length;
+    private Object[] numbers;
+    private Object[] textArguments;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        applicationContext = new GenericXmlApplicationContext();
+        applicationContext.load(CONTEXT);
+        for (final String beanName : applicationContext.getDefaultListableBeanFactory().getBeanNamesForType(
+                SimpleDelegationRegistry.class)) {
+            applicationContext.getBeanDefinition(beanName).getPropertyValues().add("invocation", invocation);
+        }
+        applicationContext.refresh();
+
+        delegationService = applicationContext.getBean(DelegationService.class);
+        delegatorType = applicationContext.getBean(Calculator.class).getClass();
+        add = Calculator.class.getMethod("add", int.class, int.class);
+        length = Calculator.class.getMethod("length", Text.class);
+        numbers = new Object[] { 1, 2 };
+        textArguments = new Object[] { new Text("benchmark") };
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Object beanDelegation() throws Throwable {
+        return delegationService.delegate(delegatorType, add, numbers);
+    }
+
+    @Benchmark
+    public Object argumentDelegation() throws Throwable {
+        return delegationService.delegate(delegatorType, length, textArguments);
+    }
+}
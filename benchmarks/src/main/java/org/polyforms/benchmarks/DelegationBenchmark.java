@@ -0,0 +1,102 @@
+package org.polyforms.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.polyforms.delegation.DelegationService;
+import org.springframework.context.support.GenericXmlApplicationContext;
+
+/**
+ * Benchmarks of {@link DelegationService#delegate(Class, Method, Object...)} in different modes, compared with calling
+ * delegatee directly and calling through the delegator proxy.
+ * 
+ * The delegator type is the class of proxy bean, which is passed by interceptor in real invocations.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DelegationBenchmark {
+    private static final String CONTEXT = "classpath:org/polyforms/benchmarks/benchmark-context.xml";
+    private GenericXmlApplicationContext applicationContext;
+    private DelegationService delegationService;
+    private Calculator calculator;
+    private Class<?> delegatorType;
+    private Adder adder;
+    private Method add;
+    private Method addReversed;
+    private Method length;
+    private Method charAt;
+    private Text text;
+    private Object[] numbers;
+    private Object[] textArguments;
+    private Object[] indexedTextArguments;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        applicationContext = new GenericXmlApplicationContext(CONTEXT);
+        delegationService = applicationContext.getBean(DelegationService.class);
+        calculator = applicationContext.getBean(Calculator.class);
+        delegatorType = calculator.getClass();
+        adder = applicationContext.getBean(Adder.class);
+        add = Calculator.class.getMethod("add", int.class, int.class);
+        addReversed = Calculator.class.getMethod("addReversed", int.class, int.class);
+        length = Calculator.class.getMethod("length", Text.class);
+        charAt = Calculator.class.getMethod("charAt", Text.class, int.class);
+        text = new Text("benchmark");
+        numbers = new Object[] { 1, 2 };
+        textArguments = new Object[] { text };
+        indexedTextArguments = new Object[] { text, 1 };
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public int directCall() {
+        return adder.add(1, 2);
+    }
+
+    @Benchmark
+    public int proxyCall() {
+        return calculator.add(1, 2);
+    }
+
+    @Benchmark
+    public Object beanDelegation() throws Throwable {
+        return delegationService.delegate(delegatorType, add, numbers);
+    }
+
+    @Benchmark
+    public Object beanDelegationWithArgumentProviders() throws Throwable {
+        return delegationService.delegate(delegatorType, addReversed, numbers);
+    }
+
+    @Benchmark
+    public Object argumentDelegation() throws Throwable {
+        return delegationService.delegate(delegatorType, length, textArguments);
+    }
+
+    @Benchmark
+    public Object argumentDelegationWithArgumentProviders() throws Throwable {
+        return delegationService.delegate(delegatorType, charAt, indexedTextArguments);
+    }
+}
@@ -0,0 +1,50 @@
+package org.polyforms.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.polyforms.parameter.ArgumentProvider;
+import org.polyforms.parameter.support.MethodParameterMatcher;
+import org.polyforms.parameter.support.MethodParameters;
+
+/**
+ * Benchmarks of {@link MethodParameterMatcher#match(org.polyforms.parameter.Parameters,
+ * org.polyforms.parameter.Parameters)}.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterMatchingBenchmark {
+    private final MethodParameterMatcher parameterMatcher = new MethodParameterMatcher();
+    private Method add;
+    private Method adderAdd;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        add = Calculator.class.getMethod("add", int.class, int.class);
+        adderAdd = Adder.class.getMethod("add", int.class, int.class);
+    }
+
+    @Benchmark
+    public ArgumentProvider[] match() {
+        final MethodParameters sourceParameters = new MethodParameters(Calculator.class, add);
+        sourceParameters.applyAnnotation();
+        return parameterMatcher.match(sourceParameters, new MethodParameters(Adder.class, adderAdd));
+    }
+}
@@ -0,0 +1,32 @@
+package org.polyforms.benchmarks;
+
+/**
+ * Domain object delegated by {@link Calculator} as the first argument.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public class Text {
+    private final String value;
+
+    protected Text() {
+        this(null);
+    }
+
+    public Text(final String value) {
+        this.value = value;
+    }
+
+    public int length() {
+        return value.length();
+    }
+
+    public char charAt(final int index) {
+        return value.charAt(index);
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,176 @@
+package org.polyforms.delegation.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import org.polyforms.delegation.spring.DelegationIndex;
+
+/**
+ * Annotation processor which generates {@link DelegationIndex} of compiled classes.
+ * 
+ * Concrete classes implementing {@link org.polyforms.delegation.builder.DelegationRegister} are indexed as registers,
+ * and types annotated by {@link org.polyforms.delegation.DelegateTo} or declaring annotated methods are indexed as
+ * delegators. Entries of index generated by previous compilation are kept for classes which still exist and are not
+ * recompiled, so that incremental compilation neither loses nor resurrects classes.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+@SupportedAnnotationTypes("*")
+public class DelegationIndexProcessor extends AbstractProcessor {
+    private static final String DELEGATION_REGISTER = "org.polyforms.delegation.builder.DelegationRegister";
+    private static final String DELEGATE_TO = "org.polyforms.delegation.DelegateTo";
+    private static final String ENCODING = "UTF-8";
+    private final Set<String> entries = new TreeSet<String>();
+    private final Set<String> visitedNames = new HashSet<String>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        final TypeElement registerElement = processingEnv.getElementUtils().getTypeElement(DELEGATION_REGISTER);
+        if (registerElement == null) {
+            return false;
+        }
+
+        if (roundEnv.processingOver()) {
+            if (readPreviousIndex() || !entries.isEmpty()) {
+                writeIndex();
+            }
+        } else {
+            final TypeMirror registerType = processingEnv.getTypeUtils().erasure(registerElement.asType());
+            for (final Element element : roundEnv.getRootElements()) {
+                visit(element, registerType);
+            }
+        }
+        return false;
+    }
+
+    private void visit(final Element element, final TypeMirror registerType) {
+        if (!element.getKind().isClass() && !element.getKind().isInterface()) {
+            return;
+        }
+
+        final TypeElement typeElement = (TypeElement) element;
+        final String binaryName = processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+        visitedNames.add(binaryName);
+        if (isRegister(typeElement, registerType)) {
+            entries.add(DelegationIndex.REGISTER + " " + binaryName);
+        }
+        if (isDelegator(typeElement)) {
+            entries.add(DelegationIndex.DELEGATOR + " " + binaryName);
+        }
+
+        for (final Element enclosedElement : typeElement.getEnclosedElements()) {
+            visit(enclosedElement, registerType);
+        }
+    }
+
+    private boolean isRegister(final TypeElement typeElement, final TypeMirror registerType) {
+        return typeElement.getKind() == ElementKind.CLASS && !typeElement.getModifiers().contains(Modifier.ABSTRACT)
+                && processingEnv.getTypeUtils().isAssignable(
+                        processingEnv.getTypeUtils().erasure(typeElement.asType()), registerType);
+    }
+
+    private boolean isDelegator(final TypeElement typeElement) {
+        if (isAnnotated(typeElement)) {
+            return true;
+        }
+
+        for (final Element enclosedElement : typeElement.getEnclosedElements()) {
+            if (enclosedElement.getKind() == ElementKind.METHOD && isAnnotated(enclosedElement)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isAnnotated(final Element element) {
+        for (final AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            final TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (DELEGATE_TO.equals(annotationType.getQualifiedName().toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeIndex() {
+        try {
+            final FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    DelegationIndex.LOCATION);
+            final Writer writer = new OutputStreamWriter(index.openOutputStream(), ENCODING);
+            try {
+                writer.write("# Generated by " + getClass().getName() + "\n");
+                for (final String entry : entries) {
+                    writer.write(entry);
+                    writer.write("\n");
+                }
+            } finally {
+                writer.close();
+            }
+        } catch (final IOException e) {
+            processingEnv.getMessager().printMessage(Kind.ERROR,
+                    "Cannot write delegation index " + DelegationIndex.LOCATION + ": " + e);
+        }
+    }
+
+    private boolean readPreviousIndex() {
+        try {
+            final FileObject index = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+                    DelegationIndex.LOCATION);
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(index.openInputStream(), ENCODING));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    final String entry = line.trim();
+                    if (entry.length() > 0 && !entry.startsWith("#") && isStillValid(entry)) {
+                        entries.add(entry);
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+            return true;
+        } catch (final IOException e) {
+            // there is no index generated by previous compilation
+            return false;
+        } catch (final IllegalArgumentException e) {
+            // the location of class output is not supported to read by compiler
+            return false;
+        }
+    }
+
+    private boolean isStillValid(final String entry) {
+        final String binaryName = entry.substring(entry.lastIndexOf(' ') + 1);
+        if (visitedNames.contains(binaryName)) {
+            // entries of recompiled classes are generated again
+            return false;
+        }
+
+        return processingEnv.getElementUtils().getTypeElement(binaryName.replace('$', '.')) != null;
+    }
+}
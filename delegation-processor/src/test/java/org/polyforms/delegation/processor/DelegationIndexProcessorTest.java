@@ -0,0 +1,133 @@
+package org.polyforms.delegation.processor;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.polyforms.delegation.spring.DelegationIndex;
+
+public class DelegationIndexProcessorTest {
+    private File sourceDirectory;
+    private File outputDirectory;
+
+    @Before
+    public void setUp() throws IOException {
+        sourceDirectory = createDirectory("source");
+        outputDirectory = createDirectory("output");
+    }
+
+    @Test
+    public void generateIndex() throws IOException {
+        compile(writeSource("MockDelegator", "@org.polyforms.delegation.DelegateTo public interface MockDelegator {}"),
+                writeSource("MockMethodDelegator", "public interface MockMethodDelegator {"
+                        + " @org.polyforms.delegation.DelegateTo int length(String string); }"),
+                writeSource("MockRegister", "public class MockRegister extends"
+                        + " org.polyforms.delegation.DelegatorRegister<MockDelegator> {"
+                        + " public static class NestedRegister extends MockRegister {} }"),
+                writeSource("AbstractRegister", "public abstract class AbstractRegister implements"
+                        + " org.polyforms.delegation.builder.DelegationRegister<String> {}"),
+                writeSource("MockClass", "public class MockClass {}"));
+
+        Assert.assertEquals(Arrays.asList("delegator MockDelegator", "delegator MockMethodDelegator",
+                "register MockRegister", "register MockRegister$NestedRegister"), readIndex());
+    }
+
+    @Test
+    public void mergePreviousIndex() throws IOException {
+        compile(writeSource("MockDelegator", "@org.polyforms.delegation.DelegateTo public interface MockDelegator {}"));
+        compile(writeSource("MockRegister", "public class MockRegister extends"
+                + " org.polyforms.delegation.DelegationRegister<String, String> {}"));
+
+        Assert.assertEquals(Arrays.asList("delegator MockDelegator", "register MockRegister"), readIndex());
+    }
+
+    @Test
+    public void pruneRemovedClasses() throws IOException {
+        compile(writeSource("MockDelegator", "@org.polyforms.delegation.DelegateTo public interface MockDelegator {}"));
+        Assert.assertTrue(new File(outputDirectory, "MockDelegator.class").delete());
+        compile(writeSource("MockRegister", "public class MockRegister extends"
+                + " org.polyforms.delegation.DelegationRegister<String, String> {}"));
+
+        Assert.assertEquals(Arrays.asList("register MockRegister"), readIndex());
+    }
+
+    @Test
+    public void pruneRecompiledClasses() throws IOException {
+        compile(writeSource("MockDelegator", "@org.polyforms.delegation.DelegateTo public interface MockDelegator {}"));
+        compile(writeSource("MockDelegator", "public interface MockDelegator {}"));
+
+        Assert.assertTrue(readIndex().isEmpty());
+    }
+
+    @Test
+    public void noIndexWithoutDelegation() throws IOException {
+        compile(writeSource("MockClass", "public class MockClass {}"));
+
+        Assert.assertFalse(new File(outputDirectory, DelegationIndex.LOCATION).exists());
+    }
+
+    private File createDirectory(final String name) throws IOException {
+        final File directory = File.createTempFile("polyforms", name);
+        directory.delete();
+        directory.mkdirs();
+        return directory;
+    }
+
+    private File writeSource(final String className, final String source) throws IOException {
+        final File sourceFile = new File(sourceDirectory, className + ".java");
+        final OutputStream outputStream = new FileOutputStream(sourceFile);
+        try {
+            outputStream.write(source.getBytes("UTF-8"));
+        } finally {
+            outputStream.close();
+        }
+        return sourceFile;
+    }
+
+    private void compile(final File... sourceFiles) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+        try {
+            final List<String> options = Arrays.asList("-classpath", outputDirectory.getPath() + File.pathSeparator
+                    + System.getProperty("java.class.path"), "-d", outputDirectory.getPath());
+            final CompilationTask task = compiler.getTask(null, fileManager, null, options, null,
+                    fileManager.getJavaFileObjects(sourceFiles));
+            task.setProcessors(Arrays.asList(new DelegationIndexProcessor()));
+            Assert.assertTrue(task.call());
+        } finally {
+            fileManager.close();
+        }
+    }
+
+    private List<String> readIndex() throws IOException {
+        final List<String> entries = new ArrayList<String>();
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(new File(
+                outputDirectory, DelegationIndex.LOCATION)), "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith("#")) {
+                    entries.add(line);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return entries;
+    }
+}
@@ -6,6 +6,8 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import org.polyforms.delegation.builder.Delegation.Batch;
+
 /**
  * Indicates that method are delegated to another method.
  * 
@@ -45,4 +47,23 @@ public @interface DelegateTo {
      * Otherwise, the bean in Ioc container with specific name and type is used.
      */
     String name() default "";
+
+    /**
+     * Whether the delegatee method is executed asynchronously.
+     * 
+     * An asynchronous delegator method must return {@link java.util.concurrent.Future}, whose value is the converted
+     * return value of delegatee method. If annotated on type, only methods returning
+     * {@link java.util.concurrent.Future} are asynchronous.
+     */
+    boolean async() default false;
+
+    /**
+     * The way to delegate elements of the first parameter, which is a {@link java.util.Collection} or an array, one by
+     * one. The delegator method must return {@link java.util.List} of results or void.
+     * 
+     * Default value is {@link Batch#NONE} which means delegating the first parameter as a whole. If annotated on type,
+     * only methods accepting elements in the first parameter are batch delegations. Batch delegation cannot be
+     * asynchronous.
+     */
+    Batch batch() default Batch.NONE;
 }
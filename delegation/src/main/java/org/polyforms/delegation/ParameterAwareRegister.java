@@ -1,5 +1,6 @@
 package org.polyforms.delegation;
 
+import org.polyforms.delegation.builder.Delegation.Batch;
 import org.polyforms.delegation.builder.DelegationBuilderHolder;
 import org.polyforms.delegation.builder.DelegationRegister;
 import org.polyforms.parameter.ArgumentProvider;
@@ -27,6 +28,22 @@ public abstract class ParameterAwareRegister<S> implements DelegationRegister<S>
         DelegationBuilderHolder.get().map(sourceType, targetType);
     }
 
+    /**
+     * Mark the delegation registered by next delegate as asynchronous, whose delegator method must return
+     * {@link java.util.concurrent.Future}.
+     */
+    protected void async() {
+        DelegationBuilderHolder.get().async(true);
+    }
+
+    /**
+     * Mark the delegation registered by next delegate as a batch delegation, which delegates elements in the first
+     * parameter of delegator method one by one.
+     */
+    protected void batch(final Batch batch) {
+        DelegationBuilderHolder.get().batch(batch);
+    }
+
     protected final <P> P at(final Class<P> targetType, final int position) {
         return provideBy(targetType, new ArgumentAt(position));
     }
@@ -42,4 +42,23 @@ public interface BeanContainer {
      * @throws BeanNotFoundException if specific bean cannot be found
      */
     <T> T getBean(String name, Class<T> type);
+
+    /**
+     * Check whether the bean that uniquely matches the given object type is a shared singleton, which means
+     * {@link #getBean(Class)} always returns the same instance.
+     * 
+     * @param type of the bean to match; can be an interface or superclass. {@literal null} is disallowed.
+     * @return true if there is exactly one bean of type and it is a singleton, false if not
+     */
+    boolean isSingleton(Class<?> type);
+
+    /**
+     * Check whether the bean of specified name is a shared singleton, which means {@link #getBean(String, Class)}
+     * always returns the same instance.
+     * 
+     * @param name the name of the bean to check
+     * @return true if the bean is a singleton, false if it is a prototype or scoped bean
+     * @throws BeanNotFoundException if specific bean cannot be found
+     */
+    boolean isSingleton(String name);
 }
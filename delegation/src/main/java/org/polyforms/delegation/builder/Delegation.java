@@ -53,6 +53,20 @@ public interface Delegation {
      */
     ArgumentProvider[] getArgumentProviders();
 
+    /**
+     * Check whether the delegatee method is executed asynchronously.
+     * 
+     * @return true if delegator method returns {@link java.util.concurrent.Future} of delegatee's return value
+     */
+    boolean isAsync();
+
+    /**
+     * Get the way to delegate elements of the first argument one by one.
+     * 
+     * @return {@link Batch#NONE} if the delegation is not a batch delegation
+     */
+    Batch getBatch();
+
     /**
      * Get mapped exception type.
      * 
@@ -60,4 +74,23 @@ public interface Delegation {
      * @return mapped exception type
      */
     Class<? extends Throwable> getExceptionType(Class<? extends Throwable> exceptionType);
+
+    /**
+     * Way to delegate elements of the first argument, which is a {@link java.util.Collection} or an array, one by one.
+     * The results of delegations are collected in a {@link java.util.List} in order of elements.
+     */
+    enum Batch {
+        /**
+         * Delegate the first argument as a whole.
+         */
+        NONE,
+        /**
+         * Delegate elements one by one in the invoking thread.
+         */
+        SEQUENTIAL,
+        /**
+         * Delegate elements concurrently by executor.
+         */
+        PARALLEL
+    }
 }
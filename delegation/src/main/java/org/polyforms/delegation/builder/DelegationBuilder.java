@@ -31,6 +31,20 @@ public interface DelegationBuilder {
      */
     void withName(String name);
 
+    /**
+     * Set whether delegations created by next {@link #delegate()} are executed asynchronously.
+     * 
+     * @param async
+     */
+    void async(boolean async);
+
+    /**
+     * Set how delegations created by next {@link #delegate()} delegate elements of the first argument.
+     * 
+     * @param batch
+     */
+    void batch(Delegation.Batch batch);
+
     /**
      * Create a delegation.
      * 
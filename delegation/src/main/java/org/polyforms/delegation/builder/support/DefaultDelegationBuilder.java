@@ -8,6 +8,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Future;
+
+import org.polyforms.delegation.builder.Delegation.Batch;
 
 import org.polyforms.delegation.builder.Delegation;
 import org.polyforms.delegation.builder.DelegationBuilder;
@@ -33,6 +36,8 @@ public final class DefaultDelegationBuilder implements DelegationBuilder {
     private Method delegatorMethod;
     private Class<?> delegateeType;
     private String delegateeName;
+    private boolean async;
+    private Batch batch = Batch.NONE;
     private List<ArgumentProvider> argumentProviders;
     private SimpleDelegation delegation;
 
@@ -63,6 +68,8 @@ public final class DefaultDelegationBuilder implements DelegationBuilder {
     private void resetDelegatee() {
         delegateeType = null;
         delegateeName = null;
+        async = false;
+        batch = Batch.NONE;
         resetDelegation();
     }
 
@@ -79,6 +86,21 @@ public final class DefaultDelegationBuilder implements DelegationBuilder {
         delegateeName = name;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public void async(final boolean async) {
+        this.async = async;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void batch(final Batch batch) {
+        Assert.notNull(batch);
+        this.batch = batch;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -92,12 +114,19 @@ public final class DefaultDelegationBuilder implements DelegationBuilder {
         } else {
             target = this.<T> registerDelegation();
         }
+        async = false;
+        batch = Batch.NONE;
 
         return target;
     }
 
     @SuppressWarnings("unchecked")
     private <T> T registerDelegation() {
+        Assert.isTrue(!async || isFuture(delegatorMethod), "The asynchronous delegator method " + delegatorMethod
+                + " must return Future.");
+        Assert.isTrue(!async || batch == Batch.NONE, "The batch delegation cannot be asynchronous.");
+        Assert.isTrue(batch == Batch.NONE || isBatchable(delegatorMethod), "The batch delegator method "
+                + delegatorMethod + " must have a collection or array as the first parameter and return List or void.");
         delegation = newDelegation(delegatorMethod);
         registerDelegation(delegation);
         delegatorMethod = null;
@@ -124,6 +153,16 @@ public final class DefaultDelegationBuilder implements DelegationBuilder {
         }
     }
 
+    private boolean isFuture(final Method method) {
+        return Future.class.isAssignableFrom(method.getReturnType());
+    }
+
+    private boolean isBatchable(final Method method) {
+        final Class<?> returnType = method.getReturnType();
+        return method.getParameterTypes().length > 0 && MethodUtils.getElementType(method, 0) != null
+                && (returnType == void.class || returnType.isAssignableFrom(ArrayList.class));
+    }
+
     private boolean contains(final Delegation newDelegation) {
         return delegations.contains(newDelegation)
                 || delegationRegistry.contains(newDelegation.getDelegatorType(), newDelegation.getDelegatorMethod());
@@ -131,9 +170,14 @@ public final class DefaultDelegationBuilder implements DelegationBuilder {
 
     private SimpleDelegation newDelegation(final Method method) {
         final SimpleDelegation newDelegation = new SimpleDelegation(delegatorType, method);
+        newDelegation.setAsync(async && isFuture(method));
+        newDelegation.setBatch(batch != Batch.NONE && !newDelegation.isAsync() && isBatchable(method) ? batch
+                : Batch.NONE);
         if (delegateeType != null) {
             newDelegation.setDelegateeType(delegateeType);
             newDelegation.setDelegateeName(delegateeName);
+        } else if (newDelegation.getBatch() != Batch.NONE) {
+            newDelegation.setDelegateeType(MethodUtils.getElementType(method, 0));
         } else {
             newDelegation.setDelegateeType(getTypeOfFirstParameter(method));
         }
@@ -23,6 +23,8 @@ final class SimpleDelegation implements Delegation {
     private Class<?> delegateeType;
     private String delegateeName;
     private Method delegateeMethod;
+    private boolean async;
+    private Batch batch = Batch.NONE;
 
     protected SimpleDelegation(final Class<?> delegatorType, final Method delegatorMethod) {
         this.delegatorType = delegatorType;
@@ -71,6 +73,20 @@ final class SimpleDelegation implements Delegation {
         return argumentProviders.toArray(EMPTY_ARGUMENT_PROVIDERS);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Batch getBatch() {
+        return batch;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -97,6 +113,14 @@ final class SimpleDelegation implements Delegation {
         this.delegateeName = delegateeName;
     }
 
+    protected void setAsync(final boolean async) {
+        this.async = async;
+    }
+
+    protected void setBatch(final Batch batch) {
+        this.batch = batch;
+    }
+
     protected void setExceptionTypeMap(
             final Map<Class<? extends Throwable>, Class<? extends Throwable>> exceptionTypeMap) {
         this.exceptionTypeMap = exceptionTypeMap;
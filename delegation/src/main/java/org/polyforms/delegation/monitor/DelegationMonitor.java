@@ -0,0 +1,23 @@
+package org.polyforms.delegation.monitor;
+
+import org.polyforms.delegation.builder.Delegation;
+
+/**
+ * SPI to monitor execution of delegations.
+ * 
+ * Delegations are monitored if there is an unique bean of this type in Ioc container, otherwise nothing is measured
+ * during execution of delegations.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public interface DelegationMonitor {
+    /**
+     * Get the recorder of specified delegation, which is invoked once for each delegation when it is executed first
+     * time.
+     * 
+     * @param delegation the delegation to monitor
+     * @return recorder of delegation
+     */
+    DelegationRecorder getRecorder(Delegation delegation);
+}
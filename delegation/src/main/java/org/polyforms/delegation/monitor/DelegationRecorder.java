@@ -0,0 +1,51 @@
+package org.polyforms.delegation.monitor;
+
+/**
+ * Recorder of measurements of a delegation, which is invoked concurrently on every execution of the delegation.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public interface DelegationRecorder {
+    /**
+     * Record elapsed time of a phase in execution.
+     * 
+     * @param phase the phase of execution
+     * @param nanos elapsed time in nanoseconds
+     */
+    void record(Phase phase, long nanos);
+
+    /**
+     * Record elapsed time of a whole call of delegation.
+     * 
+     * @param nanos elapsed time in nanoseconds
+     * @param failed whether an exception is thrown by the call
+     */
+    void recordCall(long nanos, boolean failed);
+
+    /**
+     * Phase of execution of delegation.
+     */
+    enum Phase {
+        /**
+         * Getting target and matching arguments of delegatee method.
+         */
+        MATCHING,
+        /**
+         * Converting target to delegatee type.
+         */
+        TARGET_CONVERSION,
+        /**
+         * Converting arguments to parameter types of delegatee method.
+         */
+        ARGUMENT_CONVERSION,
+        /**
+         * Invoking delegatee method.
+         */
+        INVOCATION,
+        /**
+         * Converting return value to return type of delegator method.
+         */
+        RETURN_CONVERSION
+    }
+}
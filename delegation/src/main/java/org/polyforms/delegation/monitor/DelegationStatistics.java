@@ -0,0 +1,130 @@
+package org.polyforms.delegation.monitor;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics of a delegation, which counts calls and errors, and keeps latencies of calls and phases in histograms.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public class DelegationStatistics implements DelegationRecorder, DelegationStatisticsMBean {
+    private static final double PERCENTILE_99TH = 99;
+    private final AtomicLong errorCount = new AtomicLong();
+    private final LatencyHistogram callHistogram = new LatencyHistogram();
+    private final LatencyHistogram[] phaseHistograms = new LatencyHistogram[Phase.values().length];
+
+    public DelegationStatistics() {
+        for (int i = 0; i < phaseHistograms.length; i++) {
+            phaseHistograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void record(final Phase phase, final long nanos) {
+        phaseHistograms[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void recordCall(final long nanos, final boolean failed) {
+        callHistogram.record(nanos);
+        if (failed) {
+            errorCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Get histogram of latencies of whole calls.
+     */
+    public LatencyHistogram getCallHistogram() {
+        return callHistogram;
+    }
+
+    /**
+     * Get histogram of latencies of specified phase.
+     */
+    public LatencyHistogram getHistogram(final Phase phase) {
+        return phaseHistograms[phase.ordinal()];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getCallCount() {
+        return callHistogram.getCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getMeanCallTime() {
+        return callHistogram.getMean();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getMaxCallTime() {
+        return callHistogram.getMax();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getCallTime99thPercentile() {
+        return callHistogram.getValueAtPercentile(PERCENTILE_99TH);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getMeanMatchingTime() {
+        return getHistogram(Phase.MATCHING).getMean();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getMeanTargetConversionTime() {
+        return getHistogram(Phase.TARGET_CONVERSION).getMean();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getMeanArgumentConversionTime() {
+        return getHistogram(Phase.ARGUMENT_CONVERSION).getMean();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getMeanInvocationTime() {
+        return getHistogram(Phase.INVOCATION).getMean();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getInvocationTime99thPercentile() {
+        return getHistogram(Phase.INVOCATION).getValueAtPercentile(PERCENTILE_99TH);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getMeanReturnConversionTime() {
+        return getHistogram(Phase.RETURN_CONVERSION).getMean();
+    }
+}
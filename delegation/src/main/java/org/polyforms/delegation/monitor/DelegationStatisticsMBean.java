@@ -0,0 +1,31 @@
+package org.polyforms.delegation.monitor;
+
+/**
+ * Management interface of {@link DelegationStatistics}, all times are in nanoseconds.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public interface DelegationStatisticsMBean {
+    long getCallCount();
+
+    long getErrorCount();
+
+    double getMeanCallTime();
+
+    long getMaxCallTime();
+
+    long getCallTime99thPercentile();
+
+    double getMeanMatchingTime();
+
+    double getMeanTargetConversionTime();
+
+    double getMeanArgumentConversionTime();
+
+    double getMeanInvocationTime();
+
+    long getInvocationTime99thPercentile();
+
+    double getMeanReturnConversionTime();
+}
@@ -0,0 +1,125 @@
+package org.polyforms.delegation.monitor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.polyforms.delegation.builder.Delegation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Monitor which keeps {@link DelegationStatistics} for each delegation and exposes them as MBeans.
+ * 
+ * MBeans are registered with name "org.polyforms.delegation:type=Delegation,name=..." when delegations are executed
+ * first time, and are unregistered by {@link #close()}, which is called as well when the monitor bean is destroyed.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public class JmxDelegationMonitor implements DelegationMonitor, DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JmxDelegationMonitor.class);
+    private static final String DOMAIN = "org.polyforms.delegation";
+    private final ConcurrentMap<Delegation, DelegationStatistics> statisticsMap =
+            new ConcurrentHashMap<Delegation, DelegationStatistics>();
+    private final List<ObjectName> objectNames = new ArrayList<ObjectName>();
+    private final MBeanServer mBeanServer;
+
+    /**
+     * Create a monitor exposing MBeans in platform MBean server.
+     */
+    public JmxDelegationMonitor() {
+        this(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public JmxDelegationMonitor(final MBeanServer mBeanServer) {
+        Assert.notNull(mBeanServer);
+        this.mBeanServer = mBeanServer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public DelegationRecorder getRecorder(final Delegation delegation) {
+        DelegationStatistics statistics = statisticsMap.get(delegation);
+        if (statistics == null) {
+            final DelegationStatistics newStatistics = new DelegationStatistics();
+            statistics = statisticsMap.putIfAbsent(delegation, newStatistics);
+            if (statistics == null) {
+                statistics = newStatistics;
+                register(delegation, statistics);
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * Get statistics of all monitored delegations.
+     */
+    public Map<Delegation, DelegationStatistics> getStatistics() {
+        return statisticsMap;
+    }
+
+    private void register(final Delegation delegation, final DelegationStatistics statistics) {
+        try {
+            final ObjectName objectName = getObjectName(delegation);
+            mBeanServer.registerMBean(statistics, objectName);
+            synchronized (objectNames) {
+                objectNames.add(objectName);
+            }
+        } catch (final JMException e) {
+            LOGGER.warn("Cannot register statistics of delegation {} as MBean.", delegation, e);
+        }
+    }
+
+    protected ObjectName getObjectName(final Delegation delegation) throws JMException {
+        final Method delegatorMethod = delegation.getDelegatorMethod();
+        final StringBuilder name = new StringBuilder(delegation.getDelegatorType().getName());
+        name.append('.').append(delegatorMethod.getName()).append('(');
+        final Class<?>[] parameterTypes = delegatorMethod.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                name.append(',');
+            }
+            name.append(ClassUtils.getQualifiedName(parameterTypes[i]));
+        }
+        name.append(')');
+        return new ObjectName(DOMAIN + ":type=Delegation,name=" + ObjectName.quote(name.toString()));
+    }
+
+    /**
+     * Unregister all MBeans registered by this monitor.
+     */
+    public void close() {
+        synchronized (objectNames) {
+            for (final ObjectName objectName : objectNames) {
+                try {
+                    mBeanServer.unregisterMBean(objectName);
+                } catch (final JMException e) {
+                    LOGGER.warn("Cannot unregister MBean {}.", objectName, e);
+                }
+            }
+            objectNames.clear();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see #close()
+     */
+    public void destroy() {
+        close();
+    }
+}
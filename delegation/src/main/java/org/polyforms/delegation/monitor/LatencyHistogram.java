@@ -0,0 +1,112 @@
+package org.polyforms.delegation.monitor;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of latencies.
+ * 
+ * Values are counted in buckets whose widths grow with powers of two, and each power of two is split into 8 linear
+ * sub-buckets, so any recorded value is reported within 12.5% of relative error with fixed memory footprint.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_BUCKETS = SUB_BUCKETS << 1;
+    private static final int MIN_EXPONENT = SUB_BUCKET_BITS + 1;
+    private static final int MAX_EXPONENT = 62;
+    private static final int BUCKETS = LINEAR_BUCKETS + (MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a value, negative value is recorded as zero.
+     */
+    public void record(final long value) {
+        final long normalizedValue = value < 0 ? 0 : value;
+        counts.incrementAndGet(indexOf(normalizedValue));
+        count.incrementAndGet();
+        total.addAndGet(normalizedValue);
+
+        long currentMax = max.get();
+        while (normalizedValue > currentMax && !max.compareAndSet(currentMax, normalizedValue)) {
+            currentMax = max.get();
+        }
+    }
+
+    private static int indexOf(final long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> exponent - SUB_BUCKET_BITS) - SUB_BUCKETS;
+        return LINEAR_BUCKETS + (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long highestValueOf(final int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+
+        final int exponent = (index - LINEAR_BUCKETS) / SUB_BUCKETS + MIN_EXPONENT;
+        final int subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+        final long lowestValue = (long) (SUB_BUCKETS + subBucket) << exponent - SUB_BUCKET_BITS;
+        return lowestValue + (1L << exponent - SUB_BUCKET_BITS) - 1;
+    }
+
+    /**
+     * Get the number of recorded values.
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Get the maximum recorded value.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Get the mean of recorded values.
+     * 
+     * @return 0 if there is no value recorded
+     */
+    public double getMean() {
+        final long currentCount = count.get();
+        return currentCount == 0 ? 0 : (double) total.get() / currentCount;
+    }
+
+    /**
+     * Get the value which the specified percentage of recorded values are less than or equal to.
+     * 
+     * @param percentile between 0 and 100
+     * @return the highest value of bucket which the percentile falls in, or 0 if there is no value recorded
+     */
+    public long getValueAtPercentile(final double percentile) {
+        long totalCount = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            totalCount += counts.get(i);
+        }
+        if (totalCount == 0) {
+            return 0;
+        }
+
+        final long targetCount = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * totalCount));
+        long accumulatedCount = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            accumulatedCount += counts.get(i);
+            if (accumulatedCount >= targetCount) {
+                return Math.min(highestValueOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+}
@@ -0,0 +1,151 @@
+package org.polyforms.delegation.spring;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Index of delegation registers and annotated delegators generated at compile time.
+ * 
+ * Each line of index file is a kind followed by the binary name of class, e.g. "register com.acme.FooRegister" or
+ * "delegator com.acme.FooDelegator". Lines starting with '#' are comments. Index files of all jars in class path are
+ * merged, and an index only covers classes in the same class path root, such as the same jar or directory, so classes
+ * in roots without index file have to be scanned.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public final class DelegationIndex {
+    /**
+     * Location of index file in class path.
+     */
+    public static final String LOCATION = "META-INF/polyforms/delegation.index";
+    /**
+     * Kind of classes implementing {@link org.polyforms.delegation.builder.DelegationRegister}.
+     */
+    public static final String REGISTER = "register";
+    /**
+     * Kind of classes annotated by {@link org.polyforms.delegation.DelegateTo}.
+     */
+    public static final String DELEGATOR = "delegator";
+    private static final Logger LOGGER = LoggerFactory.getLogger(DelegationIndex.class);
+    private static final String ENCODING = "UTF-8";
+    private static final String COMMENT = "#";
+    private final Set<String> registerNames = new LinkedHashSet<String>();
+    private final Set<String> delegatorNames = new LinkedHashSet<String>();
+    private final Set<String> roots = new HashSet<String>();
+    private final ClassLoader classLoader;
+
+    private DelegationIndex(final ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Load index files from class path.
+     * 
+     * @return null if there is no index file
+     * @throws IllegalStateException if index files cannot be read
+     */
+    public static DelegationIndex load(final ClassLoader classLoader) {
+        final ClassLoader loader = classLoader == null ? ClassUtils.getDefaultClassLoader() : classLoader;
+        try {
+            final Enumeration<URL> resources = loader.getResources(LOCATION);
+            if (!resources.hasMoreElements()) {
+                return null;
+            }
+
+            final DelegationIndex delegationIndex = new DelegationIndex(loader);
+            while (resources.hasMoreElements()) {
+                final URL resource = resources.nextElement();
+                LOGGER.debug("Load delegation index from {}.", resource);
+                delegationIndex.read(resource);
+                delegationIndex.roots.add(getRoot(resource, LOCATION));
+            }
+            return delegationIndex;
+        } catch (final IOException e) {
+            throw new IllegalStateException("Cannot read delegation index " + LOCATION, e);
+        }
+    }
+
+    private static String getRoot(final URL resource, final String path) {
+        final String url = resource.toExternalForm();
+        return url.endsWith(path) ? url.substring(0, url.length() - path.length()) : url;
+    }
+
+    private void read(final URL resource) throws IOException {
+        final InputStream inputStream = resource.openStream();
+        try {
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, ENCODING));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                readLine(line.trim());
+            }
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    private void readLine(final String line) {
+        if (line.length() == 0 || line.startsWith(COMMENT)) {
+            return;
+        }
+
+        final String[] entry = line.split("\\s+");
+        if (entry.length != 2) {
+            LOGGER.warn("Ignore malformed entry '{}' of delegation index.", line);
+        } else if (REGISTER.equals(entry[0])) {
+            registerNames.add(entry[1]);
+        } else if (DELEGATOR.equals(entry[0])) {
+            delegatorNames.add(entry[1]);
+        } else {
+            LOGGER.warn("Ignore unknown entry '{}' of delegation index.", line);
+        }
+    }
+
+    /**
+     * Determine whether the class is in a class path root having index file, without loading the class.
+     * 
+     * @param className binary name of class
+     * @return false if the class is in a root without index file, or is not found as a class file
+     */
+    public boolean covers(final String className) {
+        final String path = ClassUtils.convertClassNameToResourcePath(className) + ClassUtils.CLASS_FILE_SUFFIX;
+        final URL resource = classLoader.getResource(path);
+        return resource != null && roots.contains(getRoot(resource, path));
+    }
+
+    /**
+     * Get binary names of indexed delegation registers.
+     */
+    public Set<String> getRegisterNames() {
+        return Collections.unmodifiableSet(registerNames);
+    }
+
+    /**
+     * Get indexed delegator classes, classes which cannot be loaded are ignored.
+     */
+    public Set<Class<?>> getDelegatorTypes() {
+        final Set<Class<?>> delegatorTypes = new LinkedHashSet<Class<?>>();
+        for (final String delegatorName : delegatorNames) {
+            try {
+                delegatorTypes.add(ClassUtils.forName(delegatorName, classLoader));
+            } catch (final ClassNotFoundException e) {
+                LOGGER.warn("Ignore indexed delegator {} which is not found.", delegatorName);
+            } catch (final LinkageError e) {
+                LOGGER.warn("Ignore indexed delegator {} which cannot be loaded.", delegatorName);
+            }
+        }
+        return delegatorTypes;
+    }
+}
@@ -2,6 +2,7 @@ package org.polyforms.delegation.spring;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -13,6 +14,7 @@ import org.polyforms.delegation.builder.DelegationRegister;
 import org.polyforms.delegation.builder.DelegationRegistry;
 import org.polyforms.delegation.builder.support.DefaultDelegationBuilder;
 import org.polyforms.delegation.util.MethodUtils;
+import org.polyforms.util.DefaultValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
@@ -30,6 +32,11 @@ import org.springframework.util.StringUtils;
  * {@link BeanDefinitionRegistryPostProcessor} which executes {@link DelegationBuilder} to bind delegator and delegatee
  * and register delegator as a bean if necessary.
  * 
+ * If there is {@link DelegationIndex} in class path, registers in indexed class path roots are matched by bean class
+ * names and only indexed delegators are checked for {@link DelegateTo}, rather than resolving types of all beans. Beans
+ * declared without classes, with classes in roots without index file, or produced by factory methods or
+ * {@link org.springframework.beans.factory.FactoryBean}s are still resolved and scanned.
+ * 
  * @author Kuisong Tong
  * @since 1.0
  */
@@ -37,6 +44,23 @@ import org.springframework.util.StringUtils;
 public final class DelegationRegisterProcessor implements BeanDefinitionRegistryPostProcessor {
     private static final Logger LOGGER = LoggerFactory.getLogger(DelegationRegisterProcessor.class);
     private final BeanNameGenerator beanNameGenerator = new AnnotationBeanNameGenerator();
+    private final DelegationIndex delegationIndex;
+
+    /**
+     * Create an instance with {@link DelegationIndex} loaded from class path.
+     */
+    public DelegationRegisterProcessor() {
+        this(DelegationIndex.load(null));
+    }
+
+    /**
+     * Create an instance with specified index.
+     * 
+     * @param delegationIndex null to scan all beans
+     */
+    protected DelegationRegisterProcessor(final DelegationIndex delegationIndex) {
+        this.delegationIndex = delegationIndex;
+    }
 
     /**
      * {@inheritDoc}
@@ -52,11 +76,14 @@ public final class DelegationRegisterProcessor implements BeanDefinitionRegistry
         final DelegationRegistry delegationRegistry = beanFactory.getBean(DelegationRegistry.class);
         final DelegationBuilder delegationBuilder = new DefaultDelegationBuilder(delegationRegistry);
 
-        final Collection<DelegationRegister> delegationRegisters = beanFactory.getBeansOfType(DelegationRegister.class)
-                .values();
-
         final RegisteredClassCollector registeredClassCollector = new RegisteredClassCollector();
-        visitBeanFactory(beanFactory, registeredClassCollector);
+        final Collection<DelegationRegister> delegationRegisters;
+        if (delegationIndex == null) {
+            delegationRegisters = beanFactory.getBeansOfType(DelegationRegister.class).values();
+            visitBeanFactory(beanFactory, registeredClassCollector);
+        } else {
+            delegationRegisters = getIndexedRegisters(beanFactory, registeredClassCollector);
+        }
 
         DelegationBuilderHolder.set(delegationBuilder);
         for (final DelegationRegister register : delegationRegisters) {
@@ -83,6 +110,63 @@ public final class DelegationRegisterProcessor implements BeanDefinitionRegistry
         }
     }
 
+    @SuppressWarnings("rawtypes")
+    private Collection<DelegationRegister> getIndexedRegisters(final ConfigurableListableBeanFactory beanFactory,
+            final RegisteredClassCollector registeredClassCollector) {
+        final Set<String> registerNames = delegationIndex.getRegisterNames();
+        final Collection<DelegationRegister> delegationRegisters = new ArrayList<DelegationRegister>();
+        for (final String beanName : beanFactory.getBeanDefinitionNames()) {
+            final BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+            if (beanDefinition.isAbstract()) {
+                continue;
+            }
+
+            if (isIndexed(beanFactory, beanName, beanDefinition)) {
+                final String beanClassName = beanDefinition.getBeanClassName();
+                registeredClassCollector.visit(beanClassName);
+                if (registerNames.contains(beanClassName)) {
+                    delegationRegisters.add(beanFactory.getBean(beanName, DelegationRegister.class));
+                }
+            } else {
+                // scan bean out of indexed class path roots
+                final Class<?> clazz = beanFactory.getType(beanName);
+                if (clazz != null) {
+                    registeredClassCollector.visit(clazz);
+                    if (DelegationRegister.class.isAssignableFrom(clazz)) {
+                        delegationRegisters.add(beanFactory.getBean(beanName, DelegationRegister.class));
+                    }
+                }
+            }
+        }
+        return delegationRegisters;
+    }
+
+    private void visitUnindexedBeans(final ConfigurableListableBeanFactory beanFactory,
+            final BeanClassVisitor beanClassVisitor) {
+        for (final String beanName : beanFactory.getBeanDefinitionNames()) {
+            final BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+            if (beanDefinition.isAbstract() || isIndexed(beanFactory, beanName, beanDefinition)) {
+                continue;
+            }
+
+            final Class<?> clazz = beanFactory.getType(beanName);
+            if (clazz != null && !delegationIndex.covers(clazz.getName())) {
+                beanClassVisitor.visit(clazz);
+            }
+        }
+    }
+
+    /**
+     * Determine whether the bean can be matched against index by the class name of its definition, which is the class
+     * of a factory rather than the type of bean if the bean is produced by factory method or FactoryBean.
+     */
+    private boolean isIndexed(final ConfigurableListableBeanFactory beanFactory, final String beanName,
+            final BeanDefinition beanDefinition) {
+        final String beanClassName = beanDefinition.getBeanClassName();
+        return beanClassName != null && delegationIndex.covers(beanClassName)
+                && beanDefinition.getFactoryMethodName() == null && !beanFactory.isFactoryBean(beanName);
+    }
+
     @SuppressWarnings({ "rawtypes", "unchecked" })
     private void registerDelegations(final DelegationBuilder delegationBuilder, final DelegationRegister register,
             final Class<?> delegatorType) {
@@ -104,19 +188,31 @@ public final class DelegationRegisterProcessor implements BeanDefinitionRegistry
     public void postProcessBeanFactory(final ConfigurableListableBeanFactory beanFactory) {
         final DelegationRegistry delegationRegistry = beanFactory.getBean(DelegationRegistry.class);
         final DelegationBuilder delegationBuilder = new DefaultDelegationBuilder(delegationRegistry);
-        visitBeanFactory(beanFactory, new AnnotatedDelegationRegister(delegationBuilder));
+        final BeanClassVisitor annotatedDelegationRegister = new AnnotatedDelegationRegister(delegationBuilder);
+        if (delegationIndex == null) {
+            visitBeanFactory(beanFactory, annotatedDelegationRegister);
+        } else {
+            for (final Class<?> delegatorType : delegationIndex.getDelegatorTypes()) {
+                annotatedDelegationRegister.visit(delegatorType);
+            }
+            visitUnindexedBeans(beanFactory, annotatedDelegationRegister);
+        }
     }
 
     protected static final class RegisteredClassCollector extends BeanClassVisitor {
-        private final Set<Class<?>> registeredClasses = new HashSet<Class<?>>();
+        private final Set<String> registeredClassNames = new HashSet<String>();
 
         @Override
         protected void visit(final Class<?> clazz) {
-            registeredClasses.add(clazz);
+            visit(clazz.getName());
+        }
+
+        protected void visit(final String className) {
+            registeredClassNames.add(className);
         }
 
         protected boolean contains(final Class<?> clazz) {
-            return registeredClasses.contains(clazz);
+            return registeredClassNames.contains(clazz.getName());
         }
     }
 
@@ -138,14 +234,18 @@ public final class DelegationRegisterProcessor implements BeanDefinitionRegistry
 
             final Object source = delegationBuilder.delegateFrom(clazz);
 
+            Class<?> defaultDelegateeType = null;
             if (annotationPresent) {
                 final DelegateTo delegateTo = clazz.getAnnotation(DelegateTo.class);
                 setDelegateeTypeIfNecessary(delegateTo);
                 delegationBuilder.delegate();
+                if (delegateTo.value() != Void.class) {
+                    defaultDelegateeType = delegateTo.value();
+                }
             }
 
             for (final Method method : annotatedMethods) {
-                registerDelegate(source, method);
+                registerDelegate(source, method, defaultDelegateeType);
             }
 
             delegationBuilder.registerDelegations();
@@ -157,6 +257,8 @@ public final class DelegationRegisterProcessor implements BeanDefinitionRegistry
                 delegationBuilder.delegateTo(delegateeType);
             }
             delegationBuilder.withName(delegateTo.name());
+            delegationBuilder.async(delegateTo.async());
+            delegationBuilder.batch(delegateTo.batch());
         }
 
         private Set<Method> getAnnotatedMethods(final Method[] methods) {
@@ -169,16 +271,20 @@ public final class DelegationRegisterProcessor implements BeanDefinitionRegistry
             return annotatedMethods;
         }
 
-        private void registerDelegate(final Object source, final Method method) {
+        private void registerDelegate(final Object source, final Method method, final Class<?> defaultDelegateeType) {
             final DelegateTo delegateTo = method.getAnnotation(DelegateTo.class);
+            if (delegateTo.value() == Void.class) {
+                // delegate to type of annotated class, or first parameter, rather than previous annotated method
+                delegationBuilder.delegateTo(defaultDelegateeType);
+            }
             setDelegateeTypeIfNecessary(delegateTo);
 
             try {
-                method.invoke(source, new Object[method.getParameterTypes().length]);
+                method.invoke(source, getDefaultArguments(method));
                 final Object delegatee = delegationBuilder.delegate();
                 final Method delegateeMethod = MethodUtils.findMostSpecificMethod(delegatee.getClass(),
                         normalizeMethodName(delegateTo.methodName(), method), delegateTo.parameterTypes());
-                delegateeMethod.invoke(delegatee, new Object[delegateeMethod.getParameterTypes().length]);
+                delegateeMethod.invoke(delegatee, getDefaultArguments(delegateeMethod));
             } catch (final IllegalAccessException e) {
                 throw new IllegalStateException("Should never get here");
             } catch (final InvocationTargetException e) {
@@ -186,6 +292,15 @@ public final class DelegationRegisterProcessor implements BeanDefinitionRegistry
             }
         }
 
+        private Object[] getDefaultArguments(final Method method) {
+            final Class<?>[] parameterTypes = method.getParameterTypes();
+            final Object[] arguments = new Object[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                arguments[i] = DefaultValue.get(parameterTypes[i]);
+            }
+            return arguments;
+        }
+
         private String normalizeMethodName(final String methodName, final Method method) {
             return StringUtils.hasText(methodName) ? methodName : method.getName();
         }
@@ -44,4 +44,19 @@ public final class SpringBeanContainer implements BeanContainer {
     public <T> T getBean(final String name, final Class<T> type) {
         return beanFactory.getBean(name, type);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isSingleton(final Class<?> type) {
+        final String[] names = beanFactory.getBeanNamesForType(type);
+        return names.length == 1 && beanFactory.isSingleton(names[0]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isSingleton(final String name) {
+        return beanFactory.isSingleton(name);
+    }
 }
@@ -0,0 +1,57 @@
+package org.polyforms.delegation.support;
+
+import java.util.Arrays;
+
+/**
+ * Per-thread pool of argument arrays, which keeps one array for each length up to {@link #MAX_POOLED_LENGTH}.
+ * 
+ * An acquired array is taken out of the pool until it is released, so nested delegations on the same thread get
+ * different arrays. Arrays longer than the maximum are allocated as exact-size arrays and not pooled.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+final class ArgumentArrayPool {
+    private static final int MAX_POOLED_LENGTH = 16;
+    private static final Object[] EMPTY_ARRAY = new Object[0];
+    private final ThreadLocal<Object[][]> pooledArrays = new ThreadLocal<Object[][]>() {
+        @Override
+        protected Object[][] initialValue() {
+            return new Object[MAX_POOLED_LENGTH + 1][];
+        }
+    };
+
+    /**
+     * Acquire an array of specified length, whose elements are all null.
+     */
+    protected Object[] acquire(final int length) {
+        if (length == 0) {
+            return EMPTY_ARRAY;
+        }
+        if (length > MAX_POOLED_LENGTH) {
+            return new Object[length];
+        }
+
+        final Object[][] arrays = pooledArrays.get();
+        final Object[] array = arrays[length];
+        if (array == null) {
+            return new Object[length];
+        }
+
+        arrays[length] = null;
+        return array;
+    }
+
+    /**
+     * Release an array acquired from the pool, which must not be used by caller afterwards.
+     */
+    protected void release(final Object[] array) {
+        final int length = array.length;
+        if (length == 0 || length > MAX_POOLED_LENGTH) {
+            return;
+        }
+
+        Arrays.fill(array, null);
+        pooledArrays.get()[length] = array;
+    }
+}
@@ -0,0 +1,19 @@
+package org.polyforms.delegation.support;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Strategy to invoke delegatee method on target, which is created once for each delegation.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+interface DelegateeInvoker {
+    /**
+     * Invoke delegatee method on target with arguments.
+     * 
+     * @throws InvocationTargetException wrapping the exception thrown by delegatee method
+     * @throws IllegalAccessException if delegatee method is not accessible
+     */
+    Object invoke(Object target, Object[] arguments) throws InvocationTargetException, IllegalAccessException;
+}
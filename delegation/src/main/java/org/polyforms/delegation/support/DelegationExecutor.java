@@ -3,39 +3,74 @@ package org.polyforms.delegation.support;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.polyforms.delegation.builder.BeanContainer;
-import org.polyforms.delegation.builder.Delegation;
+import org.polyforms.delegation.builder.Delegation.Batch;
+import org.polyforms.delegation.monitor.DelegationMonitor;
+import org.polyforms.delegation.monitor.DelegationRecorder;
+import org.polyforms.delegation.monitor.DelegationRecorder.Phase;
+import org.polyforms.delegation.util.MethodUtils;
+import org.polyforms.delegation.support.DelegationPlan.Target;
 import org.polyforms.parameter.ArgumentProvider;
 import org.polyforms.parameter.Parameter;
-import org.polyforms.parameter.ParameterMatcher;
 import org.polyforms.parameter.Parameters;
+import org.polyforms.parameter.support.ArgumentMapper;
 import org.polyforms.parameter.support.MethodParameter;
 import org.polyforms.parameter.support.MethodParameterMatcher;
 import org.polyforms.parameter.support.MethodParameters;
-import org.polyforms.util.ConversionUtils;
+import org.polyforms.util.ConversionPlan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
 /**
  * The template abstract class to implement {@link DelegationExecutor}.
  * 
+ * Zero-allocation mode is enabled by system property "polyforms.delegation.zeroAllocation". In that mode, synchronous
+ * delegations match arguments into pooled arrays which are converted in place, and targets, arguments or return
+ * values which are already instances of required types are not passed to {@link ConversionService}.
+ * 
  * @author Kuisong Tong
  * @since 1.0
  */
 @Named
-class DelegationExecutor {
+class DelegationExecutor implements DisposableBean {
     private static final Logger LOGGER = LoggerFactory.getLogger(DelegationExecutor.class);
-    private final ParameterMatcher<MethodParameter, MethodParameter> parameterMatcher = new MethodParameterMatcher();
+    private static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+    private static final String ZERO_ALLOCATION_PROPERTY = "polyforms.delegation.zeroAllocation";
+    private static final String ARGUMENTS_MISMATCH = "The arguments passed to are less than parameters required by "
+            + "method.";
+    private final ArgumentArrayPool argumentArrayPool = new ArgumentArrayPool();
+    private final MethodParameterMatcher parameterMatcher = new MethodParameterMatcher();
     private final BeanContainer beanContainer;
     private final ConversionService conversionService;
+    private volatile Executor asyncExecutor;
+    private ExecutorService defaultExecutor;
+    private volatile DelegationMonitor monitor;
+    private volatile boolean monitorResolved;
+    private volatile boolean zeroAllocation = Boolean.getBoolean(ZERO_ALLOCATION_PROPERTY);
 
     @Inject
     protected DelegationExecutor(final BeanContainer beanContainer, final ConversionService conversionService) {
@@ -43,128 +78,405 @@ class DelegationExecutor {
         this.beanContainer = beanContainer;
     }
 
-    protected Object execute(final Delegation delegation, final Object... arguments) throws Throwable {
-        final Class<?> delegateeType = delegation.getDelegateeType();
-        final Method delegateeMethod = delegation.getDelegateeMethod();
-        final String delegateeName = delegation.getDelegateeName();
+    protected void setZeroAllocation(final boolean zeroAllocation) {
+        this.zeroAllocation = zeroAllocation;
+    }
 
-        final boolean beanDelegation = isBeanDelegation(delegateeName, delegateeType);
-        if (beanDelegation) {
-            LOGGER.debug("Is bean delegation to {}.", delegateeMethod);
+    protected Object execute(final DelegationPlan delegationPlan, final Object... arguments) throws Throwable {
+        final Target target = getTarget(delegationPlan);
+        final DelegationRecorder recorder = getRecorder(delegationPlan);
+        final Batch batch = delegationPlan.getBatch();
+        if (batch == Batch.NONE) {
+            if (zeroAllocation && !delegationPlan.isAsync()) {
+                return executeInPlace(delegationPlan, target, recorder, arguments);
+            }
+            final Invocation invocation = prepare(delegationPlan, target, recorder, arguments);
+            return delegationPlan.isAsync() ? submit(invocation) : invocation.invoke();
         }
-        final Object target = getTarget(beanDelegation, delegateeName, delegateeType, arguments);
-        LOGGER.trace("Target of delegation to {} is {}.", delegateeMethod, target);
-        final Object[] matchedArguments = getArguments(delegation, beanDelegation, arguments);
-        LOGGER.trace("Parameters of delegation to {} is {}.", delegateeMethod, Arrays.toString(matchedArguments));
-        Assert.isTrue(arguments.length >= delegateeMethod.getParameterTypes().length,
-                "The arguments passed to are less than parameters required by method.");
 
-        final Object convertedTarget = conversionService.convert(target, delegateeType);
+        final Object[] elements = getElements(arguments);
+        final List<Object> results = new ArrayList<Object>(elements.length);
+        if (batch == Batch.SEQUENTIAL) {
+            for (final Object element : elements) {
+                results.add(prepare(delegationPlan, target, recorder, replaceFirst(arguments, element)).invoke());
+            }
+        } else {
+            final List<Future<Object>> futures = new ArrayList<Future<Object>>(elements.length);
+            for (final Object element : elements) {
+                futures.add(submit(prepare(delegationPlan, target, recorder, replaceFirst(arguments, element))));
+            }
+            for (final Future<Object> future : futures) {
+                results.add(getResult(future, futures));
+            }
+        }
+        return delegationPlan.getDelegatorMethod().getReturnType() == void.class ? null : results;
+    }
+
+    private Invocation prepare(final DelegationPlan delegationPlan, final Target target,
+            final DelegationRecorder recorder, final Object[] arguments) {
+        final long start = recorder == null ? 0 : System.nanoTime();
+        final Method delegateeMethod = delegationPlan.getDelegateeMethod();
+        final Object targetObject = target.get(arguments);
+        LOGGER.trace("Target of delegation to {} is {}.", delegateeMethod, targetObject);
+        final Object[] matchedArguments = target.getArgumentMapper().map(arguments);
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("Parameters of delegation to {} is {}.", delegateeMethod, Arrays.toString(matchedArguments));
+        }
+        Assert.isTrue(arguments.length >= delegationPlan.getParameterCount(), ARGUMENTS_MISMATCH);
+        record(recorder, Phase.MATCHING, start);
+        return new Invocation(delegationPlan, recorder, targetObject, matchedArguments);
+    }
+
+    private Object executeInPlace(final DelegationPlan delegationPlan, final Target target,
+            final DelegationRecorder recorder, final Object[] arguments) throws Throwable {
+        final long start = recorder == null ? 0 : System.nanoTime();
+        final Object targetObject = target.get(arguments);
+        final ArgumentMapper argumentMapper = target.getArgumentMapper();
+        final Object[] matchedArguments = argumentArrayPool.acquire(argumentMapper.getArgumentCount());
+        try {
+            argumentMapper.map(arguments, matchedArguments);
+            Assert.isTrue(arguments.length >= delegationPlan.getParameterCount(), ARGUMENTS_MISMATCH);
+            record(recorder, Phase.MATCHING, start);
+            return invoke(delegationPlan, recorder, targetObject, matchedArguments, true);
+        } finally {
+            argumentArrayPool.release(matchedArguments);
+        }
+    }
+
+    /**
+     * Convert target and arguments, invoke delegatee method and convert its return value.
+     * 
+     * @param inPlace whether arguments are converted in place and conversion of target, arguments and return value
+     *            which are instances of required types is skipped
+     */
+    private Object invoke(final DelegationPlan delegationPlan, final DelegationRecorder recorder,
+            final Object targetObject, final Object[] matchedArguments, final boolean inPlace) throws Throwable {
+        final Method delegateeMethod = delegationPlan.getDelegateeMethod();
+        final Class<?> delegateeType = delegationPlan.getDelegateeType();
+        long time = recorder == null ? 0 : System.nanoTime();
+        final Object convertedTarget = inPlace && delegateeType.isInstance(targetObject) ? targetObject
+                : conversionService.convert(targetObject, delegateeType);
         LOGGER.debug("Converted target of delegation to {} is {}.", delegateeMethod, convertedTarget);
-        final Object[] convertedAguments = ConversionUtils.convertArguments(conversionService,
-                convertedTarget.getClass(), delegateeMethod, matchedArguments);
-        LOGGER.debug("Converted parameters of delegation to {} is {}.", delegateeMethod,
-                Arrays.toString(convertedAguments));
+        time = record(recorder, Phase.TARGET_CONVERSION, time);
+        final ConversionPlan conversionPlan = delegationPlan.getConversionPlan(convertedTarget.getClass());
+        final Object[] convertedAguments;
+        if (inPlace) {
+            conversionPlan.convertArgumentsInPlace(conversionService, matchedArguments);
+            convertedAguments = matchedArguments;
+        } else {
+            convertedAguments = conversionPlan.convertArguments(conversionService, matchedArguments);
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Converted parameters of delegation to {} is {}.", delegateeMethod,
+                    Arrays.toString(convertedAguments));
+        }
+        time = record(recorder, Phase.ARGUMENT_CONVERSION, time);
 
+        final Object returnValue;
         try {
-            final Object returnValue = delegateeMethod.invoke(convertedTarget, convertedAguments);
-            LOGGER.trace("Return value of delegation to {} is {}.", delegateeMethod, returnValue);
-            final Object convertedReturnValue = ConversionUtils.convertReturnValue(conversionService,
-                    delegation.getDelegatorType(), delegation.getDelegatorMethod(), returnValue);
-            LOGGER.debug("Converted return value of delegation to {} is {}.", delegateeMethod, convertedReturnValue);
-            return convertedReturnValue;
-        } catch (final InvocationTargetException e) {
+            returnValue = delegationPlan.getDelegateeInvoker().invoke(convertedTarget, convertedAguments);
+        } catch (final InvocationTargetException ite) {
+            final Throwable e = ite.getTargetException();
             LOGGER.trace("Exception of delegation to {} is {}.", delegateeMethod, e);
-            final Throwable exception = e.getTargetException();
-            final Class<? extends Throwable> delegatorExceptionType = getDelegatorExceptionType(delegation,
-                    exception.getClass());
+            final Class<? extends Throwable> delegatorExceptionType = delegationPlan.getDelegatorExceptionType(e
+                    .getClass());
 
             if (delegatorExceptionType == null) {
-                throw exception;
+                throw e;
             }
-            final Throwable ce = conversionService.convert(exception, delegatorExceptionType);
+            final Throwable ce = conversionService.convert(e, delegatorExceptionType);
             LOGGER.trace("Converted exception of delegation to {} is {}.", delegateeMethod, ce);
             throw ce; // NOPMD
         }
+
+        time = record(recorder, Phase.INVOCATION, time);
+        LOGGER.trace("Return value of delegation to {} is {}.", delegateeMethod, returnValue);
+        final ConversionPlan returnConversionPlan = delegationPlan.getReturnConversionPlan();
+        final Object convertedReturnValue = inPlace ? returnConversionPlan.convertReturnValueIfNecessary(
+                conversionService, returnValue) : returnConversionPlan.convertReturnValue(conversionService,
+                returnValue);
+        record(recorder, Phase.RETURN_CONVERSION, time);
+        LOGGER.debug("Converted return value of delegation to {} is {}.", delegateeMethod, convertedReturnValue);
+        return convertedReturnValue;
     }
 
-    protected Object getTarget(final boolean beanDelegation, final String delegateeName, final Class<?> delegateeType,
-            final Object[] arguments) {
-        if (beanDelegation) {
-            return getBean(delegateeName, delegateeType);
+    /**
+     * Record elapsed time of phase if the delegation is monitored.
+     * 
+     * @return the end time of phase, or 0 if the delegation is not monitored
+     */
+    private static long record(final DelegationRecorder recorder, final Phase phase, final long start) {
+        if (recorder == null) {
+            return 0;
         }
 
-        return getFromArguments(arguments);
+        final long end = System.nanoTime();
+        recorder.record(phase, end - start);
+        return end;
     }
 
-    private boolean isBeanDelegation(final String delegateeName, final Class<?> delegateeType) {
-        return StringUtils.hasText(delegateeName) || beanContainer.containsBean(delegateeType);
+    private Object[] getElements(final Object[] arguments) {
+        Assert.notEmpty(arguments, "There is no auguments. ");
+        final Object argument = arguments[0];
+        Assert.notNull(argument, "The first argument of batch delegation must not be null.");
+        if (argument instanceof Collection<?>) {
+            return ((Collection<?>) argument).toArray();
+        }
+        return ObjectUtils.toObjectArray(argument);
+    }
+
+    private Object[] replaceFirst(final Object[] arguments, final Object element) {
+        final Object[] elementArguments = arguments.clone();
+        elementArguments[0] = element;
+        return elementArguments;
     }
 
-    private Object getBean(final String delegateeName, final Class<?> delegateeType) {
-        if (StringUtils.hasText(delegateeName)) {
-            return beanContainer.getBean(delegateeName, delegateeType);
+    private Future<Object> submit(final Invocation invocation) {
+        final FutureTask<Object> future = new FutureTask<Object>(invocation);
+        getAsyncExecutor().execute(future);
+        return future;
+    }
+
+    private Object getResult(final Future<Object> future, final List<Future<Object>> futures) throws Throwable {
+        try {
+            return future.get();
+        } catch (final ExecutionException e) {
+            for (final Future<Object> other : futures) {
+                other.cancel(false);
+            }
+            final Throwable cause = e.getCause();
+            throw cause instanceof UndeclaredThrowableException ? ((UndeclaredThrowableException) cause)
+                    .getUndeclaredThrowable() : cause;
+        }
+    }
+
+    private Executor getAsyncExecutor() {
+        Executor executor = asyncExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                if (asyncExecutor == null) {
+                    asyncExecutor = resolveAsyncExecutor();
+                }
+                executor = asyncExecutor;
+            }
+        }
+        return executor;
+    }
+
+    private Executor resolveAsyncExecutor() {
+        if (beanContainer.isSingleton(Executor.class)) {
+            return beanContainer.getBean(Executor.class);
         }
 
-        return beanContainer.getBean(delegateeType);
+        LOGGER.info("There is no unique Executor bean, asynchronous and parallel delegations use default pool.");
+        defaultExecutor = Executors.newFixedThreadPool(DEFAULT_POOL_SIZE, new DaemonThreadFactory());
+        return defaultExecutor;
     }
 
-    private Object getFromArguments(final Object[] arguments) {
-        Assert.notEmpty(arguments, "There is no auguments. ");
-        final Object argument = arguments[0];
-        Assert.notNull(argument, "The first argument of invocation must not be null.");
-        return argument;
+    /**
+     * Shut down the default pool of asynchronous and parallel delegations if it has been created. Submitted
+     * delegations still complete, and an {@link Executor} bean is left to its owner.
+     */
+    public synchronized void destroy() {
+        if (defaultExecutor != null) {
+            defaultExecutor.shutdown();
+        }
     }
 
-    private Object[] getArguments(final Delegation delegation, final boolean beanDelegation, final Object[] arguments) {
-        final ArgumentProvider[] argumentProviders = getArgumentProviders(delegation, beanDelegation);
-        final Object[] tailoredArguments = new Object[argumentProviders.length];
-        for (int i = 0; i < argumentProviders.length; i++) {
-            tailoredArguments[i] = argumentProviders[i].get(arguments);
+    /**
+     * Get the recorder of delegation from the unique {@link DelegationMonitor} bean in Ioc container.
+     * 
+     * @return null if there is no monitor
+     */
+    protected DelegationRecorder getRecorder(final DelegationPlan delegationPlan) {
+        final DelegationMonitor delegationMonitor = getMonitor();
+        if (delegationMonitor == null) {
+            return null;
         }
-        return tailoredArguments;
+
+        DelegationRecorder recorder = delegationPlan.getRecorder();
+        if (recorder == null) {
+            recorder = delegationMonitor.getRecorder(delegationPlan.getDelegation());
+            delegationPlan.setRecorder(recorder);
+        }
+        return recorder;
+    }
+
+    private DelegationMonitor getMonitor() {
+        if (!monitorResolved) {
+            synchronized (this) {
+                if (!monitorResolved) {
+                    if (beanContainer.isSingleton(DelegationMonitor.class)) {
+                        monitor = beanContainer.getBean(DelegationMonitor.class);
+                        LOGGER.info("Delegations are monitored by {}.", monitor);
+                    }
+                    monitorResolved = true;
+                }
+            }
+        }
+        return monitor;
+    }
+
+    private Target getTarget(final DelegationPlan delegationPlan) {
+        Target target = delegationPlan.getTarget();
+        if (target == null) {
+            target = resolveTarget(delegationPlan);
+            delegationPlan.setTarget(target);
+        }
+        return target;
     }
 
-    private ArgumentProvider[] getArgumentProviders(final Delegation delegation, final boolean beanDelegation) {
-        ArgumentProvider[] argumentProviders = delegation.getArgumentProviders();
+    private Target resolveTarget(final DelegationPlan delegationPlan) {
+        final String delegateeName = delegationPlan.getDelegateeName();
+        final Class<?> delegateeType = delegationPlan.getDelegateeType();
+
+        final boolean beanDelegation = isBeanDelegation(delegateeName, delegateeType);
+        if (beanDelegation) {
+            LOGGER.debug("Is bean delegation to {}.", delegationPlan.getDelegateeMethod());
+        }
+
+        final ArgumentMapper argumentMapper = getArgumentMapper(delegationPlan, beanDelegation);
+        if (!beanDelegation) {
+            return new ArgumentTarget(argumentMapper);
+        }
+
+        final Target beanTarget = new BeanTarget(delegateeName, delegateeType, argumentMapper);
+        if (isSingleton(delegateeName, delegateeType)) {
+            LOGGER.debug("Delegatee of {} is a singleton bean.", delegationPlan.getDelegateeMethod());
+            return new SingletonTarget(beanTarget.get(null), argumentMapper);
+        }
+        return beanTarget;
+    }
+
+    private boolean isSingleton(final String delegateeName, final Class<?> delegateeType) {
+        return StringUtils.hasText(delegateeName) ? beanContainer.isSingleton(delegateeName) : beanContainer
+                .isSingleton(delegateeType);
+    }
+
+    private boolean isBeanDelegation(final String delegateeName, final Class<?> delegateeType) {
+        return StringUtils.hasText(delegateeName) || beanContainer.containsBean(delegateeType);
+    }
+
+    private ArgumentMapper getArgumentMapper(final DelegationPlan delegationPlan, final boolean beanDelegation) {
+        final ArgumentProvider[] argumentProviders = delegationPlan.getArgumentProviders();
         if (argumentProviders.length == 0) {
-            argumentProviders = match(delegation.getDelegatorType(), delegation.getDelegatorMethod(),
-                    delegation.getDelegateeType(), delegation.getDelegateeMethod(), beanDelegation ? 0 : 1);
+            return match(delegationPlan, beanDelegation ? 0 : 1);
         }
-        return argumentProviders;
+        return ArgumentMapper.compile(argumentProviders);
     }
 
-    private ArgumentProvider[] match(final Class<?> sourceClass, final Method sourceMethod, final Class<?> targetClass,
-            final Method targetMethod, final int offset) {
-        final MethodParameters sourceParameters = new MethodParameters(sourceClass, sourceMethod);
+    private ArgumentMapper match(final DelegationPlan delegationPlan, final int offset) {
+        final Method delegatorMethod = delegationPlan.getDelegatorMethod();
+        final MethodParameters sourceParameters = new MethodParameters(delegationPlan.getDelegatorType(),
+                delegatorMethod);
+        if (delegationPlan.getBatch() != Batch.NONE) {
+            sourceParameters.getParameters()[0].setType(ClassUtils.resolvePrimitiveIfNecessary(MethodUtils
+                    .getElementType(delegatorMethod, 0)));
+        }
         sourceParameters.applyAnnotation();
-        final MethodParameters targetParameters = new MethodParameters(targetClass, targetMethod);
+        final MethodParameters targetParameters = new MethodParameters(delegationPlan.getDelegateeType(),
+                delegationPlan.getDelegateeMethod());
         for (final MethodParameter parameter : targetParameters.getParameters()) {
             parameter.setIndex(parameter.getIndex() + offset);
         }
-        return parameterMatcher.match(new TailorableParameters<MethodParameter>(sourceParameters, offset),
+        return parameterMatcher.compile(new TailorableParameters<MethodParameter>(sourceParameters, offset),
                 targetParameters);
     }
 
-    private Class<? extends Throwable> getDelegatorExceptionType(final Delegation delegation,
-            final Class<? extends Throwable> delegateeExceptionType) {
-        Class<? extends Throwable> delegatorExceptionType = delegation.getExceptionType(delegateeExceptionType);
-        if (delegatorExceptionType == null) {
-            delegatorExceptionType = getExceptionTypeByName(delegateeExceptionType, delegation.getDelegatorMethod());
+    private final class BeanTarget extends Target {
+        private final String delegateeName;
+        private final Class<?> delegateeType;
+
+        private BeanTarget(final String delegateeName, final Class<?> delegateeType,
+                final ArgumentMapper argumentMapper) {
+            super(argumentMapper);
+            this.delegateeName = delegateeName;
+            this.delegateeType = delegateeType;
+        }
+
+        @Override
+        protected Object get(final Object[] arguments) {
+            if (StringUtils.hasText(delegateeName)) {
+                return beanContainer.getBean(delegateeName, delegateeType);
+            }
+
+            return beanContainer.getBean(delegateeType);
         }
-        return delegatorExceptionType;
     }
 
-    @SuppressWarnings("unchecked")
-    private Class<? extends Throwable> getExceptionTypeByName(final Class<? extends Throwable> delegateeExceptionType,
-            final Method delegatorMethod) {
-        for (final Class<?> delegatorExceptionType : delegatorMethod.getExceptionTypes()) {
-            if (delegatorExceptionType.getSimpleName().equals(delegateeExceptionType.getSimpleName())) {
-                return (Class<? extends Throwable>) delegatorExceptionType;
+    private final class Invocation implements Callable<Object> {
+        private final DelegationPlan delegationPlan;
+        private final DelegationRecorder recorder;
+        private final Object targetObject;
+        private final Object[] matchedArguments;
+
+        private Invocation(final DelegationPlan delegationPlan, final DelegationRecorder recorder,
+                final Object targetObject, final Object[] matchedArguments) {
+            this.delegationPlan = delegationPlan;
+            this.recorder = recorder;
+            this.targetObject = targetObject;
+            this.matchedArguments = matchedArguments;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Object call() throws Exception {
+            try {
+                return invoke();
+            } catch (final Exception e) {
+                throw e;
+            } catch (final Error e) {
+                throw e;
+            } catch (final Throwable e) { // NOPMD
+                throw new UndeclaredThrowableException(e);
             }
         }
 
-        return null;
+        protected Object invoke() throws Throwable {
+            return DelegationExecutor.this.invoke(delegationPlan, recorder, targetObject, matchedArguments, false);
+        }
+    }
+
+    private static final class SingletonTarget extends Target {
+        private final Object bean;
+
+        private SingletonTarget(final Object bean, final ArgumentMapper argumentMapper) {
+            super(argumentMapper);
+            this.bean = bean;
+        }
+
+        @Override
+        protected Object get(final Object[] arguments) {
+            return bean;
+        }
+    }
+
+    private static final class ArgumentTarget extends Target {
+        private ArgumentTarget(final ArgumentMapper argumentMapper) {
+            super(argumentMapper);
+        }
+
+        @Override
+        protected Object get(final Object[] arguments) {
+            Assert.notEmpty(arguments, "There is no auguments. ");
+            final Object argument = arguments[0];
+            Assert.notNull(argument, "The first argument of invocation must not be null.");
+            return argument;
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        /**
+         * {@inheritDoc}
+         */
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "polyforms-delegation-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
     }
 
     private static final class TailorableParameters<P extends Parameter> implements Parameters<P> {
@@ -187,5 +499,30 @@ class DelegationExecutor {
             System.arraycopy(originalParameters, offset, tailoredParameters, 0, tailoredParameters.length);
             return tailoredParameters;
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return 31 * parameters.hashCode() + offset;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof TailorableParameters)) {
+                return false;
+            }
+
+            final TailorableParameters<?> other = (TailorableParameters<?>) obj;
+            return offset == other.offset && parameters.equals(other.parameters);
+        }
     }
 }
@@ -0,0 +1,285 @@
+package org.polyforms.delegation.support;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+
+import org.polyforms.delegation.builder.Delegation;
+import org.polyforms.delegation.builder.Delegation.Batch;
+import org.polyforms.delegation.monitor.DelegationRecorder;
+import org.polyforms.parameter.ArgumentProvider;
+import org.polyforms.parameter.support.ArgumentMapper;
+import org.polyforms.util.ConversionPlan;
+import org.springframework.core.GenericCollectionTypeResolver;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.util.Assert;
+
+/**
+ * Execution plan of {@link Delegation}, which is built once when the delegation is registered and holds
+ * all metadata used by {@link DelegationExecutor} on each invocation.
+ * 
+ * The target strategy depends on beans in Ioc container, which might be incomplete while registering delegations, so
+ * it is resolved by {@link DelegationExecutor} at the first invocation and kept in the plan afterwards.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+class DelegationPlan {
+    private static final Class<?> NO_EXCEPTION_TYPE = Void.class;
+    private final Delegation delegation;
+    private final Class<?> delegatorType;
+    private final Method delegatorMethod;
+    private final Class<?> delegateeType;
+    private final Method delegateeMethod;
+    private final String delegateeName;
+    private final int parameterCount;
+    private final boolean async;
+    private final Batch batch;
+    private final ArgumentProvider[] argumentProviders;
+    private final DelegateeInvoker delegateeInvoker;
+    private final ConversionPlan returnConversionPlan;
+    private final Map<String, Class<? extends Throwable>> exceptionTypesByName;
+    private final ConcurrentMap<Class<?>, Class<?>> exceptionTypeCache = new ConcurrentHashMap<Class<?>, Class<?>>();
+    private volatile Target target;
+    private volatile DelegationRecorder recorder;
+    private volatile TargetConversionPlan targetConversionPlan;
+
+    /**
+     * Create a plan of {@link Delegation} invoking delegatee method by reflection.
+     */
+    protected DelegationPlan(final Delegation delegation) {
+        this(delegation, null);
+    }
+
+    /**
+     * Create a plan of {@link Delegation} invoking delegatee method by provided invoker.
+     */
+    protected DelegationPlan(final Delegation delegation, final DelegateeInvoker delegateeInvoker) {
+        Assert.notNull(delegation);
+        this.delegation = delegation;
+        delegatorType = delegation.getDelegatorType();
+        delegatorMethod = delegation.getDelegatorMethod();
+        delegateeType = delegation.getDelegateeType();
+        delegateeMethod = delegation.getDelegateeMethod();
+        delegateeName = delegation.getDelegateeName();
+        parameterCount = delegateeMethod.getParameterTypes().length;
+        argumentProviders = delegation.getArgumentProviders();
+        this.delegateeInvoker = delegateeInvoker == null ? new ReflectiveDelegateeInvoker(delegateeMethod)
+                : delegateeInvoker;
+        async = delegation.isAsync();
+        batch = delegation.getBatch();
+        Assert.isTrue(!async || batch == Batch.NONE, "The batch delegation cannot be asynchronous.");
+        if (async) {
+            returnConversionPlan = ConversionPlan.forReturnValue(getFutureTypeDescriptor(delegatorMethod));
+        } else if (batch != Batch.NONE) {
+            returnConversionPlan = ConversionPlan.forReturnValue(getElementTypeDescriptor(delegatorMethod));
+        } else {
+            returnConversionPlan = ConversionPlan.get(delegatorType, delegatorMethod);
+        }
+        exceptionTypesByName = getExceptionTypesByName(delegatorMethod);
+    }
+
+    private TypeDescriptor getFutureTypeDescriptor(final Method method) {
+        Assert.isTrue(Future.class.isAssignableFrom(method.getReturnType()), "The asynchronous delegator method "
+                + method + " must return Future.");
+        final Type returnType = method.getGenericReturnType();
+        if (returnType instanceof ParameterizedType) {
+            final Type valueType = ((ParameterizedType) returnType).getActualTypeArguments()[0];
+            if (valueType instanceof Class<?>) {
+                return TypeDescriptor.valueOf((Class<?>) valueType);
+            }
+            if (valueType instanceof ParameterizedType) {
+                return TypeDescriptor.valueOf((Class<?>) ((ParameterizedType) valueType).getRawType());
+            }
+        }
+        return TypeDescriptor.valueOf(Object.class);
+    }
+
+    private TypeDescriptor getElementTypeDescriptor(final Method method) {
+        final Class<?> returnType = method.getReturnType();
+        Assert.isTrue(returnType == void.class || returnType.isAssignableFrom(ArrayList.class),
+                "The batch delegator method " + method + " must return List or void.");
+        if (returnType == void.class) {
+            return TypeDescriptor.valueOf(void.class);
+        }
+
+        final Class<?> elementType = GenericCollectionTypeResolver.getCollectionReturnType(method);
+        return TypeDescriptor.valueOf(elementType == null ? Object.class : elementType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Class<? extends Throwable>> getExceptionTypesByName(final Method method) {
+        final Map<String, Class<? extends Throwable>> types = new HashMap<String, Class<? extends Throwable>>();
+        for (final Class<?> exceptionType : method.getExceptionTypes()) {
+            final String name = exceptionType.getSimpleName();
+            if (!types.containsKey(name)) {
+                types.put(name, (Class<? extends Throwable>) exceptionType);
+            }
+        }
+        return types;
+    }
+
+    protected Delegation getDelegation() {
+        return delegation;
+    }
+
+    protected Class<?> getDelegatorType() {
+        return delegatorType;
+    }
+
+    protected Method getDelegatorMethod() {
+        return delegatorMethod;
+    }
+
+    protected Class<?> getDelegateeType() {
+        return delegateeType;
+    }
+
+    protected Method getDelegateeMethod() {
+        return delegateeMethod;
+    }
+
+    protected String getDelegateeName() {
+        return delegateeName;
+    }
+
+    protected int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * Check whether the delegatee method is executed asynchronously.
+     * 
+     * @return true if the return type descriptor is the value type of {@link Future} returned by delegator method
+     */
+    protected boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Get the way to delegate elements of the first argument.
+     * 
+     * @return {@link Batch#NONE} if it is not a batch delegation, otherwise the return type descriptor is the element
+     *         type of {@link java.util.List} returned by delegator method
+     */
+    protected Batch getBatch() {
+        return batch;
+    }
+
+    /**
+     * Get argument providers registered explicitly with the delegation.
+     * 
+     * @return empty array if argument providers should be matched by parameters
+     */
+    protected ArgumentProvider[] getArgumentProviders() {
+        return argumentProviders;
+    }
+
+    protected DelegateeInvoker getDelegateeInvoker() {
+        return delegateeInvoker;
+    }
+
+    /**
+     * Get plan converting return value of delegatee method to the return type descriptor.
+     */
+    protected ConversionPlan getReturnConversionPlan() {
+        return returnConversionPlan;
+    }
+
+    /**
+     * Get plan converting arguments of delegatee method resolved against class of target.
+     */
+    protected ConversionPlan getConversionPlan(final Class<?> targetClass) {
+        TargetConversionPlan conversionPlan = targetConversionPlan;
+        if (conversionPlan == null || conversionPlan.targetClass != targetClass) {
+            conversionPlan = new TargetConversionPlan(targetClass, ConversionPlan.get(targetClass, delegateeMethod));
+            targetConversionPlan = conversionPlan;
+        }
+        return conversionPlan.conversionPlan;
+    }
+
+    /**
+     * Get the mapped exception type of delegator from exception type thrown by delegatee.
+     * 
+     * @return null if there is no exception type mapped
+     */
+    @SuppressWarnings("unchecked")
+    protected Class<? extends Throwable> getDelegatorExceptionType(final Class<? extends Throwable> exceptionType) {
+        Class<?> delegatorExceptionType = exceptionTypeCache.get(exceptionType);
+        if (delegatorExceptionType == null) {
+            delegatorExceptionType = delegation.getExceptionType(exceptionType);
+            if (delegatorExceptionType == null) {
+                delegatorExceptionType = exceptionTypesByName.get(exceptionType.getSimpleName());
+            }
+            if (delegatorExceptionType == null) {
+                delegatorExceptionType = NO_EXCEPTION_TYPE;
+            }
+            exceptionTypeCache.put(exceptionType, delegatorExceptionType);
+        }
+
+        return delegatorExceptionType == NO_EXCEPTION_TYPE ? null
+                : (Class<? extends Throwable>) delegatorExceptionType;
+    }
+
+    /**
+     * Get the resolved target strategy.
+     * 
+     * @return null if the target has not been resolved yet
+     */
+    protected Target getTarget() {
+        return target;
+    }
+
+    protected void setTarget(final Target target) {
+        this.target = target;
+    }
+
+    /**
+     * Get the recorder of monitor.
+     * 
+     * @return null if the delegation is not monitored or the recorder has not been resolved yet
+     */
+    protected DelegationRecorder getRecorder() {
+        return recorder;
+    }
+
+    protected void setRecorder(final DelegationRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Strategy used to get target of delegatee method from invocation, with argument mapper for the target.
+     */
+    protected abstract static class Target {
+        private final ArgumentMapper argumentMapper;
+
+        protected Target(final ArgumentMapper argumentMapper) {
+            this.argumentMapper = argumentMapper;
+        }
+
+        protected ArgumentMapper getArgumentMapper() {
+            return argumentMapper;
+        }
+
+        /**
+         * Get target from arguments of invocation.
+         */
+        protected abstract Object get(Object[] arguments);
+    }
+
+    private static final class TargetConversionPlan {
+        private final Class<?> targetClass;
+        private final ConversionPlan conversionPlan;
+
+        private TargetConversionPlan(final Class<?> targetClass, final ConversionPlan conversionPlan) {
+            this.targetClass = targetClass;
+            this.conversionPlan = conversionPlan;
+        }
+    }
+}
@@ -12,12 +12,12 @@ import org.polyforms.delegation.builder.Delegation;
  */
 interface DelegationResolver {
     /**
-     * Retrieve delegation related with specified delegator.
+     * Retrieve execution plan of delegation related with specified delegator.
      * 
      * @param delegator
-     * @return related delegation or <code>null</code> if not exist.
+     * @return plan of related delegation or <code>null</code> if not exist.
      */
-    Delegation get(Delegator delegator);
+    DelegationPlan get(Delegator delegator);
 
     /**
      * Check whether a delegation for specific method supports.
@@ -0,0 +1,32 @@
+package org.polyforms.delegation.support;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import net.sf.cglib.reflect.FastClass;
+import net.sf.cglib.reflect.FastMethod;
+
+import org.springframework.util.Assert;
+
+/**
+ * Implementation of {@link DelegateeInvoker} using class generated by cglib, which invokes delegatee method by index
+ * without reflection.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+class FastClassDelegateeInvoker implements DelegateeInvoker {
+    private final FastMethod fastMethod;
+
+    protected FastClassDelegateeInvoker(final Method method) {
+        fastMethod = FastClass.create(method.getDeclaringClass()).getMethod(method);
+        Assert.isTrue(fastMethod.getIndex() >= 0, "Method " + method + " cannot be invoked by generated class.");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Object invoke(final Object target, final Object[] arguments) throws InvocationTargetException {
+        return fastMethod.invoke(target, arguments);
+    }
+}
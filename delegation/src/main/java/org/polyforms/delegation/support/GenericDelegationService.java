@@ -1,27 +1,32 @@
 package org.polyforms.delegation.support;
 
 import java.lang.reflect.Method;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.polyforms.delegation.DelegationService;
-import org.polyforms.delegation.builder.Delegation;
+import org.polyforms.delegation.monitor.DelegationRecorder;
 import org.polyforms.util.AopUtils;
+import org.polyforms.util.ClassCache;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 
 /**
  * Generic implementation of {@link DelegationService}.
  * 
+ * Delegators are cached per delegator type in a {@link ClassCache}. The cached delegators reference the type, so the
+ * type stays reachable until they are collected under memory pressure.
+ * 
  * @author Kuisong Tong
  * @since 1.0
  */
 @Named
 public final class GenericDelegationService implements DelegationService {
-    private final Map<Delegator, Delegator> delegatorMappingCache = new WeakHashMap<Delegator, Delegator>();
+    private final ClassCache<ConcurrentMap<Method, Delegator>> delegatorMappingCache = new DelegatorMappingCache();
     private final DelegationExecutor delegationExecutor;
     private final DelegationResolver delegationResolver;
 
@@ -43,28 +48,33 @@ public final class GenericDelegationService implements DelegationService {
             return false;
         }
 
-        return supportsWithCache(new Delegator(delegatorType, delegatorMethod));
+        return resolve(delegatorType, delegatorMethod) != null;
     }
 
-    private boolean supportsWithCache(final Delegator originalDelegator) {
-        if (delegatorMappingCache.get(originalDelegator) != null) {
-            return true;
+    private Delegator resolve(final Class<?> delegatorType, final Method delegatorMethod) {
+        final ConcurrentMap<Method, Delegator> delegators = delegatorMappingCache.get(delegatorType);
+        Delegator delegator = delegators.get(delegatorMethod);
+        if (delegator == null) {
+            delegator = resolveDelegator(delegatorType, delegatorMethod);
+            if (delegator != null) {
+                delegators.put(delegatorMethod, delegator);
+            }
         }
-
-        return supports(originalDelegator);
+        return delegator;
     }
 
-    private boolean supports(final Delegator originalDelegator) {
-        for (final Class<?> clazz : AopUtils.deproxy(originalDelegator.getType())) {
-            final Method method = ClassUtils.getMostSpecificMethod(originalDelegator.getMethod(), clazz);
+    private Delegator resolveDelegator(final Class<?> delegatorType, final Method delegatorMethod) {
+        final List<Class<?>> classes = AopUtils.getDeproxiedClasses(delegatorType);
+        for (int i = 0; i < classes.size(); i++) {
+            final Class<?> clazz = classes.get(i);
+            final Method method = ClassUtils.getMostSpecificMethod(delegatorMethod, clazz);
             final Delegator delegator = new Delegator(clazz, method);
             if (delegationResolver.supports(delegator)) {
-                delegatorMappingCache.put(originalDelegator, delegator);
-                return true;
+                return delegator;
             }
         }
 
-        return false;
+        return null;
     }
 
     /**
@@ -75,11 +85,31 @@ public final class GenericDelegationService implements DelegationService {
         Assert.notNull(delegatorType);
         Assert.notNull(delegatorMethod);
 
-        final Delegator candidate = new Delegator(delegatorType, delegatorMethod);
-        Assert.isTrue(
-                supportsWithCache(candidate),
+        final Delegator delegator = resolve(delegatorType, delegatorMethod);
+        Assert.notNull(
+                delegator,
                 "The delegation of {} in {} is not supported. You can use 'supports' method to check whether a delegation is supported.");
-        final Delegation delegation = delegationResolver.get(delegatorMappingCache.get(candidate));
-        return delegationExecutor.execute(delegation, arguments);
+        final DelegationPlan delegationPlan = delegationResolver.get(delegator);
+        final DelegationRecorder recorder = delegationExecutor.getRecorder(delegationPlan);
+        if (recorder == null) {
+            return delegationExecutor.execute(delegationPlan, arguments);
+        }
+
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            final Object returnValue = delegationExecutor.execute(delegationPlan, arguments);
+            failed = false;
+            return returnValue;
+        } finally {
+            recorder.recordCall(System.nanoTime() - start, failed);
+        }
+    }
+
+    private static final class DelegatorMappingCache extends ClassCache<ConcurrentMap<Method, Delegator>> {
+        @Override
+        protected ConcurrentMap<Method, Delegator> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<Method, Delegator>();
+        }
     }
 }
@@ -0,0 +1,26 @@
+package org.polyforms.delegation.support;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Implementation of {@link DelegateeInvoker} using reflection.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+class ReflectiveDelegateeInvoker implements DelegateeInvoker {
+    private final Method method;
+
+    protected ReflectiveDelegateeInvoker(final Method method) {
+        this.method = method;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Object invoke(final Object target, final Object[] arguments) throws InvocationTargetException,
+            IllegalAccessException {
+        return method.invoke(target, arguments);
+    }
+}
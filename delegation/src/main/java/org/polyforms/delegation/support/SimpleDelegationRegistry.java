@@ -1,14 +1,17 @@
 package org.polyforms.delegation.support;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
 
 import org.polyforms.delegation.builder.Delegation;
 import org.polyforms.delegation.builder.DelegationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
 
 /**
  * Generic implementation of {@link DelegationRegistry}.
@@ -19,13 +22,25 @@ import org.polyforms.delegation.builder.DelegationRegistry;
 @Named
 @Singleton
 public final class SimpleDelegationRegistry implements DelegationRegistry, DelegationResolver {
-    private final Map<Delegator, Delegation> delegations = new HashMap<Delegator, Delegation>();
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimpleDelegationRegistry.class);
+    private final Map<Delegator, DelegationPlan> delegations = new ConcurrentHashMap<Delegator, DelegationPlan>();
+    private volatile Invocation invocation = Invocation.GENERATED;
+
+    /**
+     * Set the way to invoke delegatee methods of delegations registered afterwards, default is
+     * {@link Invocation#GENERATED}.
+     */
+    public void setInvocation(final Invocation invocation) {
+        Assert.notNull(invocation);
+        this.invocation = invocation;
+    }
 
     /**
      * {@inheritDoc}
      */
     public void register(final Delegation delegation) {
-        delegations.put(new Delegator(delegation.getDelegatorType(), delegation.getDelegatorMethod()), delegation);
+        delegations.put(new Delegator(delegation.getDelegatorType(), delegation.getDelegatorMethod()),
+                new DelegationPlan(delegation, invocation.createInvoker(delegation.getDelegateeMethod())));
     }
 
     /**
@@ -38,7 +53,7 @@ public final class SimpleDelegationRegistry implements DelegationRegistry, Deleg
     /**
      * {@inheritDoc}
      */
-    public Delegation get(final Delegator delegator) {
+    public DelegationPlan get(final Delegator delegator) {
         return delegations.get(delegator);
     }
 
@@ -48,4 +63,36 @@ public final class SimpleDelegationRegistry implements DelegationRegistry, Deleg
     public boolean supports(final Delegator delegator) {
         return delegations.containsKey(delegator);
     }
+
+    /**
+     * Way to invoke delegatee method.
+     */
+    public enum Invocation {
+        /**
+         * Invoke delegatee method by reflection.
+         */
+        REFLECTION {
+            @Override
+            DelegateeInvoker createInvoker(final Method method) {
+                return new ReflectiveDelegateeInvoker(method);
+            }
+        },
+        /**
+         * Invoke delegatee method by class generated at registration, falls back to reflection if the class cannot
+         * be generated for the method.
+         */
+        GENERATED {
+            @Override
+            DelegateeInvoker createInvoker(final Method method) {
+                try {
+                    return new FastClassDelegateeInvoker(method);
+                } catch (final RuntimeException e) {
+                    LOGGER.debug("Fall back to reflection to invoke {} for {}.", method, e.getMessage());
+                    return REFLECTION.createInvoker(method);
+                }
+            }
+        };
+
+        abstract DelegateeInvoker createInvoker(Method method);
+    }
 }
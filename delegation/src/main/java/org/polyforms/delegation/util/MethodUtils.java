@@ -3,8 +3,11 @@ package org.polyforms.delegation.util;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.core.GenericCollectionTypeResolver;
+import org.springframework.core.MethodParameter;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 
@@ -19,6 +22,30 @@ public final class MethodUtils {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Get element type of the parameter which is a {@link Collection} or an array.
+     * 
+     * @param method the method declaring the parameter
+     * @param index the index of the parameter
+     * @return element type, {@link Object} if the element type of collection is not declared, or null if the parameter
+     *         is neither a collection nor an array
+     */
+    public static Class<?> getElementType(final Method method, final int index) {
+        Assert.notNull(method);
+        final Class<?> parameterType = method.getParameterTypes()[index];
+        if (parameterType.isArray()) {
+            return parameterType.getComponentType();
+        }
+
+        if (Collection.class.isAssignableFrom(parameterType)) {
+            final Class<?> elementType = GenericCollectionTypeResolver.getCollectionParameterType(new MethodParameter(
+                    method, index));
+            return elementType == null ? Object.class : elementType;
+        }
+
+        return null;
+    }
+
     /**
      * Find method from interfaces and/or classes according to method name and parameter types.
      * 
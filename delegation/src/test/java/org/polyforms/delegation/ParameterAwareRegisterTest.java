@@ -6,6 +6,7 @@ import org.easymock.EasyMock;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.polyforms.delegation.builder.Delegation.Batch;
 import org.polyforms.delegation.builder.DelegationBuilder;
 import org.polyforms.delegation.builder.DelegationBuilderHolder;
 import org.polyforms.parameter.ArgumentProvider;
@@ -44,6 +45,24 @@ public class ParameterAwareRegisterTest {
         EasyMock.verify(delegationBuilder);
     }
 
+    @Test
+    public void async() {
+        delegationBuilder.async(true);
+        EasyMock.replay(delegationBuilder);
+
+        parameterAwareRegister.async();
+        EasyMock.verify(delegationBuilder);
+    }
+
+    @Test
+    public void batch() {
+        delegationBuilder.batch(Batch.PARALLEL);
+        EasyMock.replay(delegationBuilder);
+
+        parameterAwareRegister.batch(Batch.PARALLEL);
+        EasyMock.verify(delegationBuilder);
+    }
+
     @Test
     public void at() {
         delegationBuilder.parameter(EasyMock.isA(ArgumentAt.class));
@@ -1,12 +1,18 @@
 package org.polyforms.delegation.builder.support;
 
 import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.Future;
 
 import junit.framework.Assert;
 
+import org.easymock.Capture;
+import org.easymock.CaptureType;
 import org.easymock.EasyMock;
 import org.junit.Before;
 import org.junit.Test;
+import org.polyforms.delegation.builder.Delegation;
+import org.polyforms.delegation.builder.Delegation.Batch;
 import org.polyforms.delegation.builder.DelegationBuilder;
 import org.polyforms.delegation.builder.DelegationRegistry;
 import org.polyforms.parameter.ArgumentProvider;
@@ -172,6 +178,81 @@ public class DefaultDelegationBuilderTest {
         delegationBuilder.registerDelegations();
     }
 
+    @Test
+    public void delegateAsync() throws NoSuchMethodException {
+        final Capture<Delegation> delegation = new Capture<Delegation>();
+        delegationRegistry.register(EasyMock.capture(delegation));
+        EasyMock.replay(delegationRegistry);
+
+        final AsyncDelegator asyncDelegator = delegationBuilder.delegateFrom(AsyncDelegator.class);
+        delegationBuilder.async(true);
+        asyncDelegator.get(null);
+        Assert.assertNotNull(delegationBuilder.delegate());
+        delegationBuilder.registerDelegations();
+        EasyMock.verify(delegationRegistry);
+        Assert.assertTrue(delegation.getValue().isAsync());
+    }
+
+    @Test
+    public void delegateAllAsync() throws NoSuchMethodException {
+        final Capture<Delegation> delegation = new Capture<Delegation>(CaptureType.ALL);
+        delegationRegistry.contains(EasyMock.same(AsyncDelegator.class), EasyMock.isA(Method.class));
+        EasyMock.expectLastCall().andReturn(false).times(2);
+        delegationRegistry.register(EasyMock.capture(delegation));
+        EasyMock.expectLastCall().times(2);
+        EasyMock.replay(delegationRegistry);
+
+        delegationBuilder.delegateFrom(AsyncDelegator.class);
+        delegationBuilder.async(true);
+        Assert.assertNull(delegationBuilder.delegate());
+        delegationBuilder.registerDelegations();
+        EasyMock.verify(delegationRegistry);
+        for (final Delegation value : delegation.getValues()) {
+            Assert.assertEquals(value.getDelegatorMethod().getName().equals("get"), value.isAsync());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void delegateAsyncWithoutFuture() {
+        final DomainDelegator domainDelegator = delegationBuilder.delegateFrom(DomainDelegator.class);
+        delegationBuilder.async(true);
+        domainDelegator.get(null);
+        delegationBuilder.delegate();
+    }
+
+    @Test
+    public void delegateBatch() throws NoSuchMethodException {
+        final Capture<Delegation> delegation = new Capture<Delegation>();
+        delegationRegistry.register(EasyMock.capture(delegation));
+        EasyMock.replay(delegationRegistry);
+
+        final BatchDelegator batchDelegator = delegationBuilder.delegateFrom(BatchDelegator.class);
+        delegationBuilder.batch(Batch.PARALLEL);
+        batchDelegator.get(null);
+        Assert.assertNotNull(delegationBuilder.delegate());
+        delegationBuilder.registerDelegations();
+        EasyMock.verify(delegationRegistry);
+        Assert.assertEquals(Batch.PARALLEL, delegation.getValue().getBatch());
+        Assert.assertEquals(DomainObject.class, delegation.getValue().getDelegateeType());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void delegateBatchWithoutCollection() {
+        final DomainDelegator domainDelegator = delegationBuilder.delegateFrom(DomainDelegator.class);
+        delegationBuilder.batch(Batch.SEQUENTIAL);
+        domainDelegator.get(null);
+        delegationBuilder.delegate();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void delegateAsyncBatch() {
+        final BatchDelegator batchDelegator = delegationBuilder.delegateFrom(BatchDelegator.class);
+        delegationBuilder.async(true);
+        delegationBuilder.batch(Batch.SEQUENTIAL);
+        batchDelegator.get(null);
+        delegationBuilder.delegate();
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void mapWithoudDelegatorType() {
         delegationBuilder.map(Exception.class, RuntimeException.class);
@@ -182,6 +263,16 @@ public class DefaultDelegationBuilderTest {
         delegationBuilder.delegate();
     }
 
+    public interface BatchDelegator {
+        List<Integer> get(List<DomainObject> domainObjects);
+    }
+
+    public interface AsyncDelegator {
+        Future<Integer> get(DomainObject domainObject);
+
+        void set(DomainObject domainObject, String string);
+    }
+
     public static abstract class DomainDelegator {
         public void concret() {
         }
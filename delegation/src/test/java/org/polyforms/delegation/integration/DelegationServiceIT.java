@@ -1,9 +1,13 @@
 package org.polyforms.delegation.integration;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -12,6 +16,7 @@ import org.polyforms.delegation.DelegateTo;
 import org.polyforms.delegation.DelegationRegister;
 import org.polyforms.delegation.DelegationService;
 import org.polyforms.delegation.DelegatorRegister;
+import org.polyforms.delegation.builder.Delegation.Batch;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -83,6 +88,35 @@ public class DelegationServiceIT {
         Assert.assertEquals(4, annotationDelegator.length(string));
     }
 
+    @Test
+    public void asyncDelegateTo() throws Exception {
+        Assert.assertEquals(Integer.valueOf(4), annotationDelegator.asyncLength(string).get());
+    }
+
+    @Test
+    public void asyncDelegateToWithException() throws InterruptedException {
+        try {
+            annotationDelegator.asyncException(true).get();
+            Assert.fail("ExecutionException should be thrown.");
+        } catch (final ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof DelegateException);
+        }
+    }
+
+    @Test
+    public void batchDelegateTo() {
+        final List<StringWrapper> strings = new ArrayList<StringWrapper>();
+        strings.add(new StringWrapper("a"));
+        strings.add(new StringWrapper("abc"));
+        Assert.assertEquals(Arrays.asList(new Integer[] { 1, 3 }), annotationDelegator.batchLength(strings));
+    }
+
+    @Test
+    public void parallelBatchDelegateTo() {
+        Assert.assertEquals(Arrays.asList(new String[] { "hello a", "hello b" }),
+                annotationDelegator.batchHello(new String[] { "a", "b" }));
+    }
+
     @Test
     public void parameterByType() {
         Assert.assertEquals("test2", delegator.byType(2, "test"));
@@ -223,6 +257,18 @@ public class DelegationServiceIT {
 
         @DelegateTo
         int length(StringWrapper string);
+
+        @DelegateTo(methodName = "length", async = true)
+        Future<Integer> asyncLength(StringWrapper string);
+
+        @DelegateTo(value = Delegatee.class, methodName = "exceptionWithName", async = true)
+        Future<Void> asyncException(boolean exception) throws DelegateException;
+
+        @DelegateTo(methodName = "length", batch = Batch.SEQUENTIAL)
+        List<Integer> batchLength(List<StringWrapper> strings);
+
+        @DelegateTo(value = Delegatee.class, methodName = "hello", batch = Batch.PARALLEL)
+        List<String> batchHello(String[] names);
     }
 
     public static interface GenericDelegatee<T extends Number> {
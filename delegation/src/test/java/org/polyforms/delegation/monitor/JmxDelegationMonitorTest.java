@@ -0,0 +1,76 @@
+package org.polyforms.delegation.monitor;
+
+import java.lang.reflect.Method;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.easymock.EasyMock;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.polyforms.delegation.builder.Delegation;
+import org.polyforms.delegation.monitor.DelegationRecorder.Phase;
+
+public class JmxDelegationMonitorTest {
+    private MBeanServer mBeanServer;
+    private JmxDelegationMonitor delegationMonitor;
+    private Delegation delegation;
+
+    @Before
+    public void setUp() throws NoSuchMethodException {
+        mBeanServer = MBeanServerFactory.newMBeanServer();
+        delegationMonitor = new JmxDelegationMonitor(mBeanServer);
+        delegation = EasyMock.createMock(Delegation.class);
+        final Method method = String.class.getMethod("concat", new Class<?>[] { String.class });
+        delegation.getDelegatorType();
+        EasyMock.expectLastCall().andReturn(String.class);
+        delegation.getDelegatorMethod();
+        EasyMock.expectLastCall().andReturn(method);
+        EasyMock.replay(delegation);
+    }
+
+    @After
+    public void tearDown() {
+        EasyMock.verify(delegation);
+    }
+
+    @Test
+    public void getRecorder() throws Exception {
+        final DelegationRecorder recorder = delegationMonitor.getRecorder(delegation);
+        Assert.assertSame(recorder, delegationMonitor.getRecorder(delegation));
+        Assert.assertSame(recorder, delegationMonitor.getStatistics().get(delegation));
+
+        recorder.record(Phase.INVOCATION, 100);
+        recorder.recordCall(200, false);
+        recorder.recordCall(300, true);
+
+        final ObjectName objectName = new ObjectName(
+                "org.polyforms.delegation:type=Delegation,name=\"java.lang.String.concat(java.lang.String)\"");
+        Assert.assertEquals(2L, mBeanServer.getAttribute(objectName, "CallCount"));
+        Assert.assertEquals(1L, mBeanServer.getAttribute(objectName, "ErrorCount"));
+        Assert.assertEquals(250d, mBeanServer.getAttribute(objectName, "MeanCallTime"));
+        Assert.assertEquals(100d, mBeanServer.getAttribute(objectName, "MeanInvocationTime"));
+        Assert.assertEquals(0d, mBeanServer.getAttribute(objectName, "MeanMatchingTime"));
+    }
+
+    @Test
+    public void close() throws Exception {
+        delegationMonitor.getRecorder(delegation);
+        final int count = mBeanServer.getMBeanCount();
+
+        delegationMonitor.close();
+        Assert.assertEquals(count - 1, mBeanServer.getMBeanCount().intValue());
+    }
+
+    @Test
+    public void destroy() throws Exception {
+        delegationMonitor.getRecorder(delegation);
+        final int count = mBeanServer.getMBeanCount();
+
+        delegationMonitor.destroy();
+        Assert.assertEquals(count - 1, mBeanServer.getMBeanCount().intValue());
+    }
+}
@@ -0,0 +1,55 @@
+package org.polyforms.delegation.monitor;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+    private LatencyHistogram histogram;
+
+    @Before
+    public void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    @Test
+    public void empty() {
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getMax());
+        Assert.assertEquals(0, histogram.getMean(), 0);
+        Assert.assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void recordSmallValues() {
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        Assert.assertEquals(10, histogram.getCount());
+        Assert.assertEquals(10, histogram.getMax());
+        Assert.assertEquals(5.5, histogram.getMean(), 0);
+        Assert.assertEquals(5, histogram.getValueAtPercentile(50));
+        Assert.assertEquals(10, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void recordNegativeValue() {
+        histogram.record(-1);
+        Assert.assertEquals(1, histogram.getCount());
+        Assert.assertEquals(0, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void recordLargeValues() {
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1000);
+        }
+        histogram.record(Long.MAX_VALUE);
+
+        final long percentile99th = histogram.getValueAtPercentile(99);
+        Assert.assertTrue(percentile99th >= 1000 && percentile99th <= 1125);
+        Assert.assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+        Assert.assertEquals(Long.MAX_VALUE, histogram.getMax());
+    }
+}
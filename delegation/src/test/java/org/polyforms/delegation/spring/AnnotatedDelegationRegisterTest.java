@@ -4,6 +4,7 @@ import org.easymock.EasyMock;
 import org.junit.Before;
 import org.junit.Test;
 import org.polyforms.delegation.DelegateTo;
+import org.polyforms.delegation.builder.Delegation.Batch;
 import org.polyforms.delegation.builder.DelegationBuilder;
 import org.polyforms.delegation.spring.DelegationRegisterProcessor.AnnotatedDelegationRegister;
 import org.polyforms.delegation.spring.DelegationRegisterProcessor.BeanClassVisitor;
@@ -28,6 +29,8 @@ public class AnnotatedDelegationRegisterTest {
         delegationBuilder.delegateFrom(AnnotatedClass.class);
         EasyMock.expectLastCall().andReturn(new AnnotatedClass());
         delegationBuilder.withName("");
+        delegationBuilder.async(false);
+        delegationBuilder.batch(Batch.NONE);
         delegationBuilder.delegate();
         EasyMock.expectLastCall().andReturn(null);
         delegationBuilder.registerDelegations();
@@ -45,6 +48,10 @@ public class AnnotatedDelegationRegisterTest {
         EasyMock.expectLastCall().times(2);
         delegationBuilder.withName("");
         EasyMock.expectLastCall().times(2);
+        delegationBuilder.async(false);
+        delegationBuilder.async(true);
+        delegationBuilder.batch(Batch.NONE);
+        EasyMock.expectLastCall().times(2);
         delegationBuilder.delegate();
         EasyMock.expectLastCall().andReturn(new AnnotatedClass()).times(2);
         delegationBuilder.registerDelegations();
@@ -54,6 +61,44 @@ public class AnnotatedDelegationRegisterTest {
         EasyMock.verify(delegationBuilder);
     }
 
+    @Test
+    public void visitAnnotatedMethodOfAnnotatedClass() {
+        delegationBuilder.delegateFrom(AnnotatedMethodOfAnnotatedClass.class);
+        EasyMock.expectLastCall().andReturn(new AnnotatedMethodOfAnnotatedClass());
+        delegationBuilder.delegateTo(AnnotatedClass.class);
+        EasyMock.expectLastCall().times(2);
+        delegationBuilder.withName("");
+        EasyMock.expectLastCall().times(2);
+        delegationBuilder.async(false);
+        EasyMock.expectLastCall().times(2);
+        delegationBuilder.batch(Batch.NONE);
+        EasyMock.expectLastCall().times(2);
+        delegationBuilder.delegate();
+        EasyMock.expectLastCall().andReturn(new AnnotatedClass()).times(2);
+        delegationBuilder.registerDelegations();
+        EasyMock.replay(delegationBuilder);
+
+        beanClassVisitor.visit(AnnotatedMethodOfAnnotatedClass.class);
+        EasyMock.verify(delegationBuilder);
+    }
+
+    @Test
+    public void visitAnnotatedMethodWithPrimitiveParameters() {
+        delegationBuilder.delegateFrom(PrimitiveMethod.class);
+        EasyMock.expectLastCall().andReturn(new PrimitiveMethod());
+        delegationBuilder.delegateTo(PrimitiveMethod.class);
+        delegationBuilder.withName("");
+        delegationBuilder.async(false);
+        delegationBuilder.batch(Batch.NONE);
+        delegationBuilder.delegate();
+        EasyMock.expectLastCall().andReturn(new PrimitiveMethod());
+        delegationBuilder.registerDelegations();
+        EasyMock.replay(delegationBuilder);
+
+        beanClassVisitor.visit(PrimitiveMethod.class);
+        EasyMock.verify(delegationBuilder);
+    }
+
     @DelegateTo
     static class AnnotatedClass {
         public void mockMethod() {
@@ -65,8 +110,21 @@ public class AnnotatedDelegationRegisterTest {
         public void mockMethod() {
         }
 
-        @DelegateTo(value = AnnotatedClass.class, methodName = "mockMethod")
+        @DelegateTo(value = AnnotatedClass.class, methodName = "mockMethod", async = true)
         public void mockMethod2() {
         }
     }
+
+    @DelegateTo(AnnotatedClass.class)
+    static class AnnotatedMethodOfAnnotatedClass {
+        @DelegateTo(methodName = "mockMethod")
+        public void anotherMethod() {
+        }
+    }
+
+    static class PrimitiveMethod {
+        @DelegateTo(PrimitiveMethod.class)
+        public void mockMethod(final int number, final boolean flag) {
+        }
+    }
 }
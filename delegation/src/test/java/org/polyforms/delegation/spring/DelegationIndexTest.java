@@ -0,0 +1,83 @@
+package org.polyforms.delegation.spring;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DelegationIndexTest {
+    @Test
+    public void loadWithoutIndex() throws IOException {
+        Assert.assertNull(DelegationIndex.load(new URLClassLoader(new URL[0], null)));
+    }
+
+    @Test
+    public void load() throws IOException {
+        final DelegationIndex delegationIndex = createIndex("# comment\n\nregister org.polyforms.MockRegister\n"
+                + "delegator " + MockDelegator.class.getName() + "\ndelegator org.polyforms.NotFound\n"
+                + "unknown org.polyforms.Unknown\nmalformed\n");
+
+        final Set<String> registerNames = delegationIndex.getRegisterNames();
+        Assert.assertEquals(1, registerNames.size());
+        Assert.assertTrue(registerNames.contains("org.polyforms.MockRegister"));
+        final Set<Class<?>> delegatorTypes = delegationIndex.getDelegatorTypes();
+        Assert.assertEquals(1, delegatorTypes.size());
+        Assert.assertTrue(delegatorTypes.contains(MockDelegator.class));
+    }
+
+    @Test
+    public void notCoverClassesOutOfIndexedRoot() throws IOException {
+        final DelegationIndex delegationIndex = createIndex("delegator " + MockDelegator.class.getName());
+        Assert.assertFalse(delegationIndex.covers(MockDelegator.class.getName()));
+        Assert.assertFalse(delegationIndex.covers("org.polyforms.NotFound"));
+    }
+
+    @Test
+    public void coverClassesInIndexedRoot() throws Exception {
+        final File indexFile = writeIndex(getClassPathRoot(MockDelegator.class), "delegator "
+                + MockDelegator.class.getName());
+        try {
+            final DelegationIndex delegationIndex = DelegationIndex.load(DelegationIndexTest.class.getClassLoader());
+            Assert.assertTrue(delegationIndex.covers(MockDelegator.class.getName()));
+            Assert.assertFalse(delegationIndex.covers(Test.class.getName()));
+        } finally {
+            indexFile.delete();
+        }
+    }
+
+    protected static DelegationIndex createIndex(final String content) throws IOException {
+        final File directory = File.createTempFile("polyforms", "index");
+        directory.delete();
+        writeIndex(directory, content);
+
+        return DelegationIndex.load(new URLClassLoader(new URL[] { directory.toURI().toURL() },
+                DelegationIndexTest.class.getClassLoader()));
+    }
+
+    protected static File writeIndex(final File root, final String content) throws IOException {
+        final File indexFile = new File(root, DelegationIndex.LOCATION);
+        indexFile.getParentFile().mkdirs();
+        indexFile.deleteOnExit();
+        final OutputStream outputStream = new FileOutputStream(indexFile);
+        try {
+            outputStream.write(content.getBytes("UTF-8"));
+        } finally {
+            outputStream.close();
+        }
+        return indexFile;
+    }
+
+    protected static File getClassPathRoot(final Class<?> clazz) throws URISyntaxException {
+        return new File(clazz.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+
+    public interface MockDelegator {
+    }
+}
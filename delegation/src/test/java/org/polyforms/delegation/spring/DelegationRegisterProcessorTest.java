@@ -1,13 +1,16 @@
 package org.polyforms.delegation.spring;
 
+import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.easymock.EasyMock;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.polyforms.delegation.builder.DelegationRegister;
 import org.polyforms.delegation.builder.DelegationRegistry;
+import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
@@ -18,12 +21,21 @@ public class DelegationRegisterProcessorTest {
     private DelegationRegisterProcessor delegationRegisterProcessor;
     private DelegationRegistry delegationRegistry;
 
+    private File indexFile;
+
     @Before
     public void setUp() {
         delegationRegisterProcessor = new DelegationRegisterProcessor();
         delegationRegistry = EasyMock.createMock(DelegationRegistry.class);
     }
 
+    @After
+    public void tearDown() {
+        if (indexFile != null) {
+            indexFile.delete();
+        }
+    }
+
     @Test(expected = IllegalStateException.class)
     public void notConfigurableListableBeanFactory() {
         delegationRegisterProcessor
@@ -73,6 +85,194 @@ public class DelegationRegisterProcessorTest {
         EasyMock.verify(beanFactory, mockClass, mockInterface, delegationRegistry);
     }
 
+    @Test
+    public void postProcessBeanDefinitionRegistryWithIndex() throws Exception {
+        delegationRegisterProcessor = new DelegationRegisterProcessor(createIndex("register "
+                + MockRegister.class.getName()));
+        final DefaultListableBeanFactory beanFactory = EasyMock.createMock(DefaultListableBeanFactory.class);
+        final BeanDefinition mockRegister = EasyMock.createMock(BeanDefinition.class);
+        final BeanDefinition mockClass = EasyMock.createMock(BeanDefinition.class);
+
+        beanFactory.getBean(DelegationRegistry.class);
+        EasyMock.expectLastCall().andReturn(delegationRegistry);
+        beanFactory.getBeanDefinitionNames();
+        EasyMock.expectLastCall().andReturn(new String[] { "mockRegister", "mockClass" });
+        beanFactory.getBeanDefinition("mockRegister");
+        EasyMock.expectLastCall().andReturn(mockRegister);
+        mockRegister.getBeanClassName();
+        EasyMock.expectLastCall().andReturn(MockRegister.class.getName()).times(2);
+        mockRegister.isAbstract();
+        EasyMock.expectLastCall().andReturn(false);
+        mockRegister.getFactoryMethodName();
+        EasyMock.expectLastCall().andReturn(null);
+        beanFactory.isFactoryBean("mockRegister");
+        EasyMock.expectLastCall().andReturn(false);
+        beanFactory.getBean("mockRegister", DelegationRegister.class);
+        EasyMock.expectLastCall().andReturn(new MockRegister());
+        beanFactory.getBeanDefinition("mockClass");
+        EasyMock.expectLastCall().andReturn(mockClass);
+        mockClass.getBeanClassName();
+        EasyMock.expectLastCall().andReturn(MockClass.class.getName()).times(2);
+        mockClass.isAbstract();
+        EasyMock.expectLastCall().andReturn(false);
+        mockClass.getFactoryMethodName();
+        EasyMock.expectLastCall().andReturn(null);
+        beanFactory.isFactoryBean("mockClass");
+        EasyMock.expectLastCall().andReturn(false);
+        beanFactory.registerBeanDefinition(EasyMock.eq("delegationRegisterProcessorTest.MockInterface"),
+                EasyMock.isA(RootBeanDefinition.class));
+        EasyMock.replay(beanFactory, mockRegister, mockClass, delegationRegistry);
+
+        delegationRegisterProcessor.postProcessBeanDefinitionRegistry(beanFactory);
+        EasyMock.verify(beanFactory, mockRegister, mockClass, delegationRegistry);
+    }
+
+    @Test
+    public void postProcessBeanDefinitionRegistryWithIndexScansUnindexedBeans() throws Exception {
+        delegationRegisterProcessor = new DelegationRegisterProcessor(createIndex("delegator "
+                + MockClass.class.getName()));
+        final DefaultListableBeanFactory beanFactory = EasyMock.createMock(DefaultListableBeanFactory.class);
+        final BeanDefinition mockRegister = EasyMock.createMock(BeanDefinition.class);
+        final BeanDefinition string = EasyMock.createMock(BeanDefinition.class);
+
+        beanFactory.getBean(DelegationRegistry.class);
+        EasyMock.expectLastCall().andReturn(delegationRegistry);
+        beanFactory.getBeanDefinitionNames();
+        EasyMock.expectLastCall().andReturn(new String[] { "mockRegister", "string" });
+        beanFactory.getBeanDefinition("mockRegister");
+        EasyMock.expectLastCall().andReturn(mockRegister);
+        mockRegister.getBeanClassName();
+        EasyMock.expectLastCall().andReturn(null);
+        mockRegister.isAbstract();
+        EasyMock.expectLastCall().andReturn(false);
+        beanFactory.getType("mockRegister");
+        EasyMock.expectLastCall().andReturn(MockRegister.class);
+        beanFactory.getBean("mockRegister", DelegationRegister.class);
+        EasyMock.expectLastCall().andReturn(new MockRegister());
+        beanFactory.getBeanDefinition("string");
+        EasyMock.expectLastCall().andReturn(string);
+        string.getBeanClassName();
+        EasyMock.expectLastCall().andReturn(String.class.getName());
+        string.isAbstract();
+        EasyMock.expectLastCall().andReturn(false);
+        beanFactory.getType("string");
+        EasyMock.expectLastCall().andReturn(String.class);
+        beanFactory.registerBeanDefinition(EasyMock.eq("delegationRegisterProcessorTest.MockInterface"),
+                EasyMock.isA(RootBeanDefinition.class));
+        EasyMock.replay(beanFactory, mockRegister, string, delegationRegistry);
+
+        delegationRegisterProcessor.postProcessBeanDefinitionRegistry(beanFactory);
+        EasyMock.verify(beanFactory, mockRegister, string, delegationRegistry);
+    }
+
+    @Test
+    public void postProcessBeanDefinitionRegistryWithIndexResolvesFactoryMethod() throws Exception {
+        delegationRegisterProcessor = new DelegationRegisterProcessor(createIndex("register "
+                + MockRegister.class.getName()));
+        final DefaultListableBeanFactory beanFactory = EasyMock.createMock(DefaultListableBeanFactory.class);
+        final BeanDefinition mockRegister = EasyMock.createMock(BeanDefinition.class);
+        final BeanDefinition mockFactory = EasyMock.createMock(BeanDefinition.class);
+
+        mockIndexedRegister(beanFactory, mockRegister, "mockFactory");
+        beanFactory.getBeanDefinition("mockFactory");
+        EasyMock.expectLastCall().andReturn(mockFactory);
+        mockFactory.getBeanClassName();
+        EasyMock.expectLastCall().andReturn(MockFactory.class.getName());
+        mockFactory.isAbstract();
+        EasyMock.expectLastCall().andReturn(false);
+        mockFactory.getFactoryMethodName();
+        EasyMock.expectLastCall().andReturn("create");
+        beanFactory.getType("mockFactory");
+        EasyMock.expectLastCall().andReturn(MockInterface.class);
+        EasyMock.replay(beanFactory, mockRegister, mockFactory, delegationRegistry);
+
+        delegationRegisterProcessor.postProcessBeanDefinitionRegistry(beanFactory);
+        EasyMock.verify(beanFactory, mockRegister, mockFactory, delegationRegistry);
+    }
+
+    @Test
+    public void postProcessBeanDefinitionRegistryWithIndexResolvesFactoryBean() throws Exception {
+        delegationRegisterProcessor = new DelegationRegisterProcessor(createIndex("register "
+                + MockRegister.class.getName()));
+        final DefaultListableBeanFactory beanFactory = EasyMock.createMock(DefaultListableBeanFactory.class);
+        final BeanDefinition mockRegister = EasyMock.createMock(BeanDefinition.class);
+        final BeanDefinition mockFactoryBean = EasyMock.createMock(BeanDefinition.class);
+
+        mockIndexedRegister(beanFactory, mockRegister, "mockFactoryBean");
+        beanFactory.getBeanDefinition("mockFactoryBean");
+        EasyMock.expectLastCall().andReturn(mockFactoryBean);
+        mockFactoryBean.getBeanClassName();
+        EasyMock.expectLastCall().andReturn(MockFactoryBean.class.getName());
+        mockFactoryBean.isAbstract();
+        EasyMock.expectLastCall().andReturn(false);
+        mockFactoryBean.getFactoryMethodName();
+        EasyMock.expectLastCall().andReturn(null);
+        beanFactory.isFactoryBean("mockFactoryBean");
+        EasyMock.expectLastCall().andReturn(true);
+        beanFactory.getType("mockFactoryBean");
+        EasyMock.expectLastCall().andReturn(MockInterface.class);
+        EasyMock.replay(beanFactory, mockRegister, mockFactoryBean, delegationRegistry);
+
+        delegationRegisterProcessor.postProcessBeanDefinitionRegistry(beanFactory);
+        EasyMock.verify(beanFactory, mockRegister, mockFactoryBean, delegationRegistry);
+    }
+
+    private void mockIndexedRegister(final DefaultListableBeanFactory beanFactory, final BeanDefinition mockRegister,
+            final String delegatorBeanName) {
+        beanFactory.getBean(DelegationRegistry.class);
+        EasyMock.expectLastCall().andReturn(delegationRegistry);
+        beanFactory.getBeanDefinitionNames();
+        EasyMock.expectLastCall().andReturn(new String[] { "mockRegister", delegatorBeanName });
+        beanFactory.getBeanDefinition("mockRegister");
+        EasyMock.expectLastCall().andReturn(mockRegister);
+        mockRegister.getBeanClassName();
+        EasyMock.expectLastCall().andReturn(MockRegister.class.getName()).times(2);
+        mockRegister.isAbstract();
+        EasyMock.expectLastCall().andReturn(false);
+        mockRegister.getFactoryMethodName();
+        EasyMock.expectLastCall().andReturn(null);
+        beanFactory.isFactoryBean("mockRegister");
+        EasyMock.expectLastCall().andReturn(false);
+        beanFactory.getBean("mockRegister", DelegationRegister.class);
+        EasyMock.expectLastCall().andReturn(new MockRegister());
+    }
+
+    @Test
+    public void postProcessBeanFactoryWithIndex() throws Exception {
+        delegationRegisterProcessor = new DelegationRegisterProcessor(createIndex("delegator "
+                + MockClass.class.getName()));
+        final ConfigurableListableBeanFactory beanFactory = EasyMock.createMock(ConfigurableListableBeanFactory.class);
+        final BeanDefinition mockClass = EasyMock.createMock(BeanDefinition.class);
+        final BeanDefinition string = EasyMock.createMock(BeanDefinition.class);
+
+        beanFactory.getBean(DelegationRegistry.class);
+        EasyMock.expectLastCall().andReturn(delegationRegistry);
+        beanFactory.getBeanDefinitionNames();
+        EasyMock.expectLastCall().andReturn(new String[] { "mockClass", "string" });
+        beanFactory.getBeanDefinition("mockClass");
+        EasyMock.expectLastCall().andReturn(mockClass);
+        mockClass.getBeanClassName();
+        EasyMock.expectLastCall().andReturn(MockClass.class.getName());
+        mockClass.isAbstract();
+        EasyMock.expectLastCall().andReturn(false);
+        mockClass.getFactoryMethodName();
+        EasyMock.expectLastCall().andReturn(null);
+        beanFactory.isFactoryBean("mockClass");
+        EasyMock.expectLastCall().andReturn(false);
+        beanFactory.getBeanDefinition("string");
+        EasyMock.expectLastCall().andReturn(string);
+        string.getBeanClassName();
+        EasyMock.expectLastCall().andReturn(String.class.getName());
+        string.isAbstract();
+        EasyMock.expectLastCall().andReturn(false);
+        beanFactory.getType("string");
+        EasyMock.expectLastCall().andReturn(String.class);
+        EasyMock.replay(beanFactory, mockClass, string);
+
+        delegationRegisterProcessor.postProcessBeanFactory(beanFactory);
+        EasyMock.verify(beanFactory, mockClass, string);
+    }
+
     @Test
     public void postProcessBeanFactory() {
         final ConfigurableListableBeanFactory beanFactory = EasyMock.createMock(ConfigurableListableBeanFactory.class);
@@ -99,9 +299,39 @@ public class DelegationRegisterProcessorTest {
         EasyMock.verify(beanFactory, mockClass, mockInterface);
     }
 
+    private DelegationIndex createIndex(final String content) throws Exception {
+        indexFile = DelegationIndexTest.writeIndex(DelegationIndexTest.getClassPathRoot(MockClass.class), content);
+        return DelegationIndex.load(DelegationRegisterProcessorTest.class.getClassLoader());
+    }
+
     public interface MockInterface {
     }
 
+    public static class MockRegister implements DelegationRegister<MockInterface> {
+        public void register(final MockInterface source) {
+        }
+    }
+
     public static class MockClass {
     }
+
+    public static class MockFactory {
+        public static MockInterface create() {
+            return null;
+        }
+    }
+
+    public static class MockFactoryBean implements FactoryBean<MockInterface> {
+        public MockInterface getObject() {
+            return null;
+        }
+
+        public Class<?> getObjectType() {
+            return MockInterface.class;
+        }
+
+        public boolean isSingleton() {
+            return true;
+        }
+    }
 }
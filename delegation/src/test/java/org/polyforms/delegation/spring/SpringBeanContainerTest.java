@@ -60,4 +60,36 @@ public final class SpringBeanContainerTest {
         Assert.assertSame(bean, beanContainer.getBean("bean", Object.class));
         EasyMock.verify(beanFactory);
     }
+
+    @Test
+    public void isSingletonByType() {
+        beanFactory.getBeanNamesForType(Object.class);
+        EasyMock.expectLastCall().andReturn(new String[] { "bean" });
+        beanFactory.isSingleton("bean");
+        EasyMock.expectLastCall().andReturn(true);
+        EasyMock.replay(beanFactory);
+
+        Assert.assertTrue(beanContainer.isSingleton(Object.class));
+        EasyMock.verify(beanFactory);
+    }
+
+    @Test
+    public void isNotSingletonByTypeIfNotUnique() {
+        beanFactory.getBeanNamesForType(Object.class);
+        EasyMock.expectLastCall().andReturn(new String[] { "bean1", "bean2" });
+        EasyMock.replay(beanFactory);
+
+        Assert.assertFalse(beanContainer.isSingleton(Object.class));
+        EasyMock.verify(beanFactory);
+    }
+
+    @Test
+    public void isSingletonByName() {
+        beanFactory.isSingleton("bean");
+        EasyMock.expectLastCall().andReturn(false);
+        EasyMock.replay(beanFactory);
+
+        Assert.assertFalse(beanContainer.isSingleton("bean"));
+        EasyMock.verify(beanFactory);
+    }
 }
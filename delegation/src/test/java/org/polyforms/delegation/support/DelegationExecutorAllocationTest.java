@@ -0,0 +1,126 @@
+package org.polyforms.delegation.support;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.polyforms.delegation.builder.BeanContainer;
+import org.polyforms.delegation.builder.Delegation;
+import org.polyforms.parameter.ArgumentProvider;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+public class DelegationExecutorAllocationTest {
+    private static final int WARMUP_ITERATIONS = 50000;
+    private static final int ITERATIONS = 100000;
+    private com.sun.management.ThreadMXBean threadMXBean;
+    private DelegationExecutor delegationExecutor;
+    private DelegationPlan delegationPlan;
+
+    @Before
+    public void setUp() throws NoSuchMethodException {
+        final ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(mxBean instanceof com.sun.management.ThreadMXBean);
+        threadMXBean = (com.sun.management.ThreadMXBean) mxBean;
+        Assume.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        delegationExecutor = new DelegationExecutor(new NoBeanContainer(), new DefaultConversionService());
+        delegationExecutor.setZeroAllocation(true);
+        delegationPlan = new DelegationPlan(new ConcatDelegation(),
+                new FastClassDelegateeInvoker(String.class.getMethod("concat", new Class<?>[] { String.class })));
+    }
+
+    @Test
+    public void steadyStateExecutionDoesNotAllocate() throws Throwable {
+        // concatenating empty string returns the same string, so the delegatee does not allocate
+        final Object[] arguments = new Object[] { "test", "" };
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            Assert.assertEquals("test", delegationExecutor.execute(delegationPlan, arguments));
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        final long allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            delegationExecutor.execute(delegationPlan, arguments);
+        }
+        final long bytesPerExecution = (threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBytes) / ITERATIONS;
+
+        Assert.assertEquals("Bytes allocated per execution", 0, bytesPerExecution);
+    }
+
+    public interface Delegator {
+        String concat(String string, String other);
+    }
+
+    private static final class ConcatDelegation implements Delegation {
+        public Class<?> getDelegatorType() {
+            return Delegator.class;
+        }
+
+        public Method getDelegatorMethod() {
+            try {
+                return Delegator.class.getMethod("concat", new Class<?>[] { String.class, String.class });
+            } catch (final NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        public Class<?> getDelegateeType() {
+            return String.class;
+        }
+
+        public Method getDelegateeMethod() {
+            try {
+                return String.class.getMethod("concat", new Class<?>[] { String.class });
+            } catch (final NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        public String getDelegateeName() {
+            return null;
+        }
+
+        public ArgumentProvider[] getArgumentProviders() {
+            return new ArgumentProvider[0];
+        }
+
+        public Class<? extends Throwable> getExceptionType(final Class<? extends Throwable> exceptionType) {
+            return null;
+        }
+
+        public boolean isAsync() {
+            return false;
+        }
+
+        public Batch getBatch() {
+            return Batch.NONE;
+        }
+    }
+
+    private static final class NoBeanContainer implements BeanContainer {
+        public <T> T getBean(final Class<T> type) {
+            throw new UnsupportedOperationException();
+        }
+
+        public <T> T getBean(final String name, final Class<T> type) {
+            throw new UnsupportedOperationException();
+        }
+
+        public boolean containsBean(final Class<?> type) {
+            return false;
+        }
+
+        public boolean isSingleton(final Class<?> type) {
+            return false;
+        }
+
+        public boolean isSingleton(final String name) {
+            return false;
+        }
+    }
+}
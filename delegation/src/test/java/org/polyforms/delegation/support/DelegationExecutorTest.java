@@ -1,5 +1,13 @@
 package org.polyforms.delegation.support;
 
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
 import org.easymock.EasyMock;
 import org.junit.After;
 import org.junit.Assert;
@@ -7,6 +15,10 @@ import org.junit.Before;
 import org.junit.Test;
 import org.polyforms.delegation.builder.BeanContainer;
 import org.polyforms.delegation.builder.Delegation;
+import org.polyforms.delegation.builder.Delegation.Batch;
+import org.polyforms.delegation.monitor.DelegationMonitor;
+import org.polyforms.delegation.monitor.DelegationRecorder;
+import org.polyforms.delegation.monitor.DelegationRecorder.Phase;
 import org.polyforms.delegation.support.DelegationExecutorTest.Delegatee.MockException;
 import org.polyforms.delegation.support.DelegationExecutorTest.Delegator.DelegateException;
 import org.polyforms.parameter.ArgumentProvider;
@@ -34,88 +46,127 @@ public class DelegationExecutorTest {
 
     @Test
     public void domainDelegationExecute() throws Throwable {
-        delegation.getDelegateeType();
-        EasyMock.expectLastCall().andReturn(String.class).times(2);
-        delegation.getDelegateeMethod();
-        EasyMock.expectLastCall().andReturn(String.class.getMethod("concat", new Class<?>[] { String.class })).times(2);
-        delegation.getDelegateeName();
-        EasyMock.expectLastCall().andReturn(null);
+        mockDelegation(Delegator.class.getMethod("concat", new Class<?>[] { String.class, int.class }), String.class,
+                String.class.getMethod("concat", new Class<?>[] { String.class }), null);
         beanContainer.containsBean(String.class);
         EasyMock.expectLastCall().andReturn(false);
-        delegation.getArgumentProviders();
-        EasyMock.expectLastCall().andReturn(new ArgumentProvider[0]);
-        conversionService.convert("test", String.class);
-        EasyMock.expectLastCall().andReturn("test");
         conversionService.convert(EasyMock.eq(4), EasyMock.isA(TypeDescriptor.class),
                 EasyMock.isA(TypeDescriptor.class));
         EasyMock.expectLastCall().andReturn("4");
         conversionService.convert(EasyMock.eq("test4"), EasyMock.isA(TypeDescriptor.class),
                 EasyMock.isA(TypeDescriptor.class));
         EasyMock.expectLastCall().andReturn("test4");
-        delegation.getDelegatorType();
-        EasyMock.expectLastCall().andReturn(Delegator.class).times(2);
-        delegation.getDelegatorMethod();
-        EasyMock.expectLastCall()
-                .andReturn(Delegator.class.getMethod("concat", new Class<?>[] { String.class, int.class })).times(2);
+        conversionService.convert("test", String.class);
+        EasyMock.expectLastCall().andReturn("test");
+        EasyMock.replay(beanContainer, conversionService, delegation);
+
+        Assert.assertEquals("test4", execute(new Object[] { "test", 4 }));
+    }
+
+    @Test
+    public void zeroAllocationExecute() throws Throwable {
+        mockDelegation(Delegator.class.getMethod("concat", new Class<?>[] { String.class, int.class }), String.class,
+                String.class.getMethod("concat", new Class<?>[] { String.class }), null);
+        beanContainer.containsBean(String.class);
+        EasyMock.expectLastCall().andReturn(false);
+        conversionService.convert(EasyMock.eq(4), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn("4").times(2);
+        EasyMock.replay(beanContainer, conversionService, delegation);
+
+        delegationExecutor.setZeroAllocation(true);
+        final DelegationPlan delegationPlan = new DelegationPlan(delegation);
+        Assert.assertEquals("test4", delegationExecutor.execute(delegationPlan, new Object[] { "test", 4 }));
+        Assert.assertEquals("test4", delegationExecutor.execute(delegationPlan, new Object[] { "test", 4 }));
+    }
+
+    @Test
+    public void monitoredExecute() throws Throwable {
+        final DelegationMonitor monitor = EasyMock.createMock(DelegationMonitor.class);
+        final DelegationRecorder recorder = EasyMock.createMock(DelegationRecorder.class);
+        beanContainer.isSingleton(DelegationMonitor.class);
+        EasyMock.expectLastCall().andReturn(true);
+        beanContainer.getBean(DelegationMonitor.class);
+        EasyMock.expectLastCall().andReturn(monitor);
+        mockDelegation(Delegator.class.getMethod("concat", new Class<?>[] { String.class, int.class }), String.class,
+                String.class.getMethod("concat", new Class<?>[] { String.class }), null);
+        beanContainer.containsBean(String.class);
+        EasyMock.expectLastCall().andReturn(false);
+        conversionService.convert(EasyMock.eq(4), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn("4").times(2);
+        conversionService.convert(EasyMock.eq("test4"), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn("test4").times(2);
+        conversionService.convert("test", String.class);
+        EasyMock.expectLastCall().andReturn("test").times(2);
+        monitor.getRecorder(delegation);
+        EasyMock.expectLastCall().andReturn(recorder);
+        for (final Phase phase : Phase.values()) {
+            recorder.record(EasyMock.eq(phase), EasyMock.geq(0L));
+            EasyMock.expectLastCall().times(2);
+        }
+        EasyMock.replay(beanContainer, conversionService, delegation, monitor, recorder);
+
+        final DelegationPlan delegationPlan = new DelegationPlan(delegation);
+        Assert.assertEquals("test4", delegationExecutor.execute(delegationPlan, new Object[] { "test", 4 }));
+        Assert.assertEquals("test4", delegationExecutor.execute(delegationPlan, new Object[] { "test", 4 }));
+        Assert.assertSame(recorder, delegationPlan.getRecorder());
+        EasyMock.verify(monitor, recorder);
+    }
+
+    @Test
+    public void targetResolvedOnce() throws Throwable {
+        mockDelegation(Delegator.class.getMethod("concat", new Class<?>[] { String.class, int.class }), String.class,
+                String.class.getMethod("concat", new Class<?>[] { String.class }), null);
+        beanContainer.containsBean(String.class);
+        EasyMock.expectLastCall().andReturn(false);
+        conversionService.convert(EasyMock.eq(4), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn("4").times(2);
+        conversionService.convert(EasyMock.eq("test4"), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn("test4").times(2);
+        conversionService.convert("test", String.class);
+        EasyMock.expectLastCall().andReturn("test").times(2);
         EasyMock.replay(beanContainer, conversionService, delegation);
 
-        Assert.assertEquals("test4", delegationExecutor.execute(delegation, new Object[] { "test", 4 }));
+        final DelegationPlan delegationPlan = new DelegationPlan(delegation);
+        Assert.assertEquals("test4", delegationExecutor.execute(delegationPlan, new Object[] { "test", 4 }));
+        Assert.assertEquals("test4", delegationExecutor.execute(delegationPlan, new Object[] { "test", 4 }));
     }
 
     @Test(expected = IllegalArgumentException.class)
     public void domainDelegationExecuteWithZeroParameters() throws Throwable {
-        delegation.getDelegateeType();
-        EasyMock.expectLastCall().andReturn(String.class);
-        delegation.getDelegateeMethod();
-        EasyMock.expectLastCall().andReturn(String.class.getMethod("length", new Class<?>[0]));
-        delegation.getDelegateeName();
-        EasyMock.expectLastCall().andReturn(null);
+        mockDelegation(Delegator.class.getMethod("concat", new Class<?>[] { String.class, int.class }), String.class,
+                String.class.getMethod("length", new Class<?>[0]), null);
         beanContainer.containsBean(String.class);
         EasyMock.expectLastCall().andReturn(false);
         EasyMock.replay(beanContainer, conversionService, delegation);
 
-        Assert.assertEquals("4", delegationExecutor.execute(delegation, new Object[0]));
+        Assert.assertEquals("4", execute(new Object[0]));
     }
 
     @Test(expected = IllegalArgumentException.class)
     public void domainDelegationExecuteWithNullParameter() throws Throwable {
-        delegation.getDelegateeType();
-        EasyMock.expectLastCall().andReturn(String.class);
-        delegation.getDelegateeMethod();
-        EasyMock.expectLastCall().andReturn(String.class.getMethod("length", new Class<?>[0]));
-        delegation.getDelegateeName();
-        EasyMock.expectLastCall().andReturn(null);
+        mockDelegation(Delegator.class.getMethod("concat", new Class<?>[] { String.class, int.class }), String.class,
+                String.class.getMethod("length", new Class<?>[0]), null);
         beanContainer.containsBean(String.class);
         EasyMock.expectLastCall().andReturn(false);
         EasyMock.replay(beanContainer, conversionService, delegation);
 
-        Assert.assertEquals("4", delegationExecutor.execute(delegation, new Object[] { null }));
+        Assert.assertEquals("4", execute(new Object[] { null }));
     }
 
     @Test(expected = IllegalArgumentException.class)
     public void beanDelegationExecuteWithLessParameters() throws Throwable {
-        final Delegatee delegatee = EasyMock.createMock(Delegatee.class);
-
-        delegation.getDelegateeType();
-        EasyMock.expectLastCall().andReturn(Delegatee.class).times(2);
-        delegation.getDelegateeMethod();
-        EasyMock.expectLastCall().andReturn(Delegatee.class.getMethod("length", new Class<?>[] { String.class }))
-                .times(2);
-        delegation.getDelegateeName();
-        EasyMock.expectLastCall().andReturn(null);
+        mockDelegation(Object.class.getMethod("toString", new Class<?>[0]), Delegatee.class,
+                Delegatee.class.getMethod("length", new Class<?>[] { String.class }), null);
         beanContainer.containsBean(Delegatee.class);
         EasyMock.expectLastCall().andReturn(true);
-        beanContainer.getBean(Delegatee.class);
-        EasyMock.expectLastCall().andReturn(delegatee);
-        delegation.getArgumentProviders();
-        EasyMock.expectLastCall().andReturn(new ArgumentProvider[0]);
-        delegation.getDelegatorType();
-        EasyMock.expectLastCall().andReturn(Object.class);
-        delegation.getDelegatorMethod();
-        EasyMock.expectLastCall().andReturn(Object.class.getMethod("toString", new Class<?>[0]));
         EasyMock.replay(beanContainer, conversionService, delegation);
 
-        delegationExecutor.execute(delegation, new Object[0]);
+        execute(new Object[0]);
     }
 
     @Test
@@ -123,39 +174,78 @@ public class DelegationExecutorTest {
         final Delegatee delegatee = EasyMock.createMock(Delegatee.class);
 
         mockBeanDelegation(delegatee);
-        delegation.getDelegatorType();
-        EasyMock.expectLastCall().andReturn(Delegator.class);
-        delegation.getDelegatorMethod();
-        EasyMock.expectLastCall().andReturn(Delegator.class.getMethod("length", new Class<?>[] { String.class }));
         delegatee.length("test");
         EasyMock.replay(beanContainer, conversionService, delegation, delegatee);
 
-        delegationExecutor.execute(delegation, new Object[] { "test" });
+        execute(new Object[] { "test" });
     }
 
     private void mockBeanDelegation(final Delegatee delegatee) throws NoSuchMethodException {
-        delegation.getDelegateeType();
-        EasyMock.expectLastCall().andReturn(Delegatee.class).times(2);
-        delegation.getDelegateeMethod();
-        EasyMock.expectLastCall().andReturn(Delegatee.class.getMethod("length", new Class<?>[] { String.class }))
-                .times(2);
-        delegation.getDelegateeName();
-        EasyMock.expectLastCall().andReturn(null);
-        delegation.getDelegatorType();
-        EasyMock.expectLastCall().andReturn(Delegator.class);
-        delegation.getDelegatorMethod();
-        EasyMock.expectLastCall().andReturn(Delegator.class.getMethod("length", new Class<?>[] { String.class }));
+        mockDelegation(Delegator.class.getMethod("length", new Class<?>[] { String.class }), Delegatee.class,
+                Delegatee.class.getMethod("length", new Class<?>[] { String.class }), null);
         beanContainer.containsBean(Delegatee.class);
         EasyMock.expectLastCall().andReturn(true);
+        beanContainer.isSingleton(Delegatee.class);
+        EasyMock.expectLastCall().andReturn(false);
         beanContainer.getBean(Delegatee.class);
         EasyMock.expectLastCall().andReturn(delegatee);
+        conversionService.convert(EasyMock.eq("test"), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn("test");
         conversionService.convert(delegatee, Delegatee.class);
         EasyMock.expectLastCall().andReturn(delegatee);
-        delegation.getArgumentProviders();
-        EasyMock.expectLastCall().andReturn(new ArgumentProvider[0]);
+    }
+
+    @Test
+    public void singletonBeanDelegationExecute() throws Throwable {
+        final Delegatee delegatee = EasyMock.createMock(Delegatee.class);
+
+        mockDelegation(Delegator.class.getMethod("length", new Class<?>[] { String.class }), Delegatee.class,
+                Delegatee.class.getMethod("length", new Class<?>[] { String.class }), null);
+        beanContainer.containsBean(Delegatee.class);
+        EasyMock.expectLastCall().andReturn(true);
+        beanContainer.isSingleton(Delegatee.class);
+        EasyMock.expectLastCall().andReturn(true);
+        beanContainer.getBean(Delegatee.class);
+        EasyMock.expectLastCall().andReturn(delegatee);
         conversionService.convert(EasyMock.eq("test"), EasyMock.isA(TypeDescriptor.class),
                 EasyMock.isA(TypeDescriptor.class));
-        EasyMock.expectLastCall().andReturn("test");
+        EasyMock.expectLastCall().andReturn("test").times(2);
+        delegatee.length("test");
+        EasyMock.expectLastCall().times(2);
+        conversionService.convert(delegatee, Delegatee.class);
+        EasyMock.expectLastCall().andReturn(delegatee).times(2);
+        EasyMock.replay(beanContainer, conversionService, delegation, delegatee);
+
+        final DelegationPlan delegationPlan = new DelegationPlan(delegation);
+        delegationExecutor.execute(delegationPlan, new Object[] { "test" });
+        delegationExecutor.execute(delegationPlan, new Object[] { "test" });
+        EasyMock.verify(delegatee);
+    }
+
+    @Test
+    public void prototypeBeanDelegationExecute() throws Throwable {
+        final Delegatee delegatee = EasyMock.createMock(Delegatee.class);
+
+        mockDelegation(Delegator.class.getMethod("length", new Class<?>[] { String.class }), Delegatee.class,
+                Delegatee.class.getMethod("length", new Class<?>[] { String.class }), "delegatee");
+        beanContainer.isSingleton("delegatee");
+        EasyMock.expectLastCall().andReturn(false);
+        beanContainer.getBean("delegatee", Delegatee.class);
+        EasyMock.expectLastCall().andReturn(delegatee).times(2);
+        conversionService.convert(EasyMock.eq("test"), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn("test").times(2);
+        delegatee.length("test");
+        EasyMock.expectLastCall().times(2);
+        conversionService.convert(delegatee, Delegatee.class);
+        EasyMock.expectLastCall().andReturn(delegatee).times(2);
+        EasyMock.replay(beanContainer, conversionService, delegation, delegatee);
+
+        final DelegationPlan delegationPlan = new DelegationPlan(delegation);
+        delegationExecutor.execute(delegationPlan, new Object[] { "test" });
+        delegationExecutor.execute(delegationPlan, new Object[] { "test" });
+        EasyMock.verify(delegatee);
     }
 
     @Test
@@ -164,18 +254,12 @@ public class DelegationExecutorTest {
         final ArgumentProvider argumentProvider = EasyMock.createMock(ArgumentProvider.class);
         final Object[] arguments = new Object[] { "test" };
 
-        delegation.getDelegateeType();
-        EasyMock.expectLastCall().andReturn(Delegatee.class);
-        delegation.getDelegateeMethod();
-        EasyMock.expectLastCall().andReturn(Delegatee.class.getMethod("echo", new Class<?>[] { String.class }));
-        delegation.getDelegateeName();
-        EasyMock.expectLastCall().andReturn("delegatee");
+        mockDelegation(Delegator.class.getMethod("length", new Class<?>[] { String.class }), Delegatee.class,
+                Delegatee.class.getMethod("echo", new Class<?>[] { String.class }), "delegatee", argumentProvider);
+        beanContainer.isSingleton("delegatee");
+        EasyMock.expectLastCall().andReturn(false);
         beanContainer.getBean("delegatee", Delegatee.class);
         EasyMock.expectLastCall().andReturn(delegatee);
-        conversionService.convert(delegatee, Delegatee.class);
-        EasyMock.expectLastCall().andReturn(delegatee);
-        delegation.getArgumentProviders();
-        EasyMock.expectLastCall().andReturn(new ArgumentProvider[] { argumentProvider });
         argumentProvider.get(arguments);
         EasyMock.expectLastCall().andReturn("test");
         conversionService.convert(EasyMock.eq("test"), EasyMock.isA(TypeDescriptor.class),
@@ -183,13 +267,11 @@ public class DelegationExecutorTest {
         EasyMock.expectLastCall().andReturn("test");
         delegatee.echo("test");
         EasyMock.expectLastCall().andReturn(null);
-        delegation.getDelegatorType();
-        EasyMock.expectLastCall().andReturn(Delegator.class);
-        delegation.getDelegatorMethod();
-        EasyMock.expectLastCall().andReturn(Delegator.class.getMethod("length", new Class<?>[] { String.class }));
+        conversionService.convert(delegatee, Delegatee.class);
+        EasyMock.expectLastCall().andReturn(delegatee);
         EasyMock.replay(beanContainer, conversionService, delegation, delegatee, argumentProvider);
 
-        Assert.assertEquals(0, delegationExecutor.execute(delegation, arguments));
+        Assert.assertEquals(0, execute(arguments));
     }
 
     @Test(expected = IllegalStateException.class)
@@ -201,11 +283,9 @@ public class DelegationExecutorTest {
         EasyMock.expectLastCall().andThrow(new IllegalStateException());
         delegation.getExceptionType(IllegalStateException.class);
         EasyMock.expectLastCall().andReturn(null);
-        delegation.getDelegatorMethod();
-        EasyMock.expectLastCall().andReturn(Delegator.class.getMethod("length", new Class<?>[] { String.class }));
         EasyMock.replay(beanContainer, conversionService, delegation, delegatee);
 
-        delegationExecutor.execute(delegation, new Object[] { "test" });
+        execute(new Object[] { "test" });
     }
 
     @Test(expected = DelegateException.class)
@@ -219,13 +299,11 @@ public class DelegationExecutorTest {
         delegation
                 .getExceptionType(org.polyforms.delegation.support.DelegationExecutorTest.Delegatee.DelegateException.class);
         EasyMock.expectLastCall().andReturn(null);
-        delegation.getDelegatorMethod();
-        EasyMock.expectLastCall().andReturn(Delegator.class.getMethod("length", new Class<?>[] { String.class }));
         conversionService.convert(delegatorException, DelegateException.class);
         EasyMock.expectLastCall().andReturn(new DelegateException());
         EasyMock.replay(beanContainer, conversionService, delegation, delegatee);
 
-        delegationExecutor.execute(delegation, new Object[] { "test" });
+        execute(new Object[] { "test" });
     }
 
     @Test(expected = DelegateException.class)
@@ -242,12 +320,243 @@ public class DelegationExecutorTest {
         EasyMock.expectLastCall().andReturn(new DelegateException());
         EasyMock.replay(beanContainer, conversionService, delegation, delegatee);
 
-        delegationExecutor.execute(delegation, new Object[] { "test" });
+        execute(new Object[] { "test" });
+    }
+
+    @Test
+    public void asyncDelegationExecute() throws Throwable {
+        mockDelegation(true, Delegator.class.getMethod("asyncLength", new Class<?>[] { String.class }), String.class,
+                String.class.getMethod("length", new Class<?>[0]), null);
+        beanContainer.containsBean(String.class);
+        EasyMock.expectLastCall().andReturn(false);
+        beanContainer.isSingleton(Executor.class);
+        EasyMock.expectLastCall().andReturn(true);
+        beanContainer.getBean(Executor.class);
+        EasyMock.expectLastCall().andReturn(new Executor() {
+            public void execute(final Runnable command) {
+                command.run();
+            }
+        });
+        conversionService.convert(EasyMock.eq(4), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn(4);
+        conversionService.convert("test", String.class);
+        EasyMock.expectLastCall().andReturn("test");
+        EasyMock.replay(beanContainer, conversionService, delegation);
+
+        final Future<?> future = (Future<?>) execute(new Object[] { "test" });
+        Assert.assertEquals(4, future.get());
+    }
+
+    @Test
+    public void asyncDelegationExecuteWithMappedException() throws Throwable {
+        final Delegatee delegatee = EasyMock.createMock(Delegatee.class);
+        final MockException mockException = new MockException();
+
+        mockDelegation(true, Delegator.class.getMethod("asyncLength", new Class<?>[] { String.class }),
+                Delegatee.class, Delegatee.class.getMethod("length", new Class<?>[] { String.class }), null);
+        beanContainer.containsBean(Delegatee.class);
+        EasyMock.expectLastCall().andReturn(true);
+        beanContainer.isSingleton(Delegatee.class);
+        EasyMock.expectLastCall().andReturn(true);
+        beanContainer.getBean(Delegatee.class);
+        EasyMock.expectLastCall().andReturn(delegatee);
+        beanContainer.isSingleton(Executor.class);
+        EasyMock.expectLastCall().andReturn(false);
+        conversionService.convert(EasyMock.eq("test"), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn("test");
+        delegatee.length("test");
+        EasyMock.expectLastCall().andThrow(mockException);
+        delegation.getExceptionType(MockException.class);
+        EasyMock.expectLastCall().andReturn(DelegateException.class);
+        conversionService.convert(mockException, DelegateException.class);
+        EasyMock.expectLastCall().andReturn(new DelegateException());
+        conversionService.convert(delegatee, Delegatee.class);
+        EasyMock.expectLastCall().andReturn(delegatee);
+        EasyMock.replay(beanContainer, conversionService, delegation, delegatee);
+
+        final Future<?> future = (Future<?>) execute(new Object[] { "test" });
+        try {
+            future.get();
+            Assert.fail("ExecutionException should be thrown.");
+        } catch (final ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof DelegateException);
+        }
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void destroyDefaultPool() throws Throwable {
+        mockDelegation(true, Delegator.class.getMethod("asyncLength", new Class<?>[] { String.class }), String.class,
+                String.class.getMethod("length", new Class<?>[0]), null);
+        beanContainer.containsBean(String.class);
+        EasyMock.expectLastCall().andReturn(false);
+        beanContainer.isSingleton(Executor.class);
+        EasyMock.expectLastCall().andReturn(false);
+        conversionService.convert(EasyMock.eq(4), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn(4);
+        conversionService.convert("test", String.class);
+        EasyMock.expectLastCall().andReturn("test");
+        EasyMock.replay(beanContainer, conversionService, delegation);
+
+        final DelegationPlan delegationPlan = new DelegationPlan(delegation);
+        Assert.assertEquals(4, ((Future<?>) delegationExecutor.execute(delegationPlan, new Object[] { "test" })).get());
+        delegationExecutor.destroy();
+        delegationExecutor.execute(delegationPlan, new Object[] { "test" });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void asyncDelegationMustReturnFuture() throws Throwable {
+        mockDelegation(true, Delegator.class.getMethod("length", new Class<?>[] { String.class }), String.class,
+                String.class.getMethod("length", new Class<?>[0]), null);
+        EasyMock.replay(beanContainer, conversionService, delegation);
+
+        new DelegationPlan(delegation);
+    }
+
+    @Test
+    public void sequentialBatchDelegationExecute() throws Throwable {
+        mockDelegation(Batch.SEQUENTIAL, Delegator.class.getMethod("batchLength", new Class<?>[] { List.class }),
+                String.class, String.class.getMethod("length", new Class<?>[0]), null);
+        beanContainer.containsBean(String.class);
+        EasyMock.expectLastCall().andReturn(false);
+        mockLengthConversions();
+        EasyMock.replay(beanContainer, conversionService, delegation);
+
+        Assert.assertEquals(Arrays.asList(new Integer[] { 4, 5 }),
+                execute(new Object[] { Arrays.asList(new String[] { "test", "tests" }) }));
+    }
+
+    @Test
+    public void parallelBatchDelegationExecute() throws Throwable {
+        mockDelegation(Batch.PARALLEL, Delegator.class.getMethod("batchLength", new Class<?>[] { List.class }),
+                String.class, String.class.getMethod("length", new Class<?>[0]), null);
+        beanContainer.containsBean(String.class);
+        EasyMock.expectLastCall().andReturn(false);
+        beanContainer.isSingleton(Executor.class);
+        EasyMock.expectLastCall().andReturn(true);
+        beanContainer.getBean(Executor.class);
+        EasyMock.expectLastCall().andReturn(new Executor() {
+            public void execute(final Runnable command) {
+                command.run();
+            }
+        });
+        mockLengthConversions();
+        EasyMock.replay(beanContainer, conversionService, delegation);
+
+        Assert.assertEquals(Arrays.asList(new Integer[] { 4, 5 }),
+                execute(new Object[] { Arrays.asList(new String[] { "test", "tests" }) }));
+    }
+
+    private void mockLengthConversions() {
+        conversionService.convert("test", String.class);
+        EasyMock.expectLastCall().andReturn("test");
+        conversionService.convert("tests", String.class);
+        EasyMock.expectLastCall().andReturn("tests");
+        conversionService.convert(EasyMock.eq(4), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn(4);
+        conversionService.convert(EasyMock.eq(5), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn(5);
+    }
+
+    @Test(expected = DelegateException.class)
+    public void parallelBatchDelegationExecuteWithMappedException() throws Throwable {
+        final Delegatee delegatee = EasyMock.createMock(Delegatee.class);
+        final MockException mockException = new MockException();
+
+        mockDelegation(Batch.PARALLEL, Delegator.class.getMethod("batchVoid", new Class<?>[] { String[].class }),
+                Delegatee.class, Delegatee.class.getMethod("length", new Class<?>[] { String.class }), null);
+        beanContainer.containsBean(Delegatee.class);
+        EasyMock.expectLastCall().andReturn(true);
+        beanContainer.isSingleton(Delegatee.class);
+        EasyMock.expectLastCall().andReturn(true);
+        beanContainer.getBean(Delegatee.class);
+        EasyMock.expectLastCall().andReturn(delegatee);
+        beanContainer.isSingleton(Executor.class);
+        EasyMock.expectLastCall().andReturn(false);
+        conversionService.convert(EasyMock.eq("test"), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn("test");
+        delegatee.length("test");
+        EasyMock.expectLastCall().andThrow(mockException);
+        delegation.getExceptionType(MockException.class);
+        EasyMock.expectLastCall().andReturn(DelegateException.class);
+        conversionService.convert(mockException, DelegateException.class);
+        EasyMock.expectLastCall().andReturn(new DelegateException());
+        conversionService.convert(delegatee, Delegatee.class);
+        EasyMock.expectLastCall().andReturn(delegatee);
+        EasyMock.replay(beanContainer, conversionService, delegation, delegatee);
+
+        execute(new Object[] { new String[] { "test" } });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void batchDelegationExecuteWithNullArgument() throws Throwable {
+        mockDelegation(Batch.SEQUENTIAL, Delegator.class.getMethod("batchLength", new Class<?>[] { List.class }),
+                String.class, String.class.getMethod("length", new Class<?>[0]), null);
+        beanContainer.containsBean(String.class);
+        EasyMock.expectLastCall().andReturn(false);
+        EasyMock.replay(beanContainer, conversionService, delegation);
+
+        execute(new Object[] { null });
+    }
+
+    private void mockDelegation(final Method delegatorMethod, final Class<?> delegateeType,
+            final Method delegateeMethod, final String delegateeName, final ArgumentProvider... argumentProviders) {
+        mockDelegation(false, delegatorMethod, delegateeType, delegateeMethod, delegateeName, argumentProviders);
+    }
+
+    private void mockDelegation(final boolean async, final Method delegatorMethod, final Class<?> delegateeType,
+            final Method delegateeMethod, final String delegateeName, final ArgumentProvider... argumentProviders) {
+        mockDelegation(async, Batch.NONE, delegatorMethod, delegateeType, delegateeMethod, delegateeName,
+                argumentProviders);
+    }
+
+    private void mockDelegation(final Batch batch, final Method delegatorMethod, final Class<?> delegateeType,
+            final Method delegateeMethod, final String delegateeName, final ArgumentProvider... argumentProviders) {
+        mockDelegation(false, batch, delegatorMethod, delegateeType, delegateeMethod, delegateeName,
+                argumentProviders);
+    }
+
+    private void mockDelegation(final boolean async, final Batch batch, final Method delegatorMethod,
+            final Class<?> delegateeType, final Method delegateeMethod, final String delegateeName,
+            final ArgumentProvider... argumentProviders) {
+        beanContainer.isSingleton(DelegationMonitor.class);
+        EasyMock.expectLastCall().andReturn(false).anyTimes();
+        delegation.isAsync();
+        EasyMock.expectLastCall().andReturn(async);
+        delegation.getBatch();
+        EasyMock.expectLastCall().andReturn(batch);
+        delegation.getDelegatorType();
+        EasyMock.expectLastCall().andReturn(delegatorMethod.getDeclaringClass());
+        delegation.getDelegatorMethod();
+        EasyMock.expectLastCall().andReturn(delegatorMethod);
+        delegation.getDelegateeType();
+        EasyMock.expectLastCall().andReturn(delegateeType);
+        delegation.getDelegateeMethod();
+        EasyMock.expectLastCall().andReturn(delegateeMethod);
+        delegation.getDelegateeName();
+        EasyMock.expectLastCall().andReturn(delegateeName);
+        delegation.getArgumentProviders();
+        EasyMock.expectLastCall().andReturn(argumentProviders);
+    }
+
+    private Object execute(final Object[] arguments) throws Throwable {
+        return delegationExecutor.execute(new DelegationPlan(delegation), arguments);
     }
 
     public interface Delegator {
         int length(String string) throws DelegateException;
 
+        Future<Integer> asyncLength(String string) throws DelegateException;
+
+        List<Integer> batchLength(List<String> strings);
+
+        void batchVoid(String[] strings) throws DelegateException;
+
         String concat(String string, int number);
 
         @SuppressWarnings("serial")
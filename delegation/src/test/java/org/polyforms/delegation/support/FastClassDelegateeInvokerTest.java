@@ -0,0 +1,43 @@
+package org.polyforms.delegation.support;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FastClassDelegateeInvokerTest {
+    @Test
+    public void invoke() throws Throwable {
+        final DelegateeInvoker delegateeInvoker = new FastClassDelegateeInvoker(Delegatee.class.getMethod("echo",
+                new Class<?>[] { String.class }));
+        Assert.assertEquals("test", delegateeInvoker.invoke(new DelegateeImpl(), new Object[] { "test" }));
+    }
+
+    @Test
+    public void invokeWithException() throws Throwable {
+        final DelegateeInvoker delegateeInvoker = new FastClassDelegateeInvoker(Delegatee.class.getMethod("fail",
+                new Class<?>[0]));
+        try {
+            delegateeInvoker.invoke(new DelegateeImpl(), new Object[0]);
+            Assert.fail("InvocationTargetException should be thrown.");
+        } catch (final InvocationTargetException e) {
+            Assert.assertTrue(e.getTargetException() instanceof IllegalStateException);
+        }
+    }
+
+    public interface Delegatee {
+        String echo(String string);
+
+        void fail();
+    }
+
+    public static class DelegateeImpl implements Delegatee {
+        public String echo(final String string) {
+            return string;
+        }
+
+        public void fail() {
+            throw new IllegalStateException();
+        }
+    }
+}
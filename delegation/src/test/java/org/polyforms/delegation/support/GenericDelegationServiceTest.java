@@ -1,6 +1,13 @@
 package org.polyforms.delegation.support;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import junit.framework.Assert;
 
@@ -8,7 +15,7 @@ import org.easymock.EasyMock;
 import org.junit.Before;
 import org.junit.Test;
 import org.polyforms.delegation.DelegationService;
-import org.polyforms.delegation.builder.Delegation;
+import org.polyforms.delegation.monitor.DelegationRecorder;
 
 public class GenericDelegationServiceTest {
     private Method method;
@@ -80,18 +87,119 @@ public class GenericDelegationServiceTest {
     public void delegate() throws Throwable {
         final Object returnValue = new Object();
         final Object[] arguments = new Object[0];
-        final Delegation delegation = EasyMock.createMock(Delegation.class);
+        final DelegationPlan delegationPlan = EasyMock.createMock(DelegationPlan.class);
 
         final Delegator delegator = new Delegator(String.class, method);
         delegationResolver.supports(delegator);
         EasyMock.expectLastCall().andReturn(true);
         delegationResolver.get(delegator);
-        EasyMock.expectLastCall().andReturn(delegation);
-        delegationExecutor.execute(delegation, arguments);
+        EasyMock.expectLastCall().andReturn(delegationPlan);
+        delegationExecutor.getRecorder(delegationPlan);
+        EasyMock.expectLastCall().andReturn(null);
+        delegationExecutor.execute(delegationPlan, arguments);
         EasyMock.expectLastCall().andReturn(returnValue);
         EasyMock.replay(delegationResolver, delegationExecutor);
 
         Assert.assertSame(returnValue, delegationService.delegate(String.class, method, arguments));
         EasyMock.verify(delegationResolver, delegationExecutor);
     }
+
+    @Test
+    public void delegateMonitored() throws Throwable {
+        final Object returnValue = new Object();
+        final Object[] arguments = new Object[0];
+        final DelegationPlan delegationPlan = EasyMock.createMock(DelegationPlan.class);
+        final DelegationRecorder recorder = EasyMock.createMock(DelegationRecorder.class);
+
+        final Delegator delegator = new Delegator(String.class, method);
+        delegationResolver.supports(delegator);
+        EasyMock.expectLastCall().andReturn(true);
+        delegationResolver.get(delegator);
+        EasyMock.expectLastCall().andReturn(delegationPlan).times(2);
+        delegationExecutor.getRecorder(delegationPlan);
+        EasyMock.expectLastCall().andReturn(recorder).times(2);
+        delegationExecutor.execute(delegationPlan, arguments);
+        EasyMock.expectLastCall().andReturn(returnValue);
+        delegationExecutor.execute(delegationPlan, arguments);
+        EasyMock.expectLastCall().andThrow(new IllegalStateException());
+        recorder.recordCall(EasyMock.geq(0L), EasyMock.eq(false));
+        recorder.recordCall(EasyMock.geq(0L), EasyMock.eq(true));
+        EasyMock.replay(delegationResolver, delegationExecutor, recorder);
+
+        Assert.assertSame(returnValue, delegationService.delegate(String.class, method, arguments));
+        try {
+            delegationService.delegate(String.class, method, arguments);
+            Assert.fail();
+        } catch (final IllegalStateException e) {
+            // expected
+        }
+        EasyMock.verify(delegationResolver, delegationExecutor, recorder);
+    }
+
+    @Test
+    public void concurrentDelegate() throws Exception {
+        final Method[] methods = Object.class.getMethods();
+        final DelegationPlan delegationPlan = EasyMock.createMock(DelegationPlan.class);
+        final DelegationService concurrentDelegationService = new GenericDelegationService(new DelegationExecutor(
+                null, null) {
+            @Override
+            protected Object execute(final DelegationPlan plan, final Object... arguments) {
+                return plan;
+            }
+
+            @Override
+            protected DelegationRecorder getRecorder(final DelegationPlan plan) {
+                return null;
+            }
+        }, new DelegationResolver() {
+            public DelegationPlan get(final Delegator delegator) {
+                return delegator.getMethod().getName().startsWith("wait") ? null : delegationPlan;
+            }
+
+            public boolean supports(final Delegator delegator) {
+                return !delegator.getMethod().getName().startsWith("wait");
+            }
+        });
+
+        final int threads = Runtime.getRuntime().availableProcessors() * 4;
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        final List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executorService.submit(new Callable<Integer>() {
+                    public Integer call() throws Exception {
+                        startLatch.await();
+                        int supported = 0;
+                        for (int i = 0; i < 10000; i++) {
+                            final Method method = methods[i % methods.length];
+                            if (concurrentDelegationService.supports(String.class, method)) {
+                                Assert.assertSame(delegationPlan, delegate(concurrentDelegationService, method));
+                                supported++;
+                            }
+                        }
+                        return supported;
+                    }
+                }));
+            }
+            startLatch.countDown();
+
+            final Integer expected = futures.get(0).get();
+            for (final Future<Integer> future : futures) {
+                Assert.assertEquals(expected, future.get());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private Object delegate(final DelegationService delegationService, final Method method) throws Exception {
+        try {
+            return delegationService.delegate(String.class, method);
+        } catch (final Exception e) {
+            throw e;
+        } catch (final Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -6,6 +6,8 @@ import org.easymock.EasyMock;
 import org.junit.Before;
 import org.junit.Test;
 import org.polyforms.delegation.builder.Delegation;
+import org.polyforms.delegation.builder.Delegation.Batch;
+import org.polyforms.parameter.ArgumentProvider;
 
 public class SimpleDelegationRegistryTest {
     private SimpleDelegationRegistry delegationRegistry;
@@ -17,9 +19,21 @@ public class SimpleDelegationRegistryTest {
         delegation = EasyMock.createMock(Delegation.class);
 
         delegation.getDelegatorType();
-        EasyMock.expectLastCall().andReturn(String.class);
+        EasyMock.expectLastCall().andReturn(String.class).times(2);
         delegation.getDelegatorMethod();
-        EasyMock.expectLastCall().andReturn(String.class.getMethod("toString", new Class<?>[0]));
+        EasyMock.expectLastCall().andReturn(String.class.getMethod("toString", new Class<?>[0])).times(2);
+        delegation.getDelegateeType();
+        EasyMock.expectLastCall().andReturn(String.class);
+        delegation.getDelegateeMethod();
+        EasyMock.expectLastCall().andReturn(String.class.getMethod("toString", new Class<?>[0])).times(2);
+        delegation.getDelegateeName();
+        EasyMock.expectLastCall().andReturn(null);
+        delegation.getArgumentProviders();
+        EasyMock.expectLastCall().andReturn(new ArgumentProvider[0]);
+        delegation.isAsync();
+        EasyMock.expectLastCall().andReturn(false);
+        delegation.getBatch();
+        EasyMock.expectLastCall().andReturn(Batch.NONE);
         EasyMock.replay(delegation);
 
         delegationRegistry.register(delegation);
@@ -40,6 +54,34 @@ public class SimpleDelegationRegistryTest {
     @Test
     public void get() throws NoSuchMethodException {
         Assert.assertSame(delegation, delegationRegistry.get(new Delegator(String.class, String.class.getMethod(
-                "toString", new Class<?>[0]))));
+                "toString", new Class<?>[0]))).getDelegation());
+    }
+
+    @Test
+    public void generatedInvocation() throws Throwable {
+        final DelegateeInvoker delegateeInvoker = SimpleDelegationRegistry.Invocation.GENERATED
+                .createInvoker(String.class.getMethod("concat", new Class<?>[] { String.class }));
+        Assert.assertTrue(delegateeInvoker instanceof FastClassDelegateeInvoker);
+        Assert.assertEquals("ab", delegateeInvoker.invoke("a", new Object[] { "b" }));
+    }
+
+    @Test
+    public void generatedInvocationFallsBackToReflection() throws Throwable {
+        final DelegateeInvoker delegateeInvoker = SimpleDelegationRegistry.Invocation.GENERATED
+                .createInvoker(Object.class.getDeclaredMethod("clone", new Class<?>[0]));
+        Assert.assertTrue(delegateeInvoker instanceof ReflectiveDelegateeInvoker);
+    }
+
+    @Test
+    public void reflectionInvocation() throws Throwable {
+        final DelegateeInvoker delegateeInvoker = SimpleDelegationRegistry.Invocation.REFLECTION
+                .createInvoker(String.class.getMethod("concat", new Class<?>[] { String.class }));
+        Assert.assertTrue(delegateeInvoker instanceof ReflectiveDelegateeInvoker);
+        Assert.assertEquals("ab", delegateeInvoker.invoke("a", new Object[] { "b" }));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setNullInvocation() {
+        delegationRegistry.setInvocation(null);
     }
 }
@@ -1,6 +1,8 @@
 package org.polyforms.delegation.util;
 
 import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -93,6 +95,35 @@ public class MethodUtilsTest {
         MethodUtils.findMostSpecificMethod(MockInterface.class, "echo");
     }
 
+    @Test
+    public void getElementTypeOfCollection() throws Exception {
+        Assert.assertEquals(String.class, MethodUtils.getElementType(
+                BatchInterface.class.getMethod("batch", new Class<?>[] { List.class, Set.class, int[].class }), 0));
+    }
+
+    @Test
+    public void getElementTypeOfRawCollection() throws Exception {
+        Assert.assertEquals(Object.class, MethodUtils.getElementType(
+                BatchInterface.class.getMethod("batch", new Class<?>[] { List.class, Set.class, int[].class }), 1));
+    }
+
+    @Test
+    public void getElementTypeOfArray() throws Exception {
+        Assert.assertEquals(int.class, MethodUtils.getElementType(
+                BatchInterface.class.getMethod("batch", new Class<?>[] { List.class, Set.class, int[].class }), 2));
+    }
+
+    @Test
+    public void getElementTypeOfNonCollection() throws Exception {
+        Assert.assertNull(MethodUtils.getElementType(
+                MockInterface.class.getMethod("echo", new Class<?>[] { String.class }), 0));
+    }
+
+    private static interface BatchInterface {
+        @SuppressWarnings("rawtypes")
+        void batch(List<String> strings, Set objects, int[] numbers);
+    }
+
     private static interface GenericInterface<T> {
         T genericEcho(T object);
     }
@@ -0,0 +1,24 @@
+package org.polyforms.event;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation used to mark the parameter of an asynchronous subscriber method whose argument is the key of event.
+ * 
+ * Events with equal keys are passed to the subscriber in order of publishing, while events with different keys may be
+ * passed in parallel. The argument is mapped from arguments of publisher as other parameters, so
+ * {@link org.polyforms.parameter.annotation.Named} or {@link org.polyforms.parameter.annotation.At} can be used
+ * together to locate the argument of publisher.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+@Documented
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PartitionKey {
+}
@@ -25,4 +25,25 @@ public @interface Subscriber {
      * Whether subscribing the event asynchronized.
      */
     boolean async() default false;
+
+    /**
+     * Maximum number of events delivered in one batch, 0 by default. If either the size or the window of batch is
+     * positive, the subscriber method receives events in batch by its only parameter of type {@link java.util.List},
+     * with elements mapped from arguments of each event.
+     */
+    int batchSize() default 0;
+
+    /**
+     * Maximum milliseconds an event waits before its batch is delivered, 0 by default. The batch of an asynchronous
+     * subscriber is delivered by the asynchronous dispatcher once the window elapses, while the batch of a synchronous
+     * subscriber is delivered by the thread publishing the next event after the window elapses, or at the end of the
+     * transaction publishing the events.
+     */
+    long batchWindow() default 0;
+
+    /**
+     * Name of the argument of publisher, or <code>returnValue</code>, used to coalesce events in batch. A buffered event
+     * is superseded by a later event with an equal argument. Events are not coalesced by default.
+     */
+    String coalesceBy() default "";
 }
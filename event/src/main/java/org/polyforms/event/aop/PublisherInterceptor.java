@@ -1,83 +1,165 @@
-package org.polyforms.event.aop;
-
-import java.lang.reflect.Method;
-import java.util.Locale;
-
-import org.aopalliance.intercept.MethodInterceptor;
-import org.aopalliance.intercept.MethodInvocation;
-import org.polyforms.event.Publisher;
-import org.polyforms.event.Publisher.When;
-import org.polyforms.event.Publishers;
-import org.polyforms.event.bus.EventBus;
-import org.polyforms.event.bus.support.MethodInvocationEvent;
-import org.polyforms.util.ArrayUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.core.annotation.AnnotationUtils;
-import org.springframework.util.Assert;
-import org.springframework.util.ClassUtils;
-
-/**
- * {@link MethodInterceptor} for methods which annotated by {@link Publisher}.
- * 
- * @author Kuisong Tong
- * @since 1.0
- */
-public class PublisherInterceptor implements MethodInterceptor {
-    private static final Logger LOGGER = LoggerFactory.getLogger(PublisherInterceptor.class);
-    private final EventBus eventBus;
-
-    /**
-     * Create an instance with {@link EventBus}.
-     */
-    public PublisherInterceptor(final EventBus eventBus) {
-        Assert.notNull(eventBus);
-        this.eventBus = eventBus;
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    public Object invoke(final MethodInvocation methodInvocation) throws Throwable {
-        Assert.notNull(methodInvocation);
-
-        final Object target = methodInvocation.getThis();
-        final Method method = methodInvocation.getMethod();
-        final Object[] arguments = methodInvocation.getArguments();
-        process(When.BEFORE, method, arguments, target);
-        final Object returnValue = methodInvocation.proceed();
-
-        process(When.AFTER, method, joinReturnValue(arguments, returnValue), target);
-        return returnValue;
-    }
-
-    private Object[] joinReturnValue(final Object[] arguments, final Object returnValue) {
-        final Object[] newArguments = ArrayUtils.copyOf(arguments, arguments.length + 1);
-        newArguments[arguments.length] = returnValue;
-        return newArguments;
-    }
-
-    private void process(final When when, final Method method, final Object[] args, final Object target) {
-        final Method specificMethod = ClassUtils.getMostSpecificMethod(method, target.getClass());
-        final Publishers publishers = AnnotationUtils.findAnnotation(specificMethod, Publishers.class);
-        if (publishers != null) {
-            for (final Publisher publisher : publishers.value()) {
-                publishEvent(when, method, args, target, specificMethod, publisher);
-            }
-        }
-
-        final Publisher publisher = AnnotationUtils.findAnnotation(specificMethod, Publisher.class);
-        if (publisher != null) {
-            publishEvent(when, method, args, target, specificMethod, publisher);
-        }
-    }
-
-    private void publishEvent(final When when, final Method method, final Object[] args, final Object target,
-            final Method specificMethod, final Publisher annotation) {
-        if (annotation.when() == when) {
-            eventBus.publish(new MethodInvocationEvent(annotation.value(), target.getClass(), specificMethod, args));
-            LOGGER.debug("Publish domain event {} {} invocation of {}.", new Object[] { annotation.value(),
-                    when.name().toLowerCase(Locale.getDefault()), method });
-        }
-    }
-}
+package org.polyforms.event.aop;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.polyforms.event.Publisher;
+import org.polyforms.event.Publisher.When;
+import org.polyforms.event.Publishers;
+import org.polyforms.event.bus.EventBus;
+import org.polyforms.event.bus.ListenerInspector;
+import org.polyforms.event.bus.support.MethodInvocationEvent;
+import org.polyforms.util.ArrayUtils;
+import org.polyforms.util.ClassCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * {@link MethodInterceptor} for methods which annotated by {@link Publisher}.
+ * 
+ * Publishers of method are resolved once for each target class, and events are built only if there are listeners of
+ * them, when the event bus is a {@link ListenerInspector}.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public class PublisherInterceptor implements MethodInterceptor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PublisherInterceptor.class);
+    private static final ClassCache<ConcurrentMap<Method, PublisherMetadata>> METADATA_CACHE =
+            new PublisherMetadataCache();
+    private final EventBus eventBus;
+    private final ListenerInspector listenerInspector;
+
+    /**
+     * Create an instance with {@link EventBus}.
+     */
+    public PublisherInterceptor(final EventBus eventBus) {
+        Assert.notNull(eventBus);
+        this.eventBus = eventBus;
+        listenerInspector = eventBus instanceof ListenerInspector ? (ListenerInspector) eventBus : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Object invoke(final MethodInvocation methodInvocation) throws Throwable {
+        Assert.notNull(methodInvocation);
+
+        final Object target = methodInvocation.getThis();
+        final Method method = methodInvocation.getMethod();
+        final Object[] arguments = methodInvocation.getArguments();
+        final Class<?> targetClass = target.getClass();
+        final PublisherMetadata metadata = getMetadata(targetClass, method);
+        publishEvents(When.BEFORE, metadata.beforeEvents, targetClass, metadata.specificMethod, arguments);
+        final Object returnValue = methodInvocation.proceed();
+
+        if (metadata.afterEvents.length > 0) {
+            publishEvents(When.AFTER, metadata.afterEvents, targetClass, metadata.specificMethod, arguments,
+                    returnValue);
+        }
+        return returnValue;
+    }
+
+    private PublisherMetadata getMetadata(final Class<?> targetClass, final Method method) {
+        final ConcurrentMap<Method, PublisherMetadata> metadatas = METADATA_CACHE.get(targetClass);
+        PublisherMetadata metadata = metadatas.get(method);
+        if (metadata == null) {
+            metadata = new PublisherMetadata(ClassUtils.getMostSpecificMethod(method, targetClass));
+            final PublisherMetadata existingMetadata = metadatas.putIfAbsent(method, metadata);
+            if (existingMetadata != null) {
+                metadata = existingMetadata;
+            }
+        }
+        return metadata;
+    }
+
+    private void publishEvents(final When when, final String[] names, final Class<?> targetClass,
+            final Method method, final Object[] arguments) {
+        for (final String name : names) {
+            if (hasListeners(name)) {
+                publishEvent(when, name, targetClass, method, arguments);
+            }
+        }
+    }
+
+    private void publishEvents(final When when, final String[] names, final Class<?> targetClass,
+            final Method method, final Object[] arguments, final Object returnValue) {
+        Object[] argumentsWithReturnValue = null;
+        for (final String name : names) {
+            if (hasListeners(name)) {
+                if (argumentsWithReturnValue == null) {
+                    argumentsWithReturnValue = joinReturnValue(arguments, returnValue);
+                }
+                publishEvent(when, name, targetClass, method, argumentsWithReturnValue);
+            }
+        }
+    }
+
+    private boolean hasListeners(final String name) {
+        return listenerInspector == null || listenerInspector.hasListeners(name);
+    }
+
+    private Object[] joinReturnValue(final Object[] arguments, final Object returnValue) {
+        final Object[] newArguments = ArrayUtils.copyOf(arguments, arguments.length + 1);
+        newArguments[arguments.length] = returnValue;
+        return newArguments;
+    }
+
+    private void publishEvent(final When when, final String name, final Class<?> targetClass, final Method method,
+            final Object[] arguments) {
+        eventBus.publish(new MethodInvocationEvent(name, targetClass, method, arguments));
+        LOGGER.debug("Publish domain event {} {} invocation of {}.", new Object[] { name,
+                when.name().toLowerCase(Locale.getDefault()), method });
+    }
+
+    private static final class PublisherMetadata {
+        private static final String[] NO_EVENTS = new String[0];
+        private final Method specificMethod;
+        private final String[] beforeEvents;
+        private final String[] afterEvents;
+
+        private PublisherMetadata(final Method specificMethod) {
+            this.specificMethod = specificMethod;
+
+            final List<Publisher> publishers = new ArrayList<Publisher>();
+            final Publishers publishersAnnotation = AnnotationUtils.findAnnotation(specificMethod, Publishers.class);
+            if (publishersAnnotation != null) {
+                publishers.addAll(Arrays.asList(publishersAnnotation.value()));
+            }
+            final Publisher publisher = AnnotationUtils.findAnnotation(specificMethod, Publisher.class);
+            if (publisher != null) {
+                publishers.add(publisher);
+            }
+
+            beforeEvents = getEvents(publishers, When.BEFORE);
+            afterEvents = getEvents(publishers, When.AFTER);
+        }
+
+        private static String[] getEvents(final List<Publisher> publishers, final When when) {
+            final List<String> events = new ArrayList<String>();
+            for (final Publisher publisher : publishers) {
+                if (publisher.when() == when) {
+                    events.add(publisher.value());
+                }
+            }
+            return events.isEmpty() ? NO_EVENTS : events.toArray(new String[events.size()]);
+        }
+    }
+
+    private static final class PublisherMetadataCache extends ClassCache<ConcurrentMap<Method, PublisherMetadata>> {
+        @Override
+        protected ConcurrentMap<Method, PublisherMetadata> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<Method, PublisherMetadata>();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package org.polyforms.event.bus;
+
+import java.util.List;
+
+/**
+ * Event listener receiving buffered events in batch.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public interface BatchListener<E extends Event> {
+    /**
+     * Action when a batch of events is flushed, in order of publishing.
+     */
+    void onEvents(List<E> events);
+}
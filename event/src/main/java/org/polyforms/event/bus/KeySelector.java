@@ -0,0 +1,14 @@
+package org.polyforms.event.bus;
+
+/**
+ * Selector of the key of event, such as identity of the aggregate which the event is about.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public interface KeySelector<E extends Event> {
+    /**
+     * Get the key of event.
+     */
+    Object select(E event);
+}
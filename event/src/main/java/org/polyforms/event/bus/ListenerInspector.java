@@ -0,0 +1,15 @@
+package org.polyforms.event.bus;
+
+/**
+ * Optional interface of {@link EventBus} which tells whether an event has listeners, so publishers can skip building
+ * events nobody listens to. Events are always published to event buses not implementing it.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public interface ListenerInspector {
+    /**
+     * Check whether there is any listener of the event.
+     */
+    boolean hasListeners(String name);
+}
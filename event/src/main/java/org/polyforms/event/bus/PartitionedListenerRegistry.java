@@ -0,0 +1,15 @@
+package org.polyforms.event.bus;
+
+/**
+ * Optional interface of {@link ListenerRegistry} which registers listeners receiving events with equal keys in order of
+ * publishing. Listeners with keys are registered as ordinary asynchronous listeners to registries not implementing it.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public interface PartitionedListenerRegistry extends ListenerRegistry {
+    /**
+     * Register an asynchronous listener by name, which receives events with equal keys in order of publishing.
+     */
+    void register(String name, Listener<?> listener, KeySelector<?> keySelector);
+}
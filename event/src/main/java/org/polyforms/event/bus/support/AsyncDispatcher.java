@@ -0,0 +1,365 @@
+package org.polyforms.event.bus.support;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Dispatcher running tasks of asynchronous listeners by {@link Executor}, through a bounded queue.
+ * 
+ * Tasks are drained from the queue by at most a fixed number of drainers running on the executor, and a drainer
+ * returns its thread to the executor once the queue is empty, so the executor can be shared with other components.
+ * When the queue is full, the {@link BackPressurePolicy} decides whether the publisher blocks, runs the task itself or
+ * drops the oldest task, except that a task dispatched by a drainer of the same dispatcher runs inline rather than
+ * blocking the thread which has to make space.
+ * 
+ * A dispatcher with a single drainer runs tasks one by one in order of dispatching. If the executor rejects the
+ * drainer, or the dispatcher has been shut down, the calling thread drains the queue itself before running its task.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public class AsyncDispatcher implements Executor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncDispatcher.class);
+    private static final int DEFAULT_CONCURRENCY = Runtime.getRuntime().availableProcessors();
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final ThreadLocal<AsyncDispatcher> DRAINING = new ThreadLocal<AsyncDispatcher>();
+    private final BlockingQueue<Runnable> queue;
+    private final Executor executor;
+    private final boolean executorOwned;
+    private final int concurrency;
+    private final BackPressurePolicy backPressurePolicy;
+    private final Runnable drainer = new Drainer();
+    private final AtomicInteger activeDrainers = new AtomicInteger();
+    private final AtomicLong blockedCount = new AtomicLong();
+    private final AtomicLong callerRunsCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private volatile boolean shutdown;
+
+    /**
+     * Create an instance with a daemon thread pool of the number of processors, a queue of 1024 tasks and
+     * {@link BackPressurePolicy#CALLER_RUNS}.
+     */
+    public AsyncDispatcher() {
+        this(Executors.newFixedThreadPool(DEFAULT_CONCURRENCY, new DaemonThreadFactory("polyforms-event-")), true,
+                DEFAULT_CONCURRENCY, DEFAULT_QUEUE_CAPACITY, BackPressurePolicy.CALLER_RUNS);
+    }
+
+    /**
+     * Create an instance running tasks by provided executor, which is not shut down by the dispatcher.
+     * 
+     * @param executor running drainers of queue, such as a bounded thread pool
+     * @param concurrency maximum number of tasks running at the same time
+     * @param queueCapacity maximum number of tasks waiting in queue
+     * @param backPressurePolicy policy applied when the queue is full
+     */
+    public AsyncDispatcher(final Executor executor, final int concurrency, final int queueCapacity,
+            final BackPressurePolicy backPressurePolicy) {
+        this(executor, false, concurrency, queueCapacity, backPressurePolicy);
+    }
+
+    private AsyncDispatcher(final Executor executor, final boolean executorOwned, final int concurrency,
+            final int queueCapacity, final BackPressurePolicy backPressurePolicy) {
+        Assert.notNull(executor);
+        Assert.isTrue(concurrency > 0, "The concurrency must be positive.");
+        Assert.isTrue(queueCapacity > 0, "The capacity of queue must be positive.");
+        Assert.notNull(backPressurePolicy);
+
+        this.executor = executor;
+        this.executorOwned = executorOwned;
+        this.concurrency = concurrency;
+        this.backPressurePolicy = backPressurePolicy;
+        queue = new ArrayBlockingQueue<Runnable>(queueCapacity);
+    }
+
+    /**
+     * Dispatch a task to run asynchronously. The task runs in the calling thread if the dispatcher has been shut down.
+     */
+    public void dispatch(final Runnable task) {
+        Assert.notNull(task);
+
+        if (shutdown) {
+            LOGGER.warn("The dispatcher has been shut down, run {} in the calling thread.", task);
+            if (concurrency == 1) {
+                drainInCaller();
+            }
+            run(task);
+            return;
+        }
+
+        if (!queue.offer(task) && !backPressurePolicy.enqueue(this, task)) {
+            return;
+        }
+
+        if (shutdown) {
+            LOGGER.warn("The dispatcher has been shut down, run {} in the calling thread.", task);
+            if (concurrency == 1) {
+                drainInCaller();
+            } else {
+                runInCaller(task);
+            }
+            return;
+        }
+
+        try {
+            if (scheduleDrainerOrClaim()) {
+                drainer.run();
+            }
+        } catch (final RejectedExecutionException e) {
+            LOGGER.warn("The executor rejects drainer, run {} in the calling thread.", task);
+            runInCaller(task);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see #dispatch(Runnable)
+     */
+    public void execute(final Runnable task) {
+        dispatch(task);
+    }
+
+    private void runInCaller(final Runnable task) {
+        if (queue.remove(task)) {
+            run(task);
+            if (shutdown) {
+                synchronized (this) {
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    private void drainInCaller() {
+        if (activeDrainers.compareAndSet(0, 1)) {
+            drainer.run();
+        }
+    }
+
+    /**
+     * Schedule a drainer, or claim the single drainer for the calling thread if the executor rejects it, so tasks still
+     * run one by one in order of dispatching.
+     * 
+     * @return true if the calling thread has claimed the drainer and has to drain the queue
+     * @throws RejectedExecutionException if the executor rejects the drainer of a dispatcher with several drainers
+     */
+    private boolean scheduleDrainerOrClaim() {
+        try {
+            scheduleDrainer();
+            return false;
+        } catch (final RejectedExecutionException e) {
+            if (concurrency > 1) {
+                throw e;
+            }
+            LOGGER.warn("The executor rejects drainer, drain asynchronous tasks in the calling thread.");
+            return activeDrainers.compareAndSet(0, 1);
+        }
+    }
+
+    private void scheduleDrainer() {
+        while (true) {
+            final int drainers = activeDrainers.get();
+            if (drainers >= concurrency) {
+                return;
+            }
+
+            if (activeDrainers.compareAndSet(drainers, drainers + 1)) {
+                try {
+                    executor.execute(drainer);
+                } catch (final RuntimeException e) {
+                    activeDrainers.decrementAndGet();
+                    throw e;
+                }
+                return;
+            }
+        }
+    }
+
+    private void run(final Runnable task) {
+        try {
+            task.run();
+        } catch (final Throwable e) {
+            failureCount.incrementAndGet();
+            LOGGER.error("Fail to run asynchronous task " + task + ".", e);
+        }
+    }
+
+    /**
+     * Stop accepting tasks into queue and wait until all queued tasks complete. The executor is shut down as well if
+     * it is created by the dispatcher.
+     * 
+     * @return true if all queued tasks complete before timeout
+     */
+    public boolean shutdown(final long timeout, final TimeUnit unit) throws InterruptedException {
+        shutdown = true;
+
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this) {
+            while (!isDrained()) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    LOGGER.warn("Timeout to drain asynchronous tasks, {} tasks are left in queue.", queue.size());
+                    break;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+        }
+
+        if (executorOwned) {
+            ((ExecutorService) executor).shutdown();
+        }
+        return isDrained();
+    }
+
+    private boolean isDrained() {
+        return queue.isEmpty() && activeDrainers.get() == 0;
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Get the number of tasks waiting in queue.
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Get the number of publishings blocked by full queue.
+     */
+    public long getBlockedCount() {
+        return blockedCount.get();
+    }
+
+    /**
+     * Get the number of tasks run in the publishing thread because of full queue.
+     */
+    public long getCallerRunsCount() {
+        return callerRunsCount.get();
+    }
+
+    /**
+     * Get the number of tasks dropped because of full queue.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Get the number of tasks which throw exception.
+     */
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    /**
+     * Policy applied when the queue of {@link AsyncDispatcher} is full.
+     */
+    public enum BackPressurePolicy {
+        /**
+         * Block the publishing thread until there is space in queue.
+         */
+        BLOCK {
+            @Override
+            protected boolean enqueue(final AsyncDispatcher dispatcher, final Runnable task) {
+                if (DRAINING.get() == dispatcher) {
+                    return CALLER_RUNS.enqueue(dispatcher, task);
+                }
+
+                dispatcher.blockedCount.incrementAndGet();
+                try {
+                    dispatcher.queue.put(task);
+                    return true;
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return CALLER_RUNS.enqueue(dispatcher, task);
+                }
+            }
+        },
+
+        /**
+         * Run the task in the publishing thread.
+         */
+        CALLER_RUNS {
+            @Override
+            protected boolean enqueue(final AsyncDispatcher dispatcher, final Runnable task) {
+                dispatcher.callerRunsCount.incrementAndGet();
+                dispatcher.run(task);
+                return false;
+            }
+        },
+
+        /**
+         * Drop the oldest task in queue to make space for the task.
+         */
+        DROP_OLDEST {
+            @Override
+            protected boolean enqueue(final AsyncDispatcher dispatcher, final Runnable task) {
+                do {
+                    final Runnable droppedTask = dispatcher.queue.poll();
+                    if (droppedTask != null) {
+                        dispatcher.droppedCount.incrementAndGet();
+                        LOGGER.warn("The queue is full, drop asynchronous task {}.", droppedTask);
+                    }
+                } while (!dispatcher.queue.offer(task));
+                return true;
+            }
+        };
+
+        /**
+         * Enqueue the task which cannot be offered to the full queue.
+         * 
+         * @return true if the task is put into queue
+         */
+        protected abstract boolean enqueue(AsyncDispatcher dispatcher, Runnable task);
+    }
+
+    private final class Drainer implements Runnable {
+        /**
+         * {@inheritDoc}
+         */
+        public void run() {
+            do {
+                drain();
+            } while (!queue.isEmpty() && scheduleDrainerOrClaim());
+
+            if (shutdown && queue.isEmpty()) {
+                synchronized (AsyncDispatcher.this) {
+                    AsyncDispatcher.this.notifyAll();
+                }
+            }
+        }
+
+        private void drain() {
+            final AsyncDispatcher previous = DRAINING.get();
+            DRAINING.set(AsyncDispatcher.this);
+            try {
+                Runnable task;
+                while ((task = queue.poll()) != null) {
+                    AsyncDispatcher.this.run(task);
+                }
+            } finally {
+                if (previous == null) {
+                    DRAINING.remove();
+                } else {
+                    DRAINING.set(previous);
+                }
+                activeDrainers.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package org.polyforms.event.bus.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.polyforms.event.bus.BatchListener;
+import org.polyforms.event.bus.Event;
+import org.polyforms.event.bus.KeySelector;
+import org.polyforms.event.bus.Listener;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Listener buffering events and passing them to a {@link BatchListener} in batch.
+ * 
+ * Buffered events are flushed when the number of events reaches the batch size or when the oldest event has waited for
+ * the batch window, whichever comes first. If a {@link KeySelector} is provided, a buffered event is superseded by a
+ * later event with an equal key, which takes the position of the latest one.
+ * 
+ * If spring-tx is present and the thread delivering events has synchronization of transaction active, events are
+ * buffered separately for that transaction instead of the window: they are flushed by size or before the transaction
+ * commits, so that the batch listener runs in the transaction, and dropped if it rolls back. Events of a transaction
+ * never join a batch with events of other threads.
+ * 
+ * A synchronous instance never leaves the threads delivering events, its window is checked when the next event comes
+ * and when the transaction completes. An asynchronous instance is given a scheduler, which only drains the expired
+ * batch and hands it to an executor, such as {@link AsyncDispatcher}; both are owned and stopped by the creator.
+ * 
+ * Instances are equal if their batch listeners are equal, so a listener registered to
+ * {@link org.polyforms.event.bus.ListenerRegistry} can be unregistered by an equal instance.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public class BatchingListener<E extends Event> implements Listener<E> {
+    private static final boolean TRANSACTION_PRESENT = ClassUtils.isPresent(
+            "org.springframework.transaction.support.TransactionSynchronizationManager",
+            BatchingListener.class.getClassLoader());
+    private final BatchListener<E> batchListener;
+    private final int batchSize;
+    private final long batchWindow;
+    private final KeySelector<E> keySelector;
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+    private final Runnable flusher = new Flusher();
+    private final Object transactionKey = new Object();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final Buffer buffer = new Buffer();
+    private long oldestTime;
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * Create a synchronous instance without coalescing.
+     * 
+     * @param batchListener listener receiving batches of events
+     * @param batchSize maximum number of events in a batch, or 0 if batches are flushed by window only
+     * @param batchWindow maximum milliseconds an event is buffered, or 0 if batches are flushed by size only
+     */
+    public BatchingListener(final BatchListener<E> batchListener, final int batchSize, final long batchWindow) {
+        this(batchListener, batchSize, batchWindow, null);
+    }
+
+    /**
+     * Create a synchronous instance coalescing events by key.
+     * 
+     * @param batchListener listener receiving batches of events
+     * @param batchSize maximum number of events in a batch, or 0 if batches are flushed by window only
+     * @param batchWindow maximum milliseconds an event is buffered, or 0 if batches are flushed by size only
+     * @param keySelector selector of key which supersedes buffered events, or null if events are not coalesced
+     */
+    public BatchingListener(final BatchListener<E> batchListener, final int batchSize, final long batchWindow,
+            final KeySelector<E> keySelector) {
+        this(batchListener, batchSize, batchWindow, keySelector, null, null);
+    }
+
+    /**
+     * Create an asynchronous instance, whose expired batches are passed to batch listener by executor.
+     * 
+     * @param batchListener listener receiving batches of events
+     * @param batchSize maximum number of events in a batch, or 0 if batches are flushed by window only
+     * @param batchWindow maximum milliseconds an event is buffered, or 0 if batches are flushed by size only
+     * @param keySelector selector of key which supersedes buffered events, or null if events are not coalesced
+     * @param scheduler used to expire batches by window, or null if the instance is synchronous
+     * @param executor running batch listener with expired batches, or null if the instance is synchronous
+     */
+    public BatchingListener(final BatchListener<E> batchListener, final int batchSize, final long batchWindow,
+            final KeySelector<E> keySelector, final ScheduledExecutorService scheduler, final Executor executor) {
+        Assert.notNull(batchListener);
+        Assert.isTrue(batchSize >= 0 && batchWindow >= 0, "The size and window of batch must not be negative.");
+        Assert.isTrue(batchSize > 0 || batchWindow > 0, "Either the size or the window of batch must be positive.");
+        Assert.isTrue((scheduler == null) == (executor == null),
+                "The scheduler and executor must be provided together.");
+
+        this.batchListener = batchListener;
+        this.batchSize = batchSize;
+        this.batchWindow = batchWindow;
+        this.keySelector = keySelector;
+        this.scheduler = scheduler;
+        this.executor = executor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onEvent(final E event) {
+        if (TRANSACTION_PRESENT && TransactionFlusher.isActive()) {
+            final Buffer transactionBuffer = getTransactionBuffer();
+            if (transactionBuffer.add(event) == batchSize) {
+                transactionBuffer.flush();
+            }
+            return;
+        }
+
+        final List<E> batch;
+        synchronized (this) {
+            final int bufferedCount = buffer.add(event);
+            if (bufferedCount == 1) {
+                oldestTime = System.nanoTime();
+            }
+
+            if (batchSize > 0 && bufferedCount >= batchSize || scheduler == null && isExpired()) {
+                batch = drain();
+            } else {
+                batch = null;
+                if (scheduler != null && batchWindow > 0 && scheduledFlush == null) {
+                    scheduledFlush = scheduler.schedule(flusher, batchWindow, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+
+        if (batch != null) {
+            deliver(batch);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Buffer getTransactionBuffer() {
+        Buffer transactionBuffer = (Buffer) TransactionFlusher.getBuffer(transactionKey);
+        if (transactionBuffer == null) {
+            transactionBuffer = new Buffer();
+            TransactionFlusher.register(transactionKey, transactionBuffer);
+        }
+        return transactionBuffer;
+    }
+
+    private boolean isExpired() {
+        return batchWindow > 0 && System.nanoTime() - oldestTime >= TimeUnit.MILLISECONDS.toNanos(batchWindow);
+    }
+
+    private List<E> drain() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+
+        return buffer.drain();
+    }
+
+    private void deliver(final List<E> batch) {
+        if (!batch.isEmpty()) {
+            batchListener.onEvents(Collections.unmodifiableList(batch));
+        }
+    }
+
+    /**
+     * Pass all buffered events to batch listener immediately in the calling thread, such as at the end of a unit of
+     * work. Events buffered for the transaction of the calling thread are passed in a separate batch.
+     */
+    public void flush() {
+        final List<E> batch;
+        synchronized (this) {
+            batch = drain();
+        }
+        deliver(batch);
+
+        if (TRANSACTION_PRESENT && TransactionFlusher.isActive()) {
+            @SuppressWarnings("unchecked")
+            final Buffer transactionBuffer = (Buffer) TransactionFlusher.getBuffer(transactionKey);
+            if (transactionBuffer != null) {
+                transactionBuffer.flush();
+            }
+        }
+    }
+
+    public BatchListener<E> getBatchListener() {
+        return batchListener;
+    }
+
+    /**
+     * Get the number of events which are superseded by later events with equal keys.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return batchListener.hashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof BatchingListener)) {
+            return false;
+        }
+
+        return batchListener.equals(((BatchingListener<?>) obj).batchListener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "BatchingListener [" + batchListener + "]";
+    }
+
+    /**
+     * Events buffered either by all threads out of transactions, guarded by the listener, or by the thread of a single
+     * transaction.
+     */
+    final class Buffer {
+        private List<E> events = new ArrayList<E>();
+        private Map<Object, E> keyedEvents = new LinkedHashMap<Object, E>();
+
+        private int add(final E event) {
+            if (keySelector == null) {
+                events.add(event);
+                return events.size();
+            }
+
+            final Object key = keySelector.select(event);
+            if (keyedEvents.remove(key) != null) {
+                coalescedCount.incrementAndGet();
+            }
+            keyedEvents.put(key, event);
+            return keyedEvents.size();
+        }
+
+        private List<E> drain() {
+            final List<E> batch;
+            if (keySelector == null) {
+                batch = events;
+                events = new ArrayList<E>();
+            } else {
+                batch = new ArrayList<E>(keyedEvents.values());
+                keyedEvents = new LinkedHashMap<Object, E>();
+            }
+            return batch;
+        }
+
+        /**
+         * Pass events of the buffer to batch listener in the calling thread.
+         */
+        protected void flush() {
+            deliver(drain());
+        }
+    }
+
+    private final class Flusher implements Runnable {
+        /**
+         * {@inheritDoc}
+         */
+        public void run() {
+            final List<E> batch;
+            synchronized (BatchingListener.this) {
+                scheduledFlush = null;
+                batch = drain();
+            }
+
+            if (!batch.isEmpty()) {
+                executor.execute(new Runnable() {
+                    public void run() {
+                        deliver(batch);
+                    }
+
+                    @Override
+                    public String toString() {
+                        return "batch of " + batch.size() + " events to " + batchListener;
+                    }
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.polyforms.event.bus.support;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factory of daemon threads named by prefix and sequence, so that threads of event bus never block exit of JVM.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+final class DaemonThreadFactory implements ThreadFactory {
+    private final AtomicInteger threadNumber = new AtomicInteger(1);
+    private final String namePrefix;
+
+    protected DaemonThreadFactory(final String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Thread newThread(final Runnable runnable) {
+        final Thread thread = new Thread(runnable, namePrefix + threadNumber.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,95 @@
+package org.polyforms.event.bus.support;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.polyforms.event.bus.Listener;
+
+/**
+ * Table of listeners by name of event, which keeps an immutable array of listeners for each name.
+ * 
+ * Registrations copy the array and swap it atomically, so lookups never lock and the array returned is never modified
+ * while it is iterated.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+@SuppressWarnings("rawtypes")
+final class ListenerTable {
+    private static final Listener[] NO_LISTENERS = new Listener[0];
+    private final ConcurrentMap<String, Listener[]> listeners = new ConcurrentHashMap<String, Listener[]>();
+
+    /**
+     * Get listeners of event, which must not be modified.
+     */
+    protected Listener[] get(final String name) {
+        final Listener[] namedListeners = listeners.get(name);
+        return namedListeners == null ? NO_LISTENERS : namedListeners;
+    }
+
+    /**
+     * Add the listener of event if absent.
+     * 
+     * @return false if the listener has been added
+     */
+    protected boolean add(final String name, final Listener<?> listener) {
+        while (true) {
+            final Listener[] namedListeners = listeners.get(name);
+            if (namedListeners == null) {
+                if (listeners.putIfAbsent(name, new Listener[] { listener }) == null) {
+                    return true;
+                }
+                continue;
+            }
+
+            if (indexOf(namedListeners, listener) >= 0) {
+                return false;
+            }
+
+            final Listener[] newListeners = new Listener[namedListeners.length + 1];
+            System.arraycopy(namedListeners, 0, newListeners, 0, namedListeners.length);
+            newListeners[namedListeners.length] = listener;
+            if (listeners.replace(name, namedListeners, newListeners)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Remove the listener of event.
+     * 
+     * @return false if the listener has not been added
+     */
+    protected boolean remove(final String name, final Listener<?> listener) {
+        while (true) {
+            final Listener[] namedListeners = listeners.get(name);
+            final int index = namedListeners == null ? -1 : indexOf(namedListeners, listener);
+            if (index < 0) {
+                return false;
+            }
+
+            if (namedListeners.length == 1) {
+                if (listeners.remove(name, namedListeners)) {
+                    return true;
+                }
+                continue;
+            }
+
+            final Listener[] newListeners = new Listener[namedListeners.length - 1];
+            System.arraycopy(namedListeners, 0, newListeners, 0, index);
+            System.arraycopy(namedListeners, index + 1, newListeners, index, newListeners.length - index);
+            if (listeners.replace(name, namedListeners, newListeners)) {
+                return true;
+            }
+        }
+    }
+
+    private int indexOf(final Listener[] namedListeners, final Listener<?> listener) {
+        for (int i = 0; i < namedListeners.length; i++) {
+            if (namedListeners[i].equals(listener)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,131 @@
+package org.polyforms.event.bus.support;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.polyforms.event.bus.support.AsyncDispatcher.BackPressurePolicy;
+import org.springframework.util.Assert;
+
+/**
+ * Dispatcher running tasks with keys on a fixed number of lanes, chosen by hash of key.
+ * 
+ * Each lane is an {@link AsyncDispatcher} with a single drainer, so tasks with equal keys run one by one in order of
+ * dispatching, while tasks on different lanes run in parallel. Full lanes block the dispatching thread, because running
+ * the task in the calling thread or dropping a task would break the order. The only exception is a task dispatched to a
+ * full lane by the drainer of that lane, which runs inline because nothing else could ever make space. If the executor
+ * rejects the drainer of a lane, the dispatching thread drains the lane itself, so earlier tasks still run first.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public class PartitionedDispatcher {
+    private static final int DEFAULT_LANE_COUNT = Runtime.getRuntime().availableProcessors();
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final int HASH_SHIFT = 16;
+    private final AsyncDispatcher[] lanes;
+    private final ExecutorService ownedExecutor;
+
+    /**
+     * Create an instance with lanes of the number of processors on a daemon thread pool of the same size, each lane
+     * queues 1024 tasks at most.
+     */
+    public PartitionedDispatcher() {
+        this(Executors.newFixedThreadPool(DEFAULT_LANE_COUNT, new DaemonThreadFactory("polyforms-event-lane-")), true,
+                DEFAULT_LANE_COUNT, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Create an instance running lanes by provided executor, which is not shut down by the dispatcher.
+     * 
+     * @param executor running drainers of lanes, which should run as many tasks at the same time as lanes
+     * @param laneCount number of lanes
+     * @param queueCapacity maximum number of tasks waiting in each lane
+     */
+    public PartitionedDispatcher(final Executor executor, final int laneCount, final int queueCapacity) {
+        this(executor, false, laneCount, queueCapacity);
+    }
+
+    private PartitionedDispatcher(final Executor executor, final boolean executorOwned, final int laneCount,
+            final int queueCapacity) {
+        Assert.isTrue(laneCount > 0, "The number of lanes must be positive.");
+
+        lanes = new AsyncDispatcher[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new AsyncDispatcher(executor, 1, queueCapacity, BackPressurePolicy.BLOCK);
+        }
+        ownedExecutor = executorOwned ? (ExecutorService) executor : null;
+    }
+
+    /**
+     * Dispatch a task to the lane of key. The task runs in the calling thread if the dispatcher has been shut down.
+     * 
+     * @param key of task, tasks with null key run on the first lane
+     * @param task to run
+     */
+    public void dispatch(final Object key, final Runnable task) {
+        lanes[laneOf(key)].dispatch(task);
+    }
+
+    private int laneOf(final Object key) {
+        if (key == null) {
+            return 0;
+        }
+
+        final int hash = key.hashCode();
+        return ((hash ^ hash >>> HASH_SHIFT) & Integer.MAX_VALUE) % lanes.length;
+    }
+
+    /**
+     * Stop accepting tasks into lanes and wait until all queued tasks complete. The executor is shut down as well if it
+     * is created by the dispatcher.
+     * 
+     * @return true if all queued tasks complete before timeout
+     */
+    public boolean shutdown(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        boolean drained = true;
+        for (final AsyncDispatcher lane : lanes) {
+            drained &= lane.shutdown(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        }
+
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+        return drained;
+    }
+
+    public boolean isShutdown() {
+        return lanes[0].isShutdown();
+    }
+
+    /**
+     * Get the number of lanes.
+     */
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Get the number of tasks waiting in all lanes.
+     */
+    public int getQueueSize() {
+        int queueSize = 0;
+        for (final AsyncDispatcher lane : lanes) {
+            queueSize += lane.getQueueSize();
+        }
+        return queueSize;
+    }
+
+    /**
+     * Get the number of tasks which throw exception.
+     */
+    public long getFailureCount() {
+        long failureCount = 0;
+        for (final AsyncDispatcher lane : lanes) {
+            failureCount += lane.getFailureCount();
+        }
+        return failureCount;
+    }
+}
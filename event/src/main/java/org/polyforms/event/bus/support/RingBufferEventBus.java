@@ -0,0 +1,325 @@
+package org.polyforms.event.bus.support;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.polyforms.event.bus.Event;
+import org.polyforms.event.bus.EventBus;
+import org.polyforms.event.bus.ListenerInspector;
+import org.polyforms.event.bus.Listener;
+import org.polyforms.event.bus.ListenerRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
+
+/**
+ * An implementation of {@link EventBus} which passes events to asynchronous listeners through a ring buffer.
+ * 
+ * Slots of the ring buffer are preallocated and reused. Publishers claim a sequence by atomic increment, or by a plain
+ * write if there is a single publishing thread, and publish the slot by an ordered write of its sequence, so publishing
+ * neither allocates nor locks. A single consumer thread runs asynchronous listeners in order of sequences, and waits
+ * for events by the configured {@link WaitStrategy}; publishers wait in the same way if the buffer is full. Once the
+ * consumer thread has exited, publishers drain the remaining events themselves instead of waiting for free slots.
+ * Synchronous listeners run in the publishing thread as in {@link SimpleEventBus}.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+@SuppressWarnings("rawtypes")
+public class RingBufferEventBus implements EventBus, ListenerInspector, ListenerRegistry, DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RingBufferEventBus.class);
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final long DEFAULT_SHUTDOWN_TIMEOUT = 30;
+    private final ListenerTable syncListeners = new ListenerTable();
+    private final ListenerTable asyncListeners = new ListenerTable();
+    private final Event[] events;
+    private final AtomicLongArray publishedSequences;
+    private final int mask;
+    private final boolean singleProducer;
+    private final WaitStrategy waitStrategy;
+    private final AtomicLong claimedSequence = new AtomicLong(-1);
+    private final AtomicLong consumedSequence = new AtomicLong(-1);
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final Thread consumer = new Thread(new Consumer(), "polyforms-event-ring");
+    private long shutdownTimeout = DEFAULT_SHUTDOWN_TIMEOUT;
+    private volatile boolean shutdown;
+    private volatile boolean terminated;
+
+    /**
+     * Create an instance with 1024 slots for multiple publishing threads, waiting by
+     * {@link WaitStrategy#PARK}.
+     */
+    public RingBufferEventBus() {
+        this(DEFAULT_CAPACITY, false, WaitStrategy.PARK);
+    }
+
+    /**
+     * Create an instance with provided number of slots, which must be a power of 2.
+     * 
+     * @param capacity number of slots
+     * @param singleProducer whether events are published from one thread only
+     * @param waitStrategy the way to wait for events or free slots
+     */
+    public RingBufferEventBus(final int capacity, final boolean singleProducer, final WaitStrategy waitStrategy) {
+        Assert.isTrue(capacity > 0 && (capacity & capacity - 1) == 0, "The capacity must be a power of 2.");
+        Assert.notNull(waitStrategy);
+
+        events = new Event[capacity];
+        publishedSequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            publishedSequences.set(i, -1);
+        }
+        mask = capacity - 1;
+        this.singleProducer = singleProducer;
+        this.waitStrategy = waitStrategy;
+        consumer.setDaemon(true);
+    }
+
+    /**
+     * Set the maximum seconds to wait for buffered asynchronous events when the bus is destroyed, 30 by default.
+     */
+    public void setShutdownTimeout(final long shutdownTimeout) {
+        Assert.isTrue(shutdownTimeout >= 0, "The timeout of shutdown must not be negative.");
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void publish(final Event event) {
+        Assert.notNull(event);
+
+        final String name = event.getName();
+        onEvent(event, syncListeners.get(name));
+        if (asyncListeners.get(name).length == 0) {
+            return;
+        }
+
+        if (shutdown) {
+            LOGGER.warn("The event bus has been shut down, publish {} in the calling thread.", name);
+            onAsyncEvent(event);
+            return;
+        }
+
+        final long sequence = claim();
+        final int index = (int) sequence & mask;
+        events[index] = event;
+        publishedSequences.lazySet(index, sequence);
+        if (shutdown) {
+            // Ordered write before checking the consumer, which checks published sequences after it terminates
+            publishedSequences.set(index, sequence);
+            if (terminated) {
+                drainAbandoned();
+            }
+        }
+    }
+
+    private long claim() {
+        final long sequence;
+        if (singleProducer) {
+            sequence = claimedSequence.get() + 1;
+            claimedSequence.lazySet(sequence);
+        } else {
+            sequence = claimedSequence.incrementAndGet();
+        }
+
+        final long wrapSequence = sequence - events.length;
+        int attempts = 0;
+        while (wrapSequence > consumedSequence.get()) {
+            if (terminated) {
+                drainAbandoned();
+            } else {
+                waitStrategy.idle(attempts++);
+            }
+        }
+        return sequence;
+    }
+
+    private synchronized void drainAbandoned() {
+        long sequence = consumedSequence.get() + 1;
+        int index = (int) sequence & mask;
+        while (publishedSequences.get(index) == sequence) {
+            final Event event = events[index];
+            events[index] = null;
+            onAsyncEvent(event);
+            consumedSequence.set(sequence++);
+            index = (int) sequence & mask;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onEvent(final Event event, final Listener[] listeners) {
+        for (final Listener listener : listeners) {
+            listener.onEvent(event);
+            LOGGER.debug("Publish domain event {} to {}.", event.getName(), listener);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onAsyncEvent(final Event event) {
+        for (final Listener listener : asyncListeners.get(event.getName())) {
+            try {
+                listener.onEvent(event);
+                LOGGER.debug("Publish domain event {} to {}.", event.getName(), listener);
+            } catch (final Throwable e) {
+                failureCount.incrementAndGet();
+                LOGGER.error("Fail to publish domain event " + event.getName() + " to " + listener + ".", e);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean hasListeners(final String name) {
+        return syncListeners.get(name).length > 0 || asyncListeners.get(name).length > 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void register(final String name, final Listener<?> listener, final boolean async) {
+        Assert.hasText(name);
+        Assert.notNull(listener);
+
+        if (async && started.compareAndSet(false, true)) {
+            consumer.start();
+        }
+        (async ? asyncListeners : syncListeners).add(name, listener);
+        LOGGER.info("Register {} to {}.", listener, name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void unregister(final String name, final Listener<?> listener) {
+        Assert.hasText(name);
+        Assert.notNull(listener);
+
+        syncListeners.remove(name, listener);
+        asyncListeners.remove(name, listener);
+        LOGGER.info("Unregister {} from {}.", listener, name);
+    }
+
+    /**
+     * Wait for buffered asynchronous events to complete when the bus is destroyed.
+     */
+    public void destroy() throws InterruptedException {
+        shutdown = true;
+        if (started.get() && shutdownTimeout > 0) {
+            consumer.join(TimeUnit.SECONDS.toMillis(shutdownTimeout));
+        }
+
+        final long remaining = claimedSequence.get() - consumedSequence.get();
+        if (remaining > 0) {
+            LOGGER.warn("{} asynchronous events are not completed in {} seconds.", remaining, shutdownTimeout);
+        }
+    }
+
+    /**
+     * Get the number of asynchronous events which are published but not consumed.
+     */
+    public long getBacklog() {
+        return claimedSequence.get() - consumedSequence.get();
+    }
+
+    /**
+     * Get the number of asynchronous listeners which throw exception.
+     */
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    /**
+     * Strategy used to wait for events or free slots of ring buffer.
+     */
+    public enum WaitStrategy {
+        /**
+         * Spin without giving up processor, which has the lowest latency and burns a processor.
+         */
+        BUSY_SPIN {
+            @Override
+            protected void idle(final int attempts) {
+                // Spin
+            }
+        },
+
+        /**
+         * Spin for a while, then yield processor to other threads.
+         */
+        YIELD {
+            @Override
+            protected void idle(final int attempts) {
+                if (attempts >= SPIN_TRIES) {
+                    Thread.yield();
+                }
+            }
+        },
+
+        /**
+         * Spin and yield for a while, then park the thread for a short time.
+         */
+        PARK {
+            @Override
+            protected void idle(final int attempts) {
+                if (attempts < SPIN_TRIES) {
+                    return;
+                }
+
+                if (attempts < SPIN_TRIES * 2) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+            }
+        };
+
+        private static final int SPIN_TRIES = 100;
+        private static final long PARK_NANOS = 100000;
+
+        /**
+         * Wait once when there is nothing to do.
+         * 
+         * @param attempts number of waits before for the same condition
+         */
+        protected abstract void idle(int attempts);
+    }
+
+    private final class Consumer implements Runnable {
+        /**
+         * {@inheritDoc}
+         */
+        public void run() {
+            try {
+                consume();
+            } finally {
+                terminated = true;
+                drainAbandoned();
+            }
+        }
+
+        private void consume() {
+            long sequence = consumedSequence.get() + 1;
+            int attempts = 0;
+            while (true) {
+                final int index = (int) sequence & mask;
+                if (publishedSequences.get(index) == sequence) {
+                    final Event event = events[index];
+                    events[index] = null;
+                    onAsyncEvent(event);
+                    consumedSequence.lazySet(sequence++);
+                    attempts = 0;
+                } else if (shutdown && sequence > claimedSequence.get()) {
+                    return;
+                } else {
+                    waitStrategy.idle(attempts++);
+                }
+            }
+        }
+    }
+}
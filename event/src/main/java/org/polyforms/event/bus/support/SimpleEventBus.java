@@ -1,31 +1,73 @@
 package org.polyforms.event.bus.support;
 
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.polyforms.event.bus.Event;
 import org.polyforms.event.bus.EventBus;
+import org.polyforms.event.bus.ListenerInspector;
+import org.polyforms.event.bus.KeySelector;
 import org.polyforms.event.bus.Listener;
-import org.polyforms.event.bus.ListenerRegistry;
+import org.polyforms.event.bus.PartitionedListenerRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
 /**
  * A simple implementation of {@link EventBus}.
  * 
+ * Listeners are kept in immutable arrays per name of event, which are replaced atomically on registration, so
+ * publishing never locks and never sees a partial registration. Asynchronous listeners are run by
+ * {@link AsyncDispatcher}, and asynchronous listeners registered with {@link KeySelector} are run by
+ * {@link PartitionedDispatcher} in order of publishing for each key. Both dispatchers are drained when the bus is
+ * destroyed.
+ * 
  * @author Kuisong Tong
  * @since 1.0
  */
 @Component
 @SuppressWarnings("rawtypes")
-public class SimpleEventBus implements EventBus, ListenerRegistry {
+public class SimpleEventBus implements EventBus, ListenerInspector, PartitionedListenerRegistry, DisposableBean {
     private static final Logger LOGGER = LoggerFactory.getLogger(SimpleEventBus.class);
-    private final Map<String, Set<Listener>> syncListeners = new ConcurrentHashMap<String, Set<Listener>>();
-    private final Map<String, Set<Listener>> asyncListeners = new ConcurrentHashMap<String, Set<Listener>>();
+    private static final long DEFAULT_SHUTDOWN_TIMEOUT = 30;
+    private final ListenerTable syncListeners = new ListenerTable();
+    private final ListenerTable asyncListeners = new ListenerTable();
+    private final ListenerTable partitionedListeners = new ListenerTable();
+    private AsyncDispatcher asyncDispatcher = new AsyncDispatcher();
+    private PartitionedDispatcher partitionedDispatcher = new PartitionedDispatcher();
+    private long shutdownTimeout = DEFAULT_SHUTDOWN_TIMEOUT;
+
+    /**
+     * Replace the default dispatcher of asynchronous listeners, which is shut down immediately.
+     */
+    @Autowired(required = false)
+    public void setAsyncDispatcher(final AsyncDispatcher asyncDispatcher) {
+        Assert.notNull(asyncDispatcher);
+        final AsyncDispatcher defaultDispatcher = this.asyncDispatcher;
+        this.asyncDispatcher = asyncDispatcher;
+        shutdown(defaultDispatcher, 0);
+    }
+
+    /**
+     * Replace the default dispatcher of asynchronous listeners with keys, which is shut down immediately.
+     */
+    @Autowired(required = false)
+    public void setPartitionedDispatcher(final PartitionedDispatcher partitionedDispatcher) {
+        Assert.notNull(partitionedDispatcher);
+        final PartitionedDispatcher defaultDispatcher = this.partitionedDispatcher;
+        this.partitionedDispatcher = partitionedDispatcher;
+        shutdown(defaultDispatcher, 0);
+    }
+
+    /**
+     * Set the maximum seconds to wait for queued asynchronous events when the bus is destroyed, 30 by default.
+     */
+    public void setShutdownTimeout(final long shutdownTimeout) {
+        Assert.isTrue(shutdownTimeout >= 0, "The timeout of shutdown must not be negative.");
+        this.shutdownTimeout = shutdownTimeout;
+    }
 
     /**
      * {@inheritDoc}
@@ -42,22 +84,50 @@ public class SimpleEventBus implements EventBus, ListenerRegistry {
     }
 
     private void asyncPublish(final Event event) {
-        if (asyncListeners.containsKey(event.getName())) {
-            throw new UnsupportedOperationException("The async event has not implemented!");
+        final String name = event.getName();
+        for (final Listener listener : asyncListeners.get(name)) {
+            asyncDispatcher.dispatch(newTask(event, listener));
+            LOGGER.debug("Dispatch domain event {} to {}.", name, listener);
+        }
+
+        for (final Listener listener : partitionedListeners.get(name)) {
+            final PartitionedListener partitionedListener = (PartitionedListener) listener;
+            partitionedDispatcher.dispatch(partitionedListener.select(event), newTask(event, listener));
+            LOGGER.debug("Dispatch domain event {} to {} by key.", name, listener);
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private void onEvent(final Event event, final Map<String, Set<Listener>> subscribers) {
-        final String name = event.getName();
-        if (subscribers.containsKey(name)) {
-            for (final Listener listener : subscribers.get(name)) {
+    private Runnable newTask(final Event event, final Listener listener) {
+        return new Runnable() {
+            @SuppressWarnings("unchecked")
+            public void run() {
                 listener.onEvent(event);
-                LOGGER.debug("Publish domain event {} to {}.", name, listener);
             }
+
+            @Override
+            public String toString() {
+                return "event " + event.getName() + " to " + listener;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onEvent(final Event event, final ListenerTable subscribers) {
+        final String name = event.getName();
+        for (final Listener listener : subscribers.get(name)) {
+            listener.onEvent(event);
+            LOGGER.debug("Publish domain event {} to {}.", name, listener);
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public boolean hasListeners(final String name) {
+        return syncListeners.get(name).length > 0 || asyncListeners.get(name).length > 0
+                || partitionedListeners.get(name).length > 0;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -65,15 +135,20 @@ public class SimpleEventBus implements EventBus, ListenerRegistry {
         Assert.hasText(name);
         Assert.notNull(listener);
 
-        register(async ? asyncListeners : syncListeners, name, listener);
+        (async ? asyncListeners : syncListeners).add(name, listener);
+        LOGGER.info("Register {} to {}.", listener, name);
     }
 
-    private void register(final Map<String, Set<Listener>> listeners, final String name, final Listener<?> listener) {
-        if (!listeners.containsKey(name)) {
-            listeners.put(name, new HashSet<Listener>());
-        }
-        listeners.get(name).add(listener);
-        LOGGER.info("Register {} to {}.", listener, name);
+    /**
+     * {@inheritDoc}
+     */
+    public void register(final String name, final Listener<?> listener, final KeySelector<?> keySelector) {
+        Assert.hasText(name);
+        Assert.notNull(listener);
+        Assert.notNull(keySelector);
+
+        partitionedListeners.add(name, new PartitionedListener(listener, keySelector));
+        LOGGER.info("Register {} to {} by key.", listener, name);
     }
 
     /**
@@ -83,7 +158,97 @@ public class SimpleEventBus implements EventBus, ListenerRegistry {
         Assert.hasText(name);
         Assert.notNull(listener);
 
-        syncListeners.get(name).remove(listener);
+        syncListeners.remove(name, listener);
+        asyncListeners.remove(name, listener);
+        partitionedListeners.remove(name, new PartitionedListener(listener, null));
         LOGGER.info("Unregister {} from {}.", listener, name);
     }
+
+    /**
+     * Wait for queued asynchronous events to complete when the bus is destroyed.
+     */
+    public void destroy() throws InterruptedException {
+        shutdown(asyncDispatcher, shutdownTimeout);
+        shutdown(partitionedDispatcher, shutdownTimeout);
+    }
+
+    private void shutdown(final AsyncDispatcher dispatcher, final long timeout) {
+        try {
+            if (!dispatcher.shutdown(timeout, TimeUnit.SECONDS)) {
+                LOGGER.warn("{} asynchronous events are not completed in {} seconds.", dispatcher.getQueueSize(),
+                        timeout);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void shutdown(final PartitionedDispatcher dispatcher, final long timeout) {
+        try {
+            if (!dispatcher.shutdown(timeout, TimeUnit.SECONDS)) {
+                LOGGER.warn("{} asynchronous events with keys are not completed in {} seconds.", dispatcher
+                        .getQueueSize(), timeout);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Asynchronous listener with the selector of key, which is equal to another one with the same listener.
+     */
+    private static final class PartitionedListener implements Listener {
+        private final Listener listener;
+        private final KeySelector keySelector;
+
+        private PartitionedListener(final Listener<?> listener, final KeySelector<?> keySelector) {
+            this.listener = listener;
+            this.keySelector = keySelector;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object select(final Event event) {
+            return keySelector.select(event);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @SuppressWarnings("unchecked")
+        public void onEvent(final Event event) {
+            listener.onEvent(event);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return listener.hashCode();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof PartitionedListener)) {
+                return false;
+            }
+
+            return listener.equals(((PartitionedListener) obj).listener);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return listener.toString();
+        }
+    }
 }
@@ -0,0 +1,72 @@
+package org.polyforms.event.bus.support;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transaction synchronization flushing the buffer of a {@link BatchingListener} for a transaction, which is loaded only
+ * if spring-tx is present.
+ * 
+ * The buffer is bound to the transaction as a resource, flushed before commit and dropped when the transaction rolls
+ * back, since its events describe changes which never happened.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+final class TransactionFlusher extends TransactionSynchronizationAdapter {
+    private final Object key;
+    private final BatchingListener<?>.Buffer buffer;
+
+    private TransactionFlusher(final Object key, final BatchingListener<?>.Buffer buffer) {
+        this.key = key;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Check if synchronization of transaction is active in current thread.
+     */
+    protected static boolean isActive() {
+        return TransactionSynchronizationManager.isSynchronizationActive();
+    }
+
+    /**
+     * Get the buffer bound to the transaction of current thread.
+     * 
+     * @param key unique to the listener
+     * @return the buffer, or null if the listener has not buffered events in current transaction
+     */
+    protected static Object getBuffer(final Object key) {
+        return TransactionSynchronizationManager.getResource(key);
+    }
+
+    /**
+     * Bind the buffer to the transaction of current thread, which is flushed before commit.
+     * 
+     * @param key unique to the listener
+     * @param buffer of the listener for current transaction
+     */
+    protected static void register(final Object key, final BatchingListener<?>.Buffer buffer) {
+        TransactionSynchronizationManager.bindResource(key, buffer);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionFlusher(key, buffer));
+    }
+
+    /**
+     * Flush events buffered in the transaction, so that the batch listener runs in the transaction as well.
+     */
+    @Override
+    public void beforeCommit(final boolean readOnly) {
+        buffer.flush();
+    }
+
+    /**
+     * Unbind the buffer, flush events buffered after commit, and drop events left by rollback.
+     */
+    @Override
+    public void afterCompletion(final int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(key);
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            buffer.flush();
+        }
+    }
+}
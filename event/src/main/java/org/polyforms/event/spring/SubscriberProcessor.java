@@ -1,201 +1,543 @@
-package org.polyforms.event.spring;
-
-import java.lang.reflect.Method;
-
-import org.polyforms.event.Subscriber;
-import org.polyforms.event.bus.Listener;
-import org.polyforms.event.bus.ListenerRegistry;
-import org.polyforms.event.bus.support.MethodInvocationEvent;
-import org.polyforms.parameter.ArgumentProvider;
-import org.polyforms.parameter.ParameterMatcher;
-import org.polyforms.parameter.support.MethodParameter;
-import org.polyforms.parameter.support.MethodParameterMatcher;
-import org.polyforms.parameter.support.MethodParameters;
-import org.polyforms.util.ConversionUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.BeanFactory;
-import org.springframework.beans.factory.BeanFactoryAware;
-import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
-import org.springframework.core.Ordered;
-import org.springframework.core.PriorityOrdered;
-import org.springframework.core.annotation.AnnotationUtils;
-import org.springframework.core.convert.ConversionService;
-import org.springframework.stereotype.Component;
-import org.springframework.util.ReflectionUtils;
-
-/**
- * BeanPostProcessor to register and unregister event subscribers annotated by {@link Subscriber}.
- * 
- * @author Kuisong Tong
- * @since 1.0
- */
-@Component
-public class SubscriberProcessor implements PriorityOrdered, BeanFactoryAware, DestructionAwareBeanPostProcessor {
-    private static final Logger LOGGER = LoggerFactory.getLogger(SubscriberProcessor.class);
-    private final int order = Ordered.LOWEST_PRECEDENCE - 1;
-    private final ParameterMatcher<MethodParameter, MethodParameter> parameterMatcher = new MethodParameterMatcher();
-    private ConversionService conversionService;
-    private ListenerRegistry listenerRegistry;
-    private BeanFactory beanFactory;
-
-    /**
-     * {@inheritDoc}
-     */
-    public Object postProcessBeforeInitialization(final Object bean, final String beanName) {
-        return bean;
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
-        process(beanName, bean, new Action() {
-            @Override
-            protected void run(final String type, final Listener<?> subscriber, final boolean async) {
-                getListenerRegistry().register(type, subscriber, async);
-                LOGGER.info("Register listener {} to {}.", new Object[] { subscriber, type });
-            }
-        });
-        return bean;
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    public void postProcessBeforeDestruction(final Object bean, final String beanName) {
-        process(beanName, bean, new Action() {
-            @Override
-            protected void run(final String type, final Listener<?> subscriber, final boolean async) {
-                getListenerRegistry().unregister(type, subscriber);
-                LOGGER.info("unregister listener {} from {}.", subscriber, type);
-            }
-        });
-    }
-
-    private void process(final String beanName, final Object bean, final Action action) {
-        if (beanFactory.containsBean(beanName)) {
-            LOGGER.debug("process {}.", beanName);
-            process(beanName, action, bean.getClass());
-        }
-    }
-
-    private void process(final String beanName, final Action action, final Class<?> clazz) {
-        LOGGER.debug("process methods of {}.", clazz.getName());
-
-        for (final Method method : clazz.getMethods()) {
-            final Subscriber subsciber = AnnotationUtils.findAnnotation(method, Subscriber.class);
-
-            if (subsciber != null) {
-                final String[] types = subsciber.value();
-                final boolean async = subsciber.async();
-                for (final String type : types) {
-                    action.run(type, new SpringBeanMethodInvoker(beanName, method), async);
-                }
-            }
-        }
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    public int getOrder() {
-        return order;
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    public void setBeanFactory(final BeanFactory factory) {
-        beanFactory = factory;
-    }
-
-    private ListenerRegistry getListenerRegistry() {
-        if (listenerRegistry == null) {
-            listenerRegistry = beanFactory.getBean(ListenerRegistry.class);
-        }
-        return listenerRegistry;
-    }
-
-    private abstract static class Action {
-        protected abstract void run(String type, Listener<?> subscriber, boolean async);
-    }
-
-    protected class SpringBeanMethodInvoker implements Listener<MethodInvocationEvent> {
-        private final String beanName;
-        private final Method method;
-
-        protected SpringBeanMethodInvoker(final String beanName, final Method method) {
-            this.beanName = beanName;
-            this.method = method;
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        public void onEvent(final MethodInvocationEvent event) {
-            final Object bean = beanFactory.getBean(beanName);
-            final Object[] convertedArguments = convertArguments(event, bean);
-            ReflectionUtils.invokeMethod(method, bean, convertedArguments);
-        }
-
-        private Object[] convertArguments(final MethodInvocationEvent event, final Object bean) {
-            final Object[] matchedArguments = matchParameters(event, bean);
-
-            final Object[] convertedArguments = ConversionUtils.convertArguments(getConversionService(),
-                    bean.getClass(), method, matchedArguments);
-
-            return convertedArguments;
-        }
-
-        private Object[] matchParameters(final MethodInvocationEvent event, final Object bean) {
-            final ArgumentProvider[] argumentsProviders = parameterMatcher.match(
-                    new ReturnValueParameters<MethodParameter>(new MethodParameters(event.getTargetClass(), event
-                            .getMethod())), new MethodParameters(bean.getClass(), method));
-
-            final Object[] arguments = event.getArguments();
-            final Object[] matchedArguments = new Object[argumentsProviders.length];
-            for (int i = 0; i < matchedArguments.length; i++) {
-                matchedArguments[i] = argumentsProviders[i].get(arguments);
-            }
-
-            return matchedArguments;
-        }
-
-        private ConversionService getConversionService() {
-            if (conversionService == null) {
-                conversionService = beanFactory.getBean(ConversionService.class);
-            }
-            return conversionService;
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + beanName.hashCode();
-            result = prime * result + method.hashCode();
-            return result;
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public boolean equals(final Object obj) {
-            if (this == obj) {
-                return true;
-            }
-
-            if (!(obj instanceof SpringBeanMethodInvoker)) {
-                return false;
-            }
-
-            final SpringBeanMethodInvoker other = (SpringBeanMethodInvoker) obj;
-            return beanName.equals(other.beanName) && method.equals(other.method);
-        }
-    }
-}
+package org.polyforms.event.spring;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.polyforms.event.PartitionKey;
+import org.polyforms.event.Subscriber;
+import org.polyforms.event.bus.BatchListener;
+import org.polyforms.event.bus.KeySelector;
+import org.polyforms.event.bus.Listener;
+import org.polyforms.event.bus.ListenerRegistry;
+import org.polyforms.event.bus.PartitionedListenerRegistry;
+import org.polyforms.event.bus.support.AsyncDispatcher;
+import org.polyforms.event.bus.support.BatchingListener;
+import org.polyforms.event.bus.support.MethodInvocationEvent;
+import org.polyforms.parameter.ArgumentProvider;
+import org.polyforms.parameter.support.ArgumentMapper;
+import org.polyforms.parameter.support.MethodParameter;
+import org.polyforms.parameter.support.MethodParameterMatcher;
+import org.polyforms.parameter.support.MethodParameters;
+import org.polyforms.util.ConversionPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.core.GenericCollectionTypeResolver;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.stereotype.Component;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * BeanPostProcessor to register and unregister event subscribers annotated by {@link Subscriber}.
+ * 
+ * Subscribers in batch are registered as {@link BatchingListener}, and their buffered events are flushed before the
+ * beans are destroyed. The windows of asynchronous subscribers in batch are expired by a scheduler owned by the
+ * processor, which hands the batches to the {@link AsyncDispatcher} bean, or a dispatcher owned by the processor if
+ * there is no such bean. Asynchronous subscribers with a parameter annotated by {@link PartitionKey} are registered
+ * with the argument of the parameter as the key of event if the registry is a {@link PartitionedListenerRegistry}, and
+ * as ordinary asynchronous subscribers otherwise.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+@Component
+public class SubscriberProcessor implements PriorityOrdered, BeanFactoryAware, DestructionAwareBeanPostProcessor,
+        DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubscriberProcessor.class);
+    private static final long DEFAULT_SHUTDOWN_TIMEOUT = 30;
+    private final int order = Ordered.LOWEST_PRECEDENCE - 1;
+    private final MethodParameterMatcher parameterMatcher = new MethodParameterMatcher();
+    private final ConcurrentMap<Listener<?>, BatchingListener<?>> batchingListeners =
+            new ConcurrentHashMap<Listener<?>, BatchingListener<?>>();
+    private ConversionService conversionService;
+    private ListenerRegistry listenerRegistry;
+    private BeanFactory beanFactory;
+    private ScheduledExecutorService batchScheduler;
+    private AsyncDispatcher asyncDispatcher;
+    private boolean asyncDispatcherOwned;
+    private long shutdownTimeout = DEFAULT_SHUTDOWN_TIMEOUT;
+
+    /**
+     * {@inheritDoc}
+     */
+    public Object postProcessBeforeInitialization(final Object bean, final String beanName) {
+        return bean;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        process(beanName, bean, new Action() {
+            @Override
+            protected void run(final String type, final Listener<?> subscriber, final boolean async,
+                    final KeySelector<?> keySelector) {
+                if (subscriber instanceof BatchingListener) {
+                    batchingListeners.putIfAbsent(subscriber, (BatchingListener<?>) subscriber);
+                }
+                final ListenerRegistry registry = getListenerRegistry();
+                if (keySelector != null && registry instanceof PartitionedListenerRegistry) {
+                    ((PartitionedListenerRegistry) registry).register(type, subscriber, keySelector);
+                } else {
+                    registry.register(type, subscriber, async);
+                }
+                LOGGER.info("Register listener {} to {}.", new Object[] { subscriber, type });
+            }
+        });
+        return bean;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void postProcessBeforeDestruction(final Object bean, final String beanName) {
+        process(beanName, bean, new Action() {
+            @Override
+            protected void run(final String type, final Listener<?> subscriber, final boolean async,
+                    final KeySelector<?> keySelector) {
+                getListenerRegistry().unregister(type, subscriber);
+                LOGGER.info("unregister listener {} from {}.", subscriber, type);
+                final BatchingListener<?> batchingListener = batchingListeners.remove(subscriber);
+                if (batchingListener != null) {
+                    ((SpringBeanMethodInvoker) batchingListener.getBatchListener()).bindBean(bean);
+                    batchingListener.flush();
+                }
+            }
+        });
+    }
+
+    private void process(final String beanName, final Object bean, final Action action) {
+        if (beanFactory.containsBean(beanName)) {
+            LOGGER.debug("process {}.", beanName);
+            process(beanName, action, bean.getClass());
+        }
+    }
+
+    private void process(final String beanName, final Action action, final Class<?> clazz) {
+        LOGGER.debug("process methods of {}.", clazz.getName());
+
+        for (final Method method : clazz.getMethods()) {
+            final Subscriber subsciber = AnnotationUtils.findAnnotation(method, Subscriber.class);
+
+            if (subsciber != null) {
+                final String[] types = subsciber.value();
+                final boolean async = subsciber.async();
+                final int keyIndex = indexOfPartitionKey(method);
+                for (final String type : types) {
+                    final Listener<MethodInvocationEvent> listener = createListener(beanName, method, subsciber,
+                            async);
+                    action.run(type, listener, async, keyIndex < 0 ? null : createKeySelector(listener, async,
+                            keyIndex));
+                }
+            }
+        }
+    }
+
+    private Listener<MethodInvocationEvent> createListener(final String beanName, final Method method,
+            final Subscriber subscriber, final boolean async) {
+        if (subscriber.batchSize() <= 0 && subscriber.batchWindow() <= 0) {
+            return new SpringBeanMethodInvoker(beanName, method);
+        }
+
+        final String coalesceBy = subscriber.coalesceBy();
+        final KeySelector<MethodInvocationEvent> keySelector = StringUtils.hasText(coalesceBy)
+                ? new ArgumentKeySelector(coalesceBy) : null;
+        final SpringBeanBatchInvoker batchInvoker = new SpringBeanBatchInvoker(beanName, method);
+        final int batchSize = Math.max(subscriber.batchSize(), 0);
+        final long batchWindow = Math.max(subscriber.batchWindow(), 0);
+        if (!async || batchWindow == 0) {
+            return new BatchingListener<MethodInvocationEvent>(batchInvoker, batchSize, batchWindow, keySelector);
+        }
+
+        return new BatchingListener<MethodInvocationEvent>(batchInvoker, batchSize, batchWindow, keySelector,
+                getBatchScheduler(), getAsyncDispatcher());
+    }
+
+    private synchronized ScheduledExecutorService getBatchScheduler() {
+        if (batchScheduler == null) {
+            final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("polyforms-event-batch-");
+            threadFactory.setDaemon(true);
+            batchScheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        }
+        return batchScheduler;
+    }
+
+    private synchronized AsyncDispatcher getAsyncDispatcher() {
+        if (asyncDispatcher == null) {
+            try {
+                asyncDispatcher = beanFactory.getBean(AsyncDispatcher.class);
+            } catch (final NoSuchBeanDefinitionException e) {
+                LOGGER.debug("Create asynchronous dispatcher for subscribers in batch.");
+                asyncDispatcher = new AsyncDispatcher();
+                asyncDispatcherOwned = true;
+            }
+        }
+        return asyncDispatcher;
+    }
+
+    /**
+     * Set the maximum seconds to wait for batches delivered asynchronously when the processor is destroyed, 30 by
+     * default.
+     */
+    public void setShutdownTimeout(final long shutdownTimeout) {
+        Assert.isTrue(shutdownTimeout >= 0, "The timeout of shutdown must not be negative.");
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    /**
+     * Stop expiring windows of subscribers in batch, and shut down the dispatcher created by the processor.
+     */
+    public synchronized void destroy() throws InterruptedException {
+        if (batchScheduler != null) {
+            batchScheduler.shutdownNow();
+        }
+
+        if (asyncDispatcherOwned && !asyncDispatcher.shutdown(shutdownTimeout, TimeUnit.SECONDS)) {
+            LOGGER.warn("{} batches of asynchronous events are not completed in {} seconds.", asyncDispatcher
+                    .getQueueSize(), shutdownTimeout);
+        }
+    }
+
+    private int indexOfPartitionKey(final Method method) {
+        final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            for (final Annotation annotation : parameterAnnotations[i]) {
+                if (annotation instanceof PartitionKey) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private KeySelector<MethodInvocationEvent> createKeySelector(final Listener<MethodInvocationEvent> listener,
+            final boolean async, final int keyIndex) {
+        Assert.isTrue(async, "The partition key only applies to asynchronous subscriber.");
+        Assert.isTrue(listener instanceof SpringBeanMethodInvoker,
+                "The partition key does not apply to subscriber in batch.");
+        return new ParameterKeySelector(((SpringBeanMethodInvoker) listener).getMethod(), keyIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getOrder() {
+        return order;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setBeanFactory(final BeanFactory factory) {
+        beanFactory = factory;
+    }
+
+    private ArgumentMapper compile(final Class<?> sourceClass, final Method sourceMethod,
+            final MethodParameters targetParameters) {
+        final ArgumentMapper argumentMapper = parameterMatcher.compile(new ReturnValueParameters<MethodParameter>(
+                new MethodParameters(sourceClass, sourceMethod)), targetParameters);
+        final ArgumentProvider[] argumentProviders = argumentMapper.getArgumentProviders();
+        final MethodParameter[] parameters = targetParameters.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].getAnnotation() != null) {
+                argumentProviders[i].validate(sourceMethod);
+            }
+        }
+        return argumentMapper;
+    }
+
+    private ListenerRegistry getListenerRegistry() {
+        if (listenerRegistry == null) {
+            listenerRegistry = beanFactory.getBean(ListenerRegistry.class);
+        }
+        return listenerRegistry;
+    }
+
+    private abstract static class Action {
+        protected abstract void run(String type, Listener<?> subscriber, boolean async, KeySelector<?> keySelector);
+    }
+
+    /**
+     * Listener invoking subscriber method of bean. Each publisher method is compiled once into mapping and conversion
+     * of arguments, and the bean is resolved once if it is a singleton.
+     */
+    protected class SpringBeanMethodInvoker implements Listener<MethodInvocationEvent> {
+        private final String beanName;
+        private final Method method;
+        private final ConcurrentMap<Method, CompiledInvocation> invocations =
+                new ConcurrentHashMap<Method, CompiledInvocation>();
+        private volatile Boolean singleton;
+        private volatile Object singletonBean;
+
+        protected SpringBeanMethodInvoker(final String beanName, final Method method) {
+            this.beanName = beanName;
+            this.method = method;
+            ReflectionUtils.makeAccessible(method);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void onEvent(final MethodInvocationEvent event) {
+            final Object bean = getBean();
+            ReflectionUtils.invokeMethod(method, bean, getArguments(event, bean.getClass()));
+        }
+
+        /**
+         * Get arguments of subscriber method mapped and converted from arguments of event.
+         */
+        protected Object[] getArguments(final MethodInvocationEvent event, final Class<?> beanClass) {
+            final CompiledInvocation invocation = getInvocation(event, beanClass);
+            return invocation.conversionPlan.convertArguments(getConversionService(),
+                    invocation.argumentMapper.map(event.getArguments()));
+        }
+
+        protected Method getMethod() {
+            return method;
+        }
+
+        /**
+         * Use the bean for following events instead of looking up it, such as the bean being destroyed.
+         */
+        protected void bindBean(final Object bean) {
+            singletonBean = bean;
+        }
+
+        protected Object getBean() {
+            final Object cachedBean = singletonBean;
+            if (cachedBean != null) {
+                return cachedBean;
+            }
+
+            final Object bean = beanFactory.getBean(beanName);
+            if (singleton == null) {
+                singleton = beanFactory.isSingleton(beanName);
+            }
+            if (singleton) {
+                singletonBean = bean;
+            }
+            return bean;
+        }
+
+        protected CompiledInvocation getInvocation(final MethodInvocationEvent event, final Class<?> beanClass) {
+            final Method sourceMethod = event.getMethod();
+            final Class<?> sourceClass = event.getTargetClass();
+            CompiledInvocation invocation = invocations.get(sourceMethod);
+            if (invocation == null || invocation.sourceClass != sourceClass || invocation.beanClass != beanClass) {
+                final ArgumentMapper argumentMapper = compile(sourceClass, sourceMethod,
+                        getTargetParameters(beanClass));
+                invocation = new CompiledInvocation(sourceClass, beanClass, argumentMapper, ConversionPlan.get(
+                        beanClass, method));
+                invocations.put(sourceMethod, invocation);
+            }
+            return invocation;
+        }
+
+        /**
+         * Get parameters of subscriber method which arguments of event are mapped to.
+         */
+        protected MethodParameters getTargetParameters(final Class<?> beanClass) {
+            return new MethodParameters(beanClass, method);
+        }
+
+        protected ConversionService getConversionService() {
+            if (conversionService == null) {
+                conversionService = beanFactory.getBean(ConversionService.class);
+            }
+            return conversionService;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            final int prime = 31;
+            int result = 1;
+            result = prime * result + beanName.hashCode();
+            result = prime * result + method.hashCode();
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof SpringBeanMethodInvoker)) {
+                return false;
+            }
+
+            final SpringBeanMethodInvoker other = (SpringBeanMethodInvoker) obj;
+            return beanName.equals(other.beanName) && method.equals(other.method);
+        }
+    }
+
+    /**
+     * Listener invoking subscriber method of bean with a batch of events. Arguments of each event are mapped to an
+     * element of the list, which is converted to the parameter of subscriber method as a whole.
+     */
+    protected class SpringBeanBatchInvoker extends SpringBeanMethodInvoker implements
+            BatchListener<MethodInvocationEvent> {
+        private final Class<?> elementType;
+
+        protected SpringBeanBatchInvoker(final String beanName, final Method method) {
+            super(beanName, method);
+            final Class<?>[] parameterTypes = method.getParameterTypes();
+            Assert.isTrue(parameterTypes.length == 1 && parameterTypes[0].isAssignableFrom(List.class),
+                    "The subscriber method in batch must have only one parameter of List.");
+            final Class<?> collectionParameterType = GenericCollectionTypeResolver
+                    .getCollectionParameterType(new org.springframework.core.MethodParameter(method, 0));
+            elementType = collectionParameterType == null ? Object.class : collectionParameterType;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onEvent(final MethodInvocationEvent event) {
+            onEvents(Collections.singletonList(event));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void onEvents(final List<MethodInvocationEvent> events) {
+            final Object bean = getBean();
+            final List<Object> elements = new ArrayList<Object>(events.size());
+            for (final MethodInvocationEvent event : events) {
+                elements.add(getInvocation(event, bean.getClass()).argumentMapper.map(event.getArguments())[0]);
+            }
+
+            final Method method = getMethod();
+            final Object[] arguments = ConversionPlan.get(bean.getClass(), method).convertArguments(
+                    getConversionService(), new Object[] { elements });
+            ReflectionUtils.invokeMethod(method, bean, arguments);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected MethodParameters getTargetParameters(final Class<?> beanClass) {
+            final MethodParameters targetParameters = super.getTargetParameters(beanClass);
+            targetParameters.getParameters()[0].setType(elementType);
+            return targetParameters;
+        }
+    }
+
+    /**
+     * Selector using an argument of publisher, or its return value, as the key to coalesce events.
+     */
+    private static final class ArgumentKeySelector implements KeySelector<MethodInvocationEvent> {
+        private final String name;
+        private final ConcurrentMap<Method, Integer> indexes = new ConcurrentHashMap<Method, Integer>();
+
+        private ArgumentKeySelector(final String name) {
+            this.name = name;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Object select(final MethodInvocationEvent event) {
+            final Method sourceMethod = event.getMethod();
+            Integer index = indexes.get(sourceMethod);
+            if (index == null) {
+                index = indexOf(event.getTargetClass(), sourceMethod);
+                indexes.put(sourceMethod, index);
+            }
+
+            final Object[] arguments = event.getArguments();
+            Assert.isTrue(index < arguments.length, "The event " + event.getName() + " does not carry " + name + ".");
+            return arguments[index];
+        }
+
+        private int indexOf(final Class<?> sourceClass, final Method sourceMethod) {
+            for (final MethodParameter parameter : new ReturnValueParameters<MethodParameter>(new MethodParameters(
+                    sourceClass, sourceMethod)).getParameters()) {
+                if (name.equals(parameter.getName())) {
+                    return parameter.getIndex();
+                }
+            }
+            throw new IllegalArgumentException("Cannot find argument " + name + " of " + sourceMethod + ".");
+        }
+    }
+
+    /**
+     * Selector using an argument of subscriber method as the key of event. Only the provider of the argument is
+     * compiled for each publisher method and applied to arguments of event, without the bean or conversion.
+     */
+    private final class ParameterKeySelector implements KeySelector<MethodInvocationEvent> {
+        private final Method method;
+        private final int index;
+        private final ConcurrentMap<Method, CompiledKey> keys = new ConcurrentHashMap<Method, CompiledKey>();
+
+        private ParameterKeySelector(final Method method, final int index) {
+            this.method = method;
+            this.index = index;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Object select(final MethodInvocationEvent event) {
+            final Method sourceMethod = event.getMethod();
+            final Class<?> sourceClass = event.getTargetClass();
+            CompiledKey key = keys.get(sourceMethod);
+            if (key == null || key.sourceClass != sourceClass) {
+                key = new CompiledKey(sourceClass, compile(sourceClass, sourceMethod,
+                        new MethodParameters(method.getDeclaringClass(), method)).getArgumentProviders()[index]);
+                keys.put(sourceMethod, key);
+            }
+            return key.argumentProvider.get(event.getArguments());
+        }
+    }
+
+    private static final class CompiledKey {
+        private final Class<?> sourceClass;
+        private final ArgumentProvider argumentProvider;
+
+        private CompiledKey(final Class<?> sourceClass, final ArgumentProvider argumentProvider) {
+            this.sourceClass = sourceClass;
+            this.argumentProvider = argumentProvider;
+        }
+    }
+
+    private static final class CompiledInvocation {
+        private final Class<?> sourceClass;
+        private final Class<?> beanClass;
+        private final ArgumentMapper argumentMapper;
+        private final ConversionPlan conversionPlan;
+
+        private CompiledInvocation(final Class<?> sourceClass, final Class<?> beanClass,
+                final ArgumentMapper argumentMapper, final ConversionPlan conversionPlan) {
+            this.sourceClass = sourceClass;
+            this.beanClass = beanClass;
+            this.argumentMapper = argumentMapper;
+            this.conversionPlan = conversionPlan;
+        }
+    }
+}
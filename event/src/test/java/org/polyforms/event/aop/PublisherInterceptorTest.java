@@ -3,6 +3,7 @@ package org.polyforms.event.aop;
 import junit.framework.Assert;
 
 import org.aopalliance.intercept.MethodInvocation;
+import org.easymock.Capture;
 import org.easymock.EasyMock;
 import org.junit.Before;
 import org.junit.Test;
@@ -10,15 +11,16 @@ import org.polyforms.event.Publisher;
 import org.polyforms.event.Publisher.When;
 import org.polyforms.event.Publishers;
 import org.polyforms.event.bus.EventBus;
+import org.polyforms.event.bus.ListenerInspector;
 import org.polyforms.event.bus.support.MethodInvocationEvent;
 
 public class PublisherInterceptorTest {
     private PublisherInterceptor publishInterceptor;
-    private EventBus eventBus;
+    private InspectableEventBus eventBus;
 
     @Before
     public void setUp() {
-        eventBus = EasyMock.createMock(EventBus.class);
+        eventBus = EasyMock.createMock(InspectableEventBus.class);
         publishInterceptor = new PublisherInterceptor(eventBus);
     }
 
@@ -33,6 +35,8 @@ public class PublisherInterceptorTest {
         EasyMock.expectLastCall().andReturn(this.getClass().getMethod("publisherMethod", new Class<?>[0]));
         methodInvocation.getArguments();
         EasyMock.expectLastCall().andReturn(arguments);
+        eventBus.hasListeners("publisher");
+        EasyMock.expectLastCall().andReturn(true);
         eventBus.publish(EasyMock.isA(MethodInvocationEvent.class));
         methodInvocation.proceed();
         EasyMock.expectLastCall().andReturn(returnValue);
@@ -52,6 +56,8 @@ public class PublisherInterceptorTest {
         EasyMock.expectLastCall().andReturn(this.getClass().getMethod("publishersMethod", new Class<?>[0]));
         methodInvocation.getArguments();
         EasyMock.expectLastCall().andReturn(arguments);
+        eventBus.hasListeners("publisher");
+        EasyMock.expectLastCall().andReturn(true);
         eventBus.publish(EasyMock.isA(MethodInvocationEvent.class));
         methodInvocation.proceed();
         EasyMock.expectLastCall().andReturn(null);
@@ -61,6 +67,67 @@ public class PublisherInterceptorTest {
         EasyMock.verify(eventBus);
     }
 
+    @Test
+    public void publishReturnValue() throws Throwable {
+        final Object returnValue = new Object();
+        final MethodInvocation methodInvocation = mockMethodInvocation("publishersMethod", returnValue);
+        final Capture<MethodInvocationEvent> event = new Capture<MethodInvocationEvent>();
+        eventBus.hasListeners("publisher");
+        EasyMock.expectLastCall().andReturn(true);
+        eventBus.publish(EasyMock.capture(event));
+        EasyMock.replay(methodInvocation, eventBus);
+
+        publishInterceptor.invoke(methodInvocation);
+        Assert.assertSame(returnValue, event.getValue().getArguments()[1]);
+        EasyMock.verify(eventBus);
+    }
+
+    @Test
+    public void publishToEventBusWithoutInspector() throws Throwable {
+        final EventBus eventBus = EasyMock.createMock(EventBus.class);
+        final MethodInvocation methodInvocation = mockMethodInvocation("publishersMethod", null);
+        eventBus.publish(EasyMock.isA(MethodInvocationEvent.class));
+        EasyMock.replay(methodInvocation, eventBus);
+
+        new PublisherInterceptor(eventBus).invoke(methodInvocation);
+        EasyMock.verify(eventBus);
+    }
+
+    @Test
+    public void skipWithoutListeners() throws Throwable {
+        final MethodInvocation methodInvocation = mockMethodInvocation("publishersMethod", null);
+        eventBus.hasListeners("publisher");
+        EasyMock.expectLastCall().andReturn(false).times(2);
+        EasyMock.replay(methodInvocation, eventBus);
+
+        publishInterceptor.invoke(methodInvocation);
+        publishInterceptor.invoke(methodInvocation);
+        EasyMock.verify(eventBus);
+    }
+
+    @Test
+    public void withoutPublisher() throws Throwable {
+        final MethodInvocation methodInvocation = mockMethodInvocation("toString", null);
+        EasyMock.replay(methodInvocation, eventBus);
+
+        publishInterceptor.invoke(methodInvocation);
+        EasyMock.verify(eventBus);
+    }
+
+    private MethodInvocation mockMethodInvocation(final String methodName, final Object returnValue)
+            throws Throwable {
+        final MethodInvocation methodInvocation = EasyMock.createMock(MethodInvocation.class);
+        methodInvocation.getThis();
+        EasyMock.expectLastCall().andReturn(this).anyTimes();
+        methodInvocation.getMethod();
+        EasyMock.expectLastCall().andReturn(this.getClass().getMethod(methodName, new Class<?>[0])).anyTimes();
+        methodInvocation.getArguments();
+        EasyMock.expectLastCall().andReturn(new Object[] { "argument" }).anyTimes();
+        methodInvocation.proceed();
+        EasyMock.expectLastCall().andReturn(returnValue).anyTimes();
+        return methodInvocation;
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void newInstanceWithNull() {
         new PublisherInterceptor(null);
@@ -79,4 +146,7 @@ public class PublisherInterceptorTest {
     @Publishers(@Publisher("publisher"))
     public void publishersMethod() {
     }
+
+    private interface InspectableEventBus extends EventBus, ListenerInspector {
+    }
 }
@@ -0,0 +1,190 @@
+package org.polyforms.event.bus.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.polyforms.event.bus.support.AsyncDispatcher.BackPressurePolicy;
+
+public class AsyncDispatcherTest {
+    private final List<Runnable> pendingDrainers = Collections.synchronizedList(new ArrayList<Runnable>());
+    private final Executor manualExecutor = new Executor() {
+        public void execute(final Runnable command) {
+            pendingDrainers.add(command);
+        }
+    };
+
+    @Test
+    public void dispatch() throws InterruptedException {
+        final AsyncDispatcher dispatcher = new AsyncDispatcher();
+        final int tasks = 100;
+        final CountDownLatch latch = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i++) {
+            dispatcher.dispatch(new Runnable() {
+                public void run() {
+                    latch.countDown();
+                }
+            });
+        }
+
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(dispatcher.shutdown(10, TimeUnit.SECONDS));
+        Assert.assertTrue(dispatcher.isShutdown());
+    }
+
+    @Test
+    public void drainOnShutdown() throws InterruptedException {
+        final List<Integer> results = Collections.synchronizedList(new ArrayList<Integer>());
+        final AsyncDispatcher dispatcher = new AsyncDispatcher();
+        for (int i = 0; i < 10; i++) {
+            dispatcher.dispatch(new RecordingTask(results, i));
+        }
+
+        Assert.assertTrue(dispatcher.shutdown(10, TimeUnit.SECONDS));
+        Assert.assertEquals(10, results.size());
+        Assert.assertEquals(0, dispatcher.getQueueSize());
+    }
+
+    @Test
+    public void runInCallerAfterShutdown() throws InterruptedException {
+        final List<Integer> results = new ArrayList<Integer>();
+        final AsyncDispatcher dispatcher = new AsyncDispatcher(manualExecutor, 1, 1, BackPressurePolicy.BLOCK);
+        Assert.assertTrue(dispatcher.shutdown(0, TimeUnit.SECONDS));
+
+        dispatcher.dispatch(new RecordingTask(results, 1));
+        Assert.assertEquals(1, results.size());
+        Assert.assertTrue(pendingDrainers.isEmpty());
+    }
+
+    @Test
+    public void runInCallerIfRejected() {
+        final List<Integer> results = new ArrayList<Integer>();
+        final AsyncDispatcher dispatcher = new AsyncDispatcher(new Executor() {
+            public void execute(final Runnable command) {
+                throw new RejectedExecutionException();
+            }
+        }, 1, 1, BackPressurePolicy.BLOCK);
+
+        dispatcher.dispatch(new RecordingTask(results, 1));
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals(0, dispatcher.getQueueSize());
+    }
+
+    @Test
+    public void timeoutOnShutdown() throws InterruptedException {
+        final AsyncDispatcher dispatcher = new AsyncDispatcher(manualExecutor, 1, 1, BackPressurePolicy.BLOCK);
+        dispatcher.dispatch(new RecordingTask(new ArrayList<Integer>(), 1));
+        Assert.assertFalse(dispatcher.shutdown(0, TimeUnit.SECONDS));
+        Assert.assertEquals(1, dispatcher.getQueueSize());
+    }
+
+    @Test
+    public void callerRuns() {
+        final List<Integer> results = new ArrayList<Integer>();
+        final AsyncDispatcher dispatcher = new AsyncDispatcher(manualExecutor, 1, 1, BackPressurePolicy.CALLER_RUNS);
+        dispatcher.dispatch(new RecordingTask(results, 1));
+        dispatcher.dispatch(new RecordingTask(results, 2));
+        Assert.assertEquals(Collections.singletonList(2), results);
+        Assert.assertEquals(1, dispatcher.getCallerRunsCount());
+        Assert.assertEquals(1, pendingDrainers.size());
+
+        pendingDrainers.remove(0).run();
+        Assert.assertEquals(2, results.size());
+        Assert.assertEquals(1, results.get(1).intValue());
+    }
+
+    @Test
+    public void dropOldest() {
+        final List<Integer> results = new ArrayList<Integer>();
+        final AsyncDispatcher dispatcher = new AsyncDispatcher(manualExecutor, 1, 2, BackPressurePolicy.DROP_OLDEST);
+        for (int i = 1; i <= 4; i++) {
+            dispatcher.dispatch(new RecordingTask(results, i));
+        }
+        Assert.assertEquals(2, dispatcher.getDroppedCount());
+
+        pendingDrainers.remove(0).run();
+        Assert.assertEquals(3, results.get(0).intValue());
+        Assert.assertEquals(4, results.get(1).intValue());
+    }
+
+    @Test
+    public void block() throws InterruptedException {
+        final List<Integer> results = Collections.synchronizedList(new ArrayList<Integer>());
+        final AsyncDispatcher dispatcher = new AsyncDispatcher(manualExecutor, 1, 1, BackPressurePolicy.BLOCK);
+        dispatcher.dispatch(new RecordingTask(results, 1));
+
+        final Thread publisher = new Thread() {
+            @Override
+            public void run() {
+                dispatcher.dispatch(new RecordingTask(results, 2));
+            }
+        };
+        publisher.start();
+        while (dispatcher.getBlockedCount() == 0) {
+            Thread.sleep(1);
+        }
+        Assert.assertTrue(results.isEmpty());
+
+        final Runnable drainer = pendingDrainers.remove(0);
+        drainer.run();
+        publisher.join();
+        while (!pendingDrainers.isEmpty()) {
+            pendingDrainers.remove(0).run();
+        }
+        Assert.assertEquals(2, results.size());
+    }
+
+    @Test
+    public void countFailures() {
+        final AsyncDispatcher dispatcher = new AsyncDispatcher(manualExecutor, 1, 1, BackPressurePolicy.CALLER_RUNS);
+        dispatcher.dispatch(new Runnable() {
+            public void run() {
+                throw new IllegalStateException();
+            }
+        });
+        pendingDrainers.remove(0).run();
+        Assert.assertEquals(1, dispatcher.getFailureCount());
+    }
+
+    @Test
+    public void drainAfterError() throws InterruptedException {
+        final List<Integer> results = new ArrayList<Integer>();
+        final AsyncDispatcher dispatcher = new AsyncDispatcher(manualExecutor, 1, 2, BackPressurePolicy.BLOCK);
+        dispatcher.dispatch(new Runnable() {
+            public void run() {
+                throw new AssertionError();
+            }
+        });
+        dispatcher.dispatch(new RecordingTask(results, 1));
+        pendingDrainers.remove(0).run();
+
+        Assert.assertEquals(Collections.singletonList(1), results);
+        Assert.assertEquals(1, dispatcher.getFailureCount());
+        Assert.assertTrue(dispatcher.shutdown(0, TimeUnit.SECONDS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidQueueCapacity() {
+        new AsyncDispatcher(manualExecutor, 1, 0, BackPressurePolicy.BLOCK);
+    }
+
+    private static final class RecordingTask implements Runnable {
+        private final List<Integer> results;
+        private final int value;
+
+        private RecordingTask(final List<Integer> results, final int value) {
+            this.results = results;
+            this.value = value;
+        }
+
+        public void run() {
+            results.add(value);
+        }
+    }
+}
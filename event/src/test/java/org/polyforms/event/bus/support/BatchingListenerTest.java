@@ -0,0 +1,211 @@
+package org.polyforms.event.bus.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.polyforms.event.bus.BatchListener;
+import org.polyforms.event.bus.Event;
+import org.polyforms.event.bus.KeySelector;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class BatchingListenerTest {
+    private final List<List<Event>> batches = Collections.synchronizedList(new ArrayList<List<Event>>());
+    private final BatchListener<Event> batchListener = new BatchListener<Event>() {
+        public void onEvents(final List<Event> events) {
+            batches.add(events);
+        }
+    };
+
+    @Test
+    public void flushBySize() {
+        final BatchingListener<Event> listener = new BatchingListener<Event>(batchListener, 2, 0);
+        final Event first = new Event("first");
+        final Event second = new Event("second");
+        listener.onEvent(first);
+        Assert.assertTrue(batches.isEmpty());
+
+        listener.onEvent(second);
+        Assert.assertEquals(1, batches.size());
+        Assert.assertEquals(Arrays.asList(first, second), batches.get(0));
+    }
+
+    @Test
+    public void flushByWindow() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final Thread[] threads = new Thread[1];
+        executor.execute(new Runnable() {
+            public void run() {
+                threads[0] = Thread.currentThread();
+            }
+        });
+        try {
+            final BatchingListener<Event> listener = new BatchingListener<Event>(new BatchListener<Event>() {
+                public void onEvents(final List<Event> events) {
+                    batches.add(events);
+                    Assert.assertSame(threads[0], Thread.currentThread());
+                    latch.countDown();
+                }
+            }, 0, 10, null, scheduler, executor);
+            final Event event = new Event("event");
+            listener.onEvent(event);
+
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals(Collections.singletonList(event), batches.get(0));
+        } finally {
+            scheduler.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void flushByWindowWhenNextEventComes() throws InterruptedException {
+        final BatchingListener<Event> listener = new BatchingListener<Event>(batchListener, 0, 10);
+        final Event first = new Event("first");
+        final Event second = new Event("second");
+        listener.onEvent(first);
+        Thread.sleep(20);
+        Assert.assertTrue(batches.isEmpty());
+
+        listener.onEvent(second);
+        Assert.assertEquals(1, batches.size());
+        Assert.assertEquals(Arrays.asList(first, second), batches.get(0));
+    }
+
+    @Test
+    public void flushByTransaction() {
+        final BatchingListener<Event> listener = new BatchingListener<Event>(batchListener, 0, 60000);
+        final Event first = new Event("first");
+        final Event second = new Event("second");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            listener.onEvent(first);
+            listener.onEvent(second);
+            final List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager
+                    .getSynchronizations();
+            Assert.assertEquals(1, synchronizations.size());
+            Assert.assertTrue(batches.isEmpty());
+
+            synchronizations.get(0).beforeCommit(false);
+            Assert.assertEquals(Arrays.asList(first, second), batches.get(0));
+            synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            Assert.assertEquals(1, batches.size());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void flushOnlyEventsOfTransaction() throws Exception {
+        final BatchingListener<Event> listener = new BatchingListener<Event>(batchListener, 0, 60000);
+        final Event first = new Event("first");
+        final Event second = new Event("second");
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            listener.onEvent(first);
+            executor.submit(new Runnable() {
+                public void run() {
+                    listener.onEvent(second);
+                }
+            }).get();
+
+            TransactionSynchronizationManager.getSynchronizations().get(0).beforeCommit(false);
+            Assert.assertEquals(Collections.singletonList(Collections.singletonList(first)), batches);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            executor.shutdownNow();
+        }
+
+        listener.flush();
+        Assert.assertEquals(Collections.singletonList(second), batches.get(1));
+    }
+
+    @Test
+    public void flushBySizeInTransaction() {
+        final BatchingListener<Event> listener = new BatchingListener<Event>(batchListener, 2, 0);
+        final Event first = new Event("first");
+        final Event second = new Event("second");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            listener.onEvent(first);
+            listener.onEvent(second);
+            Assert.assertEquals(Arrays.asList(first, second), batches.get(0));
+
+            TransactionSynchronizationManager.getSynchronizations().get(0).beforeCommit(false);
+            Assert.assertEquals(1, batches.size());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void dropEventsOfRollback() {
+        final BatchingListener<Event> listener = new BatchingListener<Event>(batchListener, 0, 60000);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            listener.onEvent(new Event("event"));
+            TransactionSynchronizationManager.getSynchronizations().get(0).afterCompletion(
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        listener.flush();
+        Assert.assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    public void coalesce() {
+        final BatchingListener<Event> listener = new BatchingListener<Event>(batchListener, 0, 60000,
+                new KeySelector<Event>() {
+                    public Object select(final Event event) {
+                        return event.getName();
+                    }
+                });
+        final Event first = new Event("first");
+        final Event second = new Event("second");
+        final Event third = new Event("first");
+        listener.onEvent(first);
+        listener.onEvent(second);
+        listener.onEvent(third);
+        listener.flush();
+
+        Assert.assertEquals(1, batches.size());
+        Assert.assertEquals(Arrays.asList(second, third), batches.get(0));
+        Assert.assertEquals(1, listener.getCoalescedCount());
+    }
+
+    @Test
+    public void flushWithoutEvents() {
+        new BatchingListener<Event>(batchListener, 1, 0).flush();
+        Assert.assertTrue(batches.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void withoutSizeAndWindow() {
+        new BatchingListener<Event>(batchListener, 0, 0);
+    }
+
+    @Test
+    public void equalsByBatchListener() {
+        final BatchingListener<Event> listener = new BatchingListener<Event>(batchListener, 1, 0);
+        Assert.assertEquals(listener, new BatchingListener<Event>(batchListener, 2, 0));
+        Assert.assertEquals(listener.hashCode(), new BatchingListener<Event>(batchListener, 2, 0).hashCode());
+        Assert.assertFalse(listener.equals(new BatchingListener<Event>(new BatchListener<Event>() {
+            public void onEvents(final List<Event> events) {
+            }
+        }, 1, 0)));
+    }
+}
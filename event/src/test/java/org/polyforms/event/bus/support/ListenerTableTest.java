@@ -0,0 +1,32 @@
+package org.polyforms.event.bus.support;
+
+import org.easymock.EasyMock;
+import org.junit.Assert;
+import org.junit.Test;
+import org.polyforms.event.bus.Listener;
+
+public class ListenerTableTest {
+    private final ListenerTable listenerTable = new ListenerTable();
+    private final Listener<?> listener1 = EasyMock.createMock(Listener.class);
+    private final Listener<?> listener2 = EasyMock.createMock(Listener.class);
+
+    @Test
+    public void addAndRemove() {
+        Assert.assertEquals(0, listenerTable.get("event").length);
+        Assert.assertTrue(listenerTable.add("event", listener1));
+        Assert.assertFalse(listenerTable.add("event", listener1));
+        Assert.assertTrue(listenerTable.add("event", listener2));
+
+        final Listener<?>[] listeners = listenerTable.get("event");
+        Assert.assertArrayEquals(new Listener<?>[] { listener1, listener2 }, listeners);
+
+        Assert.assertTrue(listenerTable.remove("event", listener1));
+        Assert.assertFalse(listenerTable.remove("event", listener1));
+        Assert.assertArrayEquals(new Listener<?>[] { listener2 }, listenerTable.get("event"));
+        Assert.assertArrayEquals(new Listener<?>[] { listener1, listener2 }, listeners);
+
+        Assert.assertTrue(listenerTable.remove("event", listener2));
+        Assert.assertEquals(0, listenerTable.get("event").length);
+        Assert.assertFalse(listenerTable.remove("other", listener2));
+    }
+}
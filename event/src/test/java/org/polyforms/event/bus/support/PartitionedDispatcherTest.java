@@ -0,0 +1,149 @@
+package org.polyforms.event.bus.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PartitionedDispatcherTest {
+    @Test
+    public void preserveOrderOfKey() throws InterruptedException {
+        final PartitionedDispatcher dispatcher = new PartitionedDispatcher();
+        final int keys = 4;
+        final List<List<Integer>> results = new ArrayList<List<Integer>>();
+        for (int key = 0; key < keys; key++) {
+            results.add(Collections.synchronizedList(new ArrayList<Integer>()));
+        }
+
+        final int tasks = 1000;
+        for (int i = 0; i < tasks; i++) {
+            final List<Integer> result = results.get(i % keys);
+            final int value = i;
+            dispatcher.dispatch(i % keys, new Runnable() {
+                public void run() {
+                    result.add(value);
+                }
+            });
+        }
+
+        Assert.assertTrue(dispatcher.shutdown(10, TimeUnit.SECONDS));
+        Assert.assertTrue(dispatcher.isShutdown());
+        for (int key = 0; key < keys; key++) {
+            final List<Integer> result = results.get(key);
+            Assert.assertEquals(tasks / keys, result.size());
+            for (int i = 0; i < result.size(); i++) {
+                Assert.assertEquals(key + i * keys, result.get(i).intValue());
+            }
+        }
+    }
+
+    @Test
+    public void dispatchToLaneOfKey() {
+        final List<Runnable> drainers = new ArrayList<Runnable>();
+        final PartitionedDispatcher dispatcher = new PartitionedDispatcher(new Executor() {
+            public void execute(final Runnable command) {
+                drainers.add(command);
+            }
+        }, 2, 16);
+        final Runnable task = new Runnable() {
+            public void run() {
+            }
+        };
+
+        dispatcher.dispatch("key", task);
+        dispatcher.dispatch("key", task);
+        dispatcher.dispatch(null, task);
+        Assert.assertEquals(2, dispatcher.getLaneCount());
+        Assert.assertEquals(3, dispatcher.getQueueSize());
+        Assert.assertTrue(drainers.size() <= 2);
+    }
+
+    @Test
+    public void runInCallerAfterShutdown() throws InterruptedException {
+        final List<Integer> results = new ArrayList<Integer>();
+        final PartitionedDispatcher dispatcher = new PartitionedDispatcher();
+        Assert.assertTrue(dispatcher.shutdown(0, TimeUnit.SECONDS));
+
+        dispatcher.dispatch("key", new Runnable() {
+            public void run() {
+                results.add(1);
+            }
+        });
+        Assert.assertEquals(1, results.size());
+    }
+
+    @Test
+    public void dispatchToOwnFullLane() throws InterruptedException {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final PartitionedDispatcher dispatcher = new PartitionedDispatcher(executor, 1, 1);
+        final List<Integer> results = Collections.synchronizedList(new ArrayList<Integer>());
+        final CountDownLatch dispatched = new CountDownLatch(1);
+
+        dispatcher.dispatch("key", new Runnable() {
+            public void run() {
+                for (int i = 0; i < 3; i++) {
+                    dispatcher.dispatch("key", new RecordingTask(results, i));
+                }
+                dispatched.countDown();
+            }
+        });
+        Assert.assertTrue(dispatched.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(dispatcher.shutdown(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        Assert.assertEquals(3, results.size());
+    }
+
+    @Test
+    public void preserveOrderIfRejected() throws InterruptedException {
+        final List<Integer> results = new ArrayList<Integer>();
+        final AtomicReference<PartitionedDispatcher> dispatcher = new AtomicReference<PartitionedDispatcher>();
+        dispatcher.set(new PartitionedDispatcher(new Executor() {
+            private boolean rejected;
+
+            public void execute(final Runnable command) {
+                if (!rejected) {
+                    rejected = true;
+                    dispatcher.get().dispatch("key", new RecordingTask(results, 2));
+                }
+                throw new RejectedExecutionException();
+            }
+        }, 1, 16));
+
+        dispatcher.get().dispatch("key", new RecordingTask(results, 1));
+        dispatcher.get().dispatch("key", new RecordingTask(results, 3));
+        Assert.assertEquals(Arrays.asList(1, 2, 3), results);
+        Assert.assertEquals(0, dispatcher.get().getQueueSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void withoutLanes() {
+        new PartitionedDispatcher(new Executor() {
+            public void execute(final Runnable command) {
+            }
+        }, 0, 16);
+    }
+
+    private static final class RecordingTask implements Runnable {
+        private final List<Integer> results;
+        private final int value;
+
+        private RecordingTask(final List<Integer> results, final int value) {
+            this.results = results;
+            this.value = value;
+        }
+
+        public void run() {
+            results.add(value);
+        }
+    }
+}
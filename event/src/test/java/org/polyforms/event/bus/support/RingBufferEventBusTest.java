@@ -0,0 +1,191 @@
+package org.polyforms.event.bus.support;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.easymock.EasyMock;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.polyforms.event.bus.Event;
+import org.polyforms.event.bus.Listener;
+import org.polyforms.event.bus.support.RingBufferEventBus.WaitStrategy;
+
+public class RingBufferEventBusTest {
+    private RingBufferEventBus eventBus;
+    @SuppressWarnings("rawtypes")
+    private Listener listener;
+
+    @Before
+    public void setUp() {
+        eventBus = new RingBufferEventBus(4, false, WaitStrategy.YIELD);
+        listener = EasyMock.createMock(Listener.class);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        eventBus.destroy();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void syncPublish() {
+        final Event event = new Event("sync");
+        listener.onEvent(event);
+        EasyMock.replay(listener);
+
+        eventBus.register("sync", listener, false);
+        eventBus.register("sync", listener, false);
+        eventBus.publish(event);
+        EasyMock.verify(listener);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void asyncPublish() throws InterruptedException {
+        final Event event = new Event("async");
+        listener.onEvent(event);
+        EasyMock.replay(listener);
+
+        eventBus.register("async", listener, true);
+        eventBus.publish(event);
+        eventBus.destroy();
+        Assert.assertEquals(0, eventBus.getBacklog());
+        EasyMock.verify(listener);
+    }
+
+    @Test
+    public void publishMoreThanCapacity() throws InterruptedException {
+        final int threads = 4;
+        final int events = 1000;
+        final CountingListener countingListener = new CountingListener(threads * events);
+        eventBus.register("async", countingListener, true);
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executorService.execute(new Runnable() {
+                public void run() {
+                    for (int j = 0; j < events; j++) {
+                        eventBus.publish(new Event("async"));
+                    }
+                }
+            });
+        }
+        executorService.shutdown();
+
+        Assert.assertTrue(countingListener.await());
+        Assert.assertEquals(threads * events, countingListener.count.get());
+    }
+
+    @Test
+    public void singleProducer() throws InterruptedException {
+        for (final WaitStrategy waitStrategy : WaitStrategy.values()) {
+            final RingBufferEventBus singleProducerBus = new RingBufferEventBus(2, true, waitStrategy);
+            final CountingListener countingListener = new CountingListener(10);
+            singleProducerBus.register("async", countingListener, true);
+            for (int i = 0; i < 10; i++) {
+                singleProducerBus.publish(new Event("async"));
+            }
+            singleProducerBus.destroy();
+            Assert.assertTrue(countingListener.await());
+        }
+    }
+
+    @Test
+    public void countFailures() throws InterruptedException {
+        eventBus.register("async", new Listener<Event>() {
+            public void onEvent(final Event event) {
+                throw new IllegalStateException();
+            }
+        }, true);
+        eventBus.publish(new Event("async"));
+        eventBus.destroy();
+        Assert.assertEquals(1, eventBus.getFailureCount());
+    }
+
+    @Test
+    public void surviveErrorOfListener() throws InterruptedException {
+        final CountingListener countingListener = new CountingListener(10);
+        eventBus.register("async", new Listener<Event>() {
+            public void onEvent(final Event event) {
+                throw new AssertionError();
+            }
+        }, true);
+        eventBus.register("async", countingListener, true);
+        for (int i = 0; i < 10; i++) {
+            eventBus.publish(new Event("async"));
+        }
+
+        Assert.assertTrue(countingListener.await());
+        eventBus.destroy();
+        Assert.assertEquals(10, eventBus.getFailureCount());
+    }
+
+    @Test
+    public void publishMoreThanCapacityAfterDestroy() throws InterruptedException {
+        final CountingListener countingListener = new CountingListener(10);
+        eventBus.register("async", countingListener, true);
+        eventBus.destroy();
+        for (int i = 0; i < 10; i++) {
+            eventBus.publish(new Event("async"));
+        }
+        Assert.assertEquals(10, countingListener.count.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void publishAfterDestroy() throws InterruptedException {
+        final Event event = new Event("async");
+        listener.onEvent(event);
+        EasyMock.replay(listener);
+
+        eventBus.register("async", listener, true);
+        eventBus.destroy();
+        eventBus.publish(event);
+        EasyMock.verify(listener);
+    }
+
+    @Test
+    public void unregister() {
+        EasyMock.replay(listener);
+        eventBus.register("sync", listener, false);
+        eventBus.register("async", listener, true);
+        eventBus.unregister("sync", listener);
+        eventBus.unregister("async", listener);
+        eventBus.publish(new Event("sync"));
+        eventBus.publish(new Event("async"));
+        EasyMock.verify(listener);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacityNotPowerOfTwo() {
+        new RingBufferEventBus(3, false, WaitStrategy.PARK);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void publishNull() {
+        eventBus.publish(null);
+    }
+
+    private static final class CountingListener implements Listener<Event> {
+        private final AtomicInteger count = new AtomicInteger();
+        private final CountDownLatch latch;
+
+        private CountingListener(final int expected) {
+            latch = new CountDownLatch(expected);
+        }
+
+        public void onEvent(final Event event) {
+            count.incrementAndGet();
+            latch.countDown();
+        }
+
+        private boolean await() throws InterruptedException {
+            return latch.await(10, TimeUnit.SECONDS);
+        }
+    }
+}
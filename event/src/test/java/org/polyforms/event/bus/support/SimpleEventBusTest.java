@@ -1,9 +1,16 @@
 package org.polyforms.event.bus.support;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import org.easymock.EasyMock;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.polyforms.event.bus.Event;
+import org.polyforms.event.bus.KeySelector;
 import org.polyforms.event.bus.Listener;
 
 public class SimpleEventBusTest {
@@ -31,10 +38,73 @@ public class SimpleEventBusTest {
         EasyMock.verify(listener);
     }
 
-    @Test(expected = UnsupportedOperationException.class)
-    public void asyncPublish() {
-        eventBus.register("sync", listener, true);
-        eventBus.publish(new Event("sync"));
+    @Test
+    @SuppressWarnings("unchecked")
+    public void asyncPublish() throws InterruptedException {
+        final Event event = new Event("async");
+        listener.onEvent(event);
+        EasyMock.replay(listener);
+
+        eventBus.register("async", listener, true);
+        eventBus.publish(event);
+        eventBus.destroy();
+        EasyMock.verify(listener);
+    }
+
+    @Test
+    public void publishAfterDestroy() throws InterruptedException {
+        final Event event = new Event("async");
+        final AsyncDispatcher asyncDispatcher = EasyMock.createMock(AsyncDispatcher.class);
+        asyncDispatcher.shutdown(0, TimeUnit.SECONDS);
+        EasyMock.expectLastCall().andReturn(true);
+        asyncDispatcher.dispatch(EasyMock.isA(Runnable.class));
+        EasyMock.replay(asyncDispatcher);
+
+        eventBus.setShutdownTimeout(0);
+        eventBus.setAsyncDispatcher(asyncDispatcher);
+        eventBus.register("async", listener, true);
+        eventBus.publish(event);
+        eventBus.destroy();
+        EasyMock.verify(asyncDispatcher);
+    }
+
+    @Test
+    public void publishByKey() throws InterruptedException {
+        final List<KeyedEvent> results = Collections.synchronizedList(new ArrayList<KeyedEvent>());
+        eventBus.register("keyed", new Listener<KeyedEvent>() {
+            public void onEvent(final KeyedEvent event) {
+                results.add(event);
+            }
+        }, new KeySelector<KeyedEvent>() {
+            public Object select(final KeyedEvent event) {
+                return event.key;
+            }
+        });
+
+        for (int i = 0; i < 100; i++) {
+            eventBus.publish(new KeyedEvent(i % 2, i));
+        }
+        Assert.assertTrue(eventBus.hasListeners("keyed"));
+        eventBus.destroy();
+
+        Assert.assertEquals(100, results.size());
+        final int[] lastSequences = { -1, -1 };
+        for (final KeyedEvent event : results) {
+            Assert.assertTrue(event.sequence > lastSequences[event.key]);
+            lastSequences[event.key] = event.sequence;
+        }
+    }
+
+    @Test
+    public void unregisterByKey() {
+        eventBus.register("keyed", listener, new KeySelector<Event>() {
+            public Object select(final Event event) {
+                return null;
+            }
+        });
+        eventBus.unregister("keyed", listener);
+        Assert.assertFalse(eventBus.hasListeners("keyed"));
+        eventBus.publish(new Event("keyed"));
     }
 
     @Test
@@ -44,6 +114,47 @@ public class SimpleEventBusTest {
         eventBus.publish(new Event("sync"));
     }
 
+    @Test
+    public void unregisterAsync() {
+        eventBus.register("async", listener, true);
+        eventBus.unregister("async", listener);
+        eventBus.publish(new Event("async"));
+    }
+
+    @Test
+    public void registerWhilePublishing() throws InterruptedException {
+        final int listeners = 1000;
+        final Event event = new Event("sync");
+        final List<Throwable> failures = new ArrayList<Throwable>();
+        final Thread publisher = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    for (int i = 0; i < listeners; i++) {
+                        eventBus.publish(event);
+                    }
+                } catch (final RuntimeException e) {
+                    failures.add(e);
+                }
+            }
+        };
+        publisher.start();
+
+        final Listener<?>[] registeredListeners = new Listener<?>[listeners];
+        for (int i = 0; i < listeners; i++) {
+            registeredListeners[i] = new Listener<Event>() {
+                public void onEvent(final Event event) {
+                }
+            };
+            eventBus.register("sync", registeredListeners[i], false);
+        }
+        for (final Listener<?> registeredListener : registeredListeners) {
+            eventBus.unregister("sync", registeredListener);
+        }
+        publisher.join();
+        Assert.assertTrue(failures.isEmpty());
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void publishNull() {
         eventBus.publish(null);
@@ -78,4 +189,15 @@ public class SimpleEventBusTest {
     public void unregisterWithNullListener() {
         eventBus.unregister("sync", null);
     }
+
+    private static final class KeyedEvent extends Event {
+        private final int key;
+        private final int sequence;
+
+        private KeyedEvent(final int key, final int sequence) {
+            super("keyed");
+            this.key = key;
+            this.sequence = sequence;
+        }
+    }
 }
@@ -1,15 +1,25 @@
 package org.polyforms.event.spring;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import junit.framework.Assert;
 
+import org.easymock.Capture;
 import org.easymock.EasyMock;
 import org.junit.Before;
 import org.junit.Test;
+import org.polyforms.event.PartitionKey;
 import org.polyforms.event.Subscriber;
+import org.polyforms.event.bus.KeySelector;
 import org.polyforms.event.bus.Listener;
 import org.polyforms.event.bus.ListenerRegistry;
+import org.polyforms.event.bus.PartitionedListenerRegistry;
+import org.polyforms.event.bus.support.BatchingListener;
 import org.polyforms.event.bus.support.MethodInvocationEvent;
 import org.polyforms.event.spring.SubscriberProcessor.SpringBeanMethodInvoker;
+import org.polyforms.parameter.annotation.Named;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
@@ -79,6 +89,8 @@ public class SubscriberProcessorTest {
     public void onEvent() throws NoSuchMethodException {
         beanFactory.getBean("beanName");
         EasyMock.expectLastCall().andReturn(this).times(2);
+        beanFactory.isSingleton("beanName");
+        EasyMock.expectLastCall().andReturn(false);
         final ConversionService conversionService = EasyMock.createMock(ConversionService.class);
         beanFactory.getBean(ConversionService.class);
         EasyMock.expectLastCall().andReturn(conversionService);
@@ -97,6 +109,114 @@ public class SubscriberProcessorTest {
         EasyMock.verify(beanFactory, conversionService);
     }
 
+    @Test
+    public void onEventOfSingleton() throws NoSuchMethodException {
+        beanFactory.getBean("beanName");
+        EasyMock.expectLastCall().andReturn(this);
+        beanFactory.isSingleton("beanName");
+        EasyMock.expectLastCall().andReturn(true);
+        final ConversionService conversionService = EasyMock.createMock(ConversionService.class);
+        beanFactory.getBean(ConversionService.class);
+        EasyMock.expectLastCall().andReturn(conversionService);
+        conversionService.convert(EasyMock.eq("1"), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn("1").times(2);
+        EasyMock.replay(beanFactory, conversionService);
+
+        final Listener<MethodInvocationEvent> listener = subscriberProcessor.new SpringBeanMethodInvoker("beanName",
+                this.getClass().getMethod("subscriberMethod", new Class<?>[] { String.class }));
+        final MethodInvocationEvent event = new MethodInvocationEvent("sync", this.getClass(), this.getClass()
+                .getMethod("subscriberMethod", new Class<?>[] { String.class }), "1");
+        listener.onEvent(event);
+        listener.onEvent(event);
+        EasyMock.verify(beanFactory, conversionService);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void batchSubscriber() throws NoSuchMethodException {
+        final BatchSubscriber bean = new BatchSubscriber();
+        beanFactory.containsBean("batchBean");
+        EasyMock.expectLastCall().andReturn(true).times(2);
+        beanFactory.getBean(ListenerRegistry.class);
+        EasyMock.expectLastCall().andReturn(listenerRegistry);
+        final Capture<BatchingListener<MethodInvocationEvent>> capturedListener =
+                new Capture<BatchingListener<MethodInvocationEvent>>();
+        listenerRegistry.register(EasyMock.eq("batch"), EasyMock.capture(capturedListener), EasyMock.eq(false));
+        listenerRegistry.unregister(EasyMock.eq("batch"), EasyMock.isA(BatchingListener.class));
+        final ConversionService conversionService = EasyMock.createMock(ConversionService.class);
+        beanFactory.getBean(ConversionService.class);
+        EasyMock.expectLastCall().andReturn(conversionService);
+        conversionService.convert(EasyMock.eq(Collections.singletonList(1)), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn(Collections.singletonList("1"));
+        EasyMock.replay(beanFactory, listenerRegistry, conversionService);
+
+        subscriberProcessor.postProcessAfterInitialization(bean, "batchBean");
+        final MethodInvocationEvent event = new MethodInvocationEvent("batch", this.getClass(), this.getClass()
+                .getMethod("publisherMethod", new Class<?>[] { int.class }), 1);
+        capturedListener.getValue().onEvent(event);
+        capturedListener.getValue().onEvent(event);
+        Assert.assertTrue(bean.numbers.isEmpty());
+        Assert.assertEquals(1, capturedListener.getValue().getCoalescedCount());
+
+        subscriberProcessor.postProcessBeforeDestruction(bean, "batchBean");
+        Assert.assertEquals(Collections.singletonList("1"), bean.numbers);
+        EasyMock.verify(beanFactory, listenerRegistry, conversionService);
+    }
+
+    @Test
+    public void partitionedSubscriber() throws NoSuchMethodException {
+        final PartitionedSubscriber bean = new PartitionedSubscriber();
+        beanFactory.containsBean("partitionedBean");
+        EasyMock.expectLastCall().andReturn(true);
+        final PartitionedListenerRegistry listenerRegistry = EasyMock.createMock(PartitionedListenerRegistry.class);
+        beanFactory.getBean(ListenerRegistry.class);
+        EasyMock.expectLastCall().andReturn(listenerRegistry);
+        final Capture<KeySelector<MethodInvocationEvent>> capturedKeySelector =
+                new Capture<KeySelector<MethodInvocationEvent>>();
+        listenerRegistry.register(EasyMock.eq("partitioned"), EasyMock.isA(SpringBeanMethodInvoker.class),
+                EasyMock.capture(capturedKeySelector));
+        EasyMock.replay(beanFactory, listenerRegistry);
+
+        subscriberProcessor.postProcessAfterInitialization(bean, "partitionedBean");
+        final MethodInvocationEvent event = new MethodInvocationEvent("partitioned", this.getClass(), this.getClass()
+                .getMethod("publisherMethod", new Class<?>[] { int.class }), 1);
+        Assert.assertEquals(1, capturedKeySelector.getValue().select(event));
+        // Just for test cache of compiled key
+        Assert.assertEquals(1, capturedKeySelector.getValue().select(event));
+        EasyMock.verify(beanFactory, listenerRegistry);
+    }
+
+    @Test
+    public void partitionedSubscriberWithoutPartitionedRegistry() {
+        beanFactory.containsBean("partitionedBean");
+        EasyMock.expectLastCall().andReturn(true);
+        beanFactory.getBean(ListenerRegistry.class);
+        EasyMock.expectLastCall().andReturn(listenerRegistry);
+        listenerRegistry.register(EasyMock.eq("partitioned"), EasyMock.isA(SpringBeanMethodInvoker.class),
+                EasyMock.eq(true));
+        EasyMock.replay(beanFactory, listenerRegistry);
+
+        subscriberProcessor.postProcessAfterInitialization(new PartitionedSubscriber(), "partitionedBean");
+        EasyMock.verify(beanFactory, listenerRegistry);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void syncPartitionedSubscriber() {
+        beanFactory.containsBean("partitionedBean");
+        EasyMock.expectLastCall().andReturn(true);
+        EasyMock.replay(beanFactory);
+
+        subscriberProcessor.postProcessAfterInitialization(new SyncPartitionedSubscriber(), "partitionedBean");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void batchSubscriberWithoutList() throws NoSuchMethodException {
+        subscriberProcessor.new SpringBeanBatchInvoker("beanName", this.getClass().getMethod("subscriberMethod",
+                new Class<?>[] { String.class }));
+    }
+
     @Test
     public void hashcode() {
         Assert.assertTrue(methodInvokerA.hashCode() != methodInvokerB.hashCode());
@@ -140,4 +260,25 @@ public class SubscriberProcessorTest {
 
     public void publisherMethod(final int number) {
     }
+
+    public static class PartitionedSubscriber {
+        @Subscriber(value = "partitioned", async = true)
+        public void onNumber(@PartitionKey @Named("number") final Integer key) {
+        }
+    }
+
+    public static class SyncPartitionedSubscriber {
+        @Subscriber("partitioned")
+        public void onNumber(@PartitionKey final Integer key) {
+        }
+    }
+
+    public static class BatchSubscriber {
+        private final List<String> numbers = new ArrayList<String>();
+
+        @Subscriber(value = "batch", batchSize = 2, coalesceBy = "number")
+        public void onNumbers(final List<String> numbers) {
+            this.numbers.addAll(numbers);
+        }
+    }
 }
@@ -11,10 +11,10 @@ import javax.persistence.Query;
 
 import org.polyforms.parameter.ArgumentProvider;
 import org.polyforms.parameter.Parameter;
-import org.polyforms.parameter.ParameterMatcher;
 import org.polyforms.parameter.Parameters;
 import org.polyforms.parameter.provider.ArgumentAt;
 import org.polyforms.parameter.support.AbstractParameterMatcher;
+import org.polyforms.parameter.support.ArgumentMapper;
 import org.polyforms.parameter.support.MethodParameter;
 import org.polyforms.parameter.support.MethodParameters;
 import org.polyforms.parameter.support.SourceParameters;
@@ -49,18 +49,18 @@ public class Jpa2QueryParameterBinder implements QueryParameterBinder {
             }, true).compare(arg0.getName(), arg1.getName());
         }
     };
-    private final Map<Method, ArgumentProvider[]> argumentProvidersCache = new HashMap<Method, ArgumentProvider[]>();
-    private final ParameterMatcher<MethodParameter, org.polyforms.parameter.Parameter> parameterMatcher = new QueryParameterMatcher();
+    private final Map<Method, ArgumentMapper> argumentMappersCache = new HashMap<Method, ArgumentMapper>();
+    private final QueryParameterMatcher parameterMatcher = new QueryParameterMatcher();
 
     /**
      * {@inheritDoc}
      */
     public void bind(final Query query, final Method method, final Object... arguments) {
         final javax.persistence.Parameter<?>[] parameters = getQueryParameters(query);
-        final ArgumentProvider[] argumentProviders = matchParameters(method, parameters);
+        final Object[] matchedArguments = matchParameters(method, parameters).map(arguments);
 
-        for (int i = 0; i < argumentProviders.length; i++) {
-            final Object argument = argumentProviders[i].get(arguments);
+        for (int i = 0; i < matchedArguments.length; i++) {
+            final Object argument = matchedArguments[i];
             final javax.persistence.Parameter<?> parameter = parameters[i];
             if (isNamedParameter(parameter)) {
                 final String name = parameter.getName();
@@ -84,19 +84,19 @@ public class Jpa2QueryParameterBinder implements QueryParameterBinder {
         return parameters;
     }
 
-    private ArgumentProvider[] matchParameters(final Method method, final javax.persistence.Parameter<?>[] parameters) {
-        if (!argumentProvidersCache.containsKey(method)) {
+    private ArgumentMapper matchParameters(final Method method, final javax.persistence.Parameter<?>[] parameters) {
+        if (!argumentMappersCache.containsKey(method)) {
             LOGGER.trace("Cache missed when match parameters for {}.", method);
             final MethodParameters methodParameters = new MethodParameters(method.getDeclaringClass(), method);
             methodParameters.applyAnnotation();
 
             final QueryParameters queryParameters = new QueryParameters(parameters);
-            argumentProvidersCache.put(method, parameterMatcher.match(methodParameters, queryParameters));
+            argumentMappersCache.put(method, parameterMatcher.compile(methodParameters, queryParameters));
         }
 
-        final ArgumentProvider[] argumentProviders = argumentProvidersCache.get(method);
-        LOGGER.debug("Matched parameters of {} is {}", method, argumentProviders);
-        return argumentProviders;
+        final ArgumentMapper argumentMapper = argumentMappersCache.get(method);
+        LOGGER.debug("Matched parameters of {} is {}", method, argumentMapper.getArgumentProviders());
+        return argumentMapper;
     }
 }
 
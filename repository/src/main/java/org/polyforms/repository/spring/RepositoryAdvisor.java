@@ -2,6 +2,7 @@ package org.polyforms.repository.spring;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.List;
 
 import org.polyforms.repository.aop.RepositoryInterceptor;
 import org.polyforms.repository.spi.RepositoryMatcher;
@@ -46,7 +47,9 @@ public final class RepositoryAdvisor extends DefaultPointcutAdvisor {
          * {@inheritDoc}
          */
         public boolean matches(final Method method, final Class<?> targetClass) {
-            for (final Class<?> clazz : AopUtils.deproxy(targetClass)) {
+            final List<Class<?>> classes = AopUtils.getDeproxiedClasses(targetClass);
+            for (int i = 0; i < classes.size(); i++) {
+                final Class<?> clazz = classes.get(i);
                 final Method specificMethod = ClassUtils.getMostSpecificMethod(method, clazz);
                 if (!specificMethod.equals(method)) {
                     return doMatch(clazz, specificMethod);
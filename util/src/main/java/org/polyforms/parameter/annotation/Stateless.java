@@ -0,0 +1,20 @@
+package org.polyforms.parameter.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation to identify {@link org.polyforms.parameter.ArgumentProvider} which has no state changed by validation, so
+ * instances created from equal annotation values can be shared.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Stateless {
+}
@@ -2,7 +2,7 @@ package org.polyforms.parameter.provider;
 
 import java.lang.reflect.Method;
 
-import org.polyforms.parameter.ArgumentProvider;
+import org.polyforms.parameter.annotation.Stateless;
 import org.springframework.util.Assert;
 
 /**
@@ -11,7 +11,8 @@ import org.springframework.util.Assert;
  * @author Kuisong Tong
  * @since 1.0
  */
-public final class ArgumentAt implements ArgumentProvider {
+@Stateless
+public final class ArgumentAt implements PositionalArgumentProvider {
     private final int position;
 
     /**
@@ -29,6 +30,13 @@ public final class ArgumentAt implements ArgumentProvider {
         return arguments[position];
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public int getPosition() {
+        return position;
+    }
+
     /**
      * {@inheritDoc}
      */
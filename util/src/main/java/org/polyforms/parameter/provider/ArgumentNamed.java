@@ -2,8 +2,7 @@ package org.polyforms.parameter.provider;
 
 import java.lang.reflect.Method;
 
-import org.polyforms.parameter.ArgumentProvider;
-import org.springframework.core.LocalVariableTableParameterNameDiscoverer;
+import org.polyforms.parameter.support.MethodMetadata;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.util.Assert;
 
@@ -13,8 +12,8 @@ import org.springframework.util.Assert;
  * @author Kuisong Tong
  * @since 1.0
  */
-public class ArgumentNamed implements ArgumentProvider {
-    private final ParameterNameDiscoverer parameterNameDiscoverer = new LocalVariableTableParameterNameDiscoverer();
+public class ArgumentNamed implements PositionalArgumentProvider {
+    private final ParameterNameDiscoverer parameterNameDiscoverer = MethodMetadata.getParameterNameDiscoverer();
     private final String name;
     private int position = -1;
 
@@ -34,6 +33,13 @@ public class ArgumentNamed implements ArgumentProvider {
         return arguments[position];
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public int getPosition() {
+        return position;
+    }
+
     /**
      * {@inheritDoc}
      */
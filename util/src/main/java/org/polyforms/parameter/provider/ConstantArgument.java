@@ -3,6 +3,7 @@ package org.polyforms.parameter.provider;
 import java.lang.reflect.Method;
 
 import org.polyforms.parameter.ArgumentProvider;
+import org.polyforms.parameter.annotation.Stateless;
 
 /**
  * Constant holder always returning constant value.
@@ -10,6 +11,7 @@ import org.polyforms.parameter.ArgumentProvider;
  * @author Kuisong Tong
  * @since 1.0
  */
+@Stateless
 public final class ConstantArgument implements ArgumentProvider {
     private final Object value;
 
@@ -27,6 +29,10 @@ public final class ConstantArgument implements ArgumentProvider {
         return value;
     }
 
+    public Object getValue() {
+        return value;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,18 @@
+package org.polyforms.parameter.provider;
+
+import org.polyforms.parameter.ArgumentProvider;
+
+/**
+ * {@link ArgumentProvider} which always resolves argument at a fixed position once it is validated.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public interface PositionalArgumentProvider extends ArgumentProvider {
+    /**
+     * Get position of argument which is resolved.
+     * 
+     * @return -1 if the position is not known until validation
+     */
+    int getPosition();
+}
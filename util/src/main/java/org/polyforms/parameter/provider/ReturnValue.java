@@ -2,7 +2,6 @@ package org.polyforms.parameter.provider;
 
 import java.lang.reflect.Method;
 
-import org.polyforms.parameter.ArgumentProvider;
 import org.springframework.util.Assert;
 
 /**
@@ -11,7 +10,7 @@ import org.springframework.util.Assert;
  * @author Kuisong Tong
  * @since 1.0
  */
-public final class ReturnValue implements ArgumentProvider {
+public final class ReturnValue implements PositionalArgumentProvider {
     private int position = -1;
 
     /**
@@ -22,6 +21,13 @@ public final class ReturnValue implements ArgumentProvider {
         return arguments[position];
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public int getPosition() {
+        return position;
+    }
+
     /**
      * {@inheritDoc}
      */
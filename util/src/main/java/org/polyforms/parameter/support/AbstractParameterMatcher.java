@@ -17,7 +17,7 @@ public abstract class AbstractParameterMatcher<S extends Parameter, T extends Pa
      * {@inheritDoc}
      */
     public ArgumentProvider[] match(final Parameters<S> sourceParameters, final Parameters<T> targetParameters) {
-        final SourceParameters sourceParametersWrapper = new SourceParameters(sourceParameters);
+        final SourceParameters sourceParametersWrapper = getSourceParameters(sourceParameters);
         final T[] parameters = targetParameters.getParameters();
 
         final ArgumentProvider[] argumentProviders = new ArgumentProvider[parameters.length];
@@ -28,5 +28,21 @@ public abstract class AbstractParameterMatcher<S extends Parameter, T extends Pa
         return argumentProviders;
     }
 
+    /**
+     * Match parameters from source to target and compile the argument providers into a mapper.
+     * 
+     * @throws IllegalArgumentException if there is parameters cannot be matched
+     */
+    public ArgumentMapper compile(final Parameters<S> sourceParameters, final Parameters<T> targetParameters) {
+        return ArgumentMapper.compile(match(sourceParameters, targetParameters));
+    }
+
+    /**
+     * Get lookup index of source parameters, which is created for each match by default.
+     */
+    protected SourceParameters getSourceParameters(final Parameters<S> sourceParameters) {
+        return new SourceParameters(sourceParameters);
+    }
+
     protected abstract ArgumentProvider getArgumentProvider(SourceParameters sourceParameters, T parameter);
 }
@@ -0,0 +1,158 @@
+package org.polyforms.parameter.support;
+
+import org.polyforms.parameter.ArgumentProvider;
+import org.polyforms.parameter.provider.ConstantArgument;
+import org.polyforms.parameter.provider.PositionalArgumentProvider;
+import org.springframework.util.Assert;
+
+/**
+ * Mapper compiled from {@link ArgumentProvider}s, which builds all target arguments from source arguments in one pass.
+ * 
+ * Providers of fixed position are compiled into a table of source positions and constants are kept in their slots,
+ * only other providers are invoked for each mapping. Mappings which take a continuous range of source arguments in
+ * order are specialized to copy the range directly.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public abstract class ArgumentMapper {
+    private static final int NOT_POSITIONAL = -1;
+    private final ArgumentProvider[] argumentProviders;
+
+    private ArgumentMapper(final ArgumentProvider[] argumentProviders) {
+        this.argumentProviders = argumentProviders;
+    }
+
+    /**
+     * Compile argument providers into a mapper. The providers resolving argument by position must be validated
+     * before compiling, otherwise they are invoked for each mapping.
+     */
+    public static ArgumentMapper compile(final ArgumentProvider[] argumentProviders) {
+        Assert.notNull(argumentProviders);
+
+        final int[] positions = new int[argumentProviders.length];
+        boolean continuous = true;
+        for (int i = 0; i < argumentProviders.length; i++) {
+            positions[i] = getPosition(argumentProviders[i]);
+            continuous &= positions[i] >= 0 && positions[i] == positions[0] + i;
+        }
+
+        if (!continuous) {
+            return new PermutationMapper(argumentProviders, positions);
+        }
+        return positions.length == 0 || positions[0] == 0 ? new IdentityMapper(argumentProviders)
+                : new ShiftMapper(argumentProviders, positions[0]);
+    }
+
+    private static int getPosition(final ArgumentProvider argumentProvider) {
+        if (argumentProvider instanceof PositionalArgumentProvider) {
+            return Math.max(((PositionalArgumentProvider) argumentProvider).getPosition(), NOT_POSITIONAL);
+        }
+        return NOT_POSITIONAL;
+    }
+
+    /**
+     * Get argument providers which the mapper is compiled from.
+     */
+    public ArgumentProvider[] getArgumentProviders() {
+        return argumentProviders;
+    }
+
+    /**
+     * Get the number of target arguments.
+     */
+    public int getArgumentCount() {
+        return argumentProviders.length;
+    }
+
+    /**
+     * Map source arguments to target arguments.
+     * 
+     * @return target arguments, which might be the source arguments themselves and must not be modified
+     */
+    public Object[] map(final Object[] arguments) {
+        final Object[] targetArguments = new Object[argumentProviders.length];
+        map(arguments, targetArguments);
+        return targetArguments;
+    }
+
+    /**
+     * Map source arguments into provided array of target arguments, whose length must not be less than the number of
+     * target arguments.
+     */
+    public abstract void map(Object[] arguments, Object[] targetArguments);
+
+    private static final class IdentityMapper extends ArgumentMapper {
+        private final int argumentCount;
+
+        private IdentityMapper(final ArgumentProvider[] argumentProviders) {
+            super(argumentProviders);
+            argumentCount = argumentProviders.length;
+        }
+
+        @Override
+        public Object[] map(final Object[] arguments) {
+            return arguments.length == argumentCount ? arguments : super.map(arguments);
+        }
+
+        @Override
+        public void map(final Object[] arguments, final Object[] targetArguments) {
+            System.arraycopy(arguments, 0, targetArguments, 0, argumentCount);
+        }
+    }
+
+    private static final class ShiftMapper extends ArgumentMapper {
+        private final int argumentCount;
+        private final int offset;
+
+        private ShiftMapper(final ArgumentProvider[] argumentProviders, final int offset) {
+            super(argumentProviders);
+            argumentCount = argumentProviders.length;
+            this.offset = offset;
+        }
+
+        @Override
+        public void map(final Object[] arguments, final Object[] targetArguments) {
+            System.arraycopy(arguments, offset, targetArguments, 0, argumentCount);
+        }
+    }
+
+    private static final class PermutationMapper extends ArgumentMapper {
+        private final int[] positions;
+        private final Object[] constants;
+        private final ArgumentProvider[] dynamicProviders;
+
+        private PermutationMapper(final ArgumentProvider[] argumentProviders, final int[] positions) {
+            super(argumentProviders);
+            this.positions = positions;
+            constants = new Object[argumentProviders.length];
+            dynamicProviders = new ArgumentProvider[argumentProviders.length];
+            for (int i = 0; i < argumentProviders.length; i++) {
+                final ArgumentProvider argumentProvider = argumentProviders[i];
+                if (positions[i] >= 0) {
+                    continue;
+                }
+
+                if (argumentProvider instanceof ConstantArgument) {
+                    constants[i] = ((ConstantArgument) argumentProvider).getValue();
+                } else {
+                    dynamicProviders[i] = argumentProvider;
+                }
+            }
+        }
+
+        @Override
+        public void map(final Object[] arguments, final Object[] targetArguments) {
+            for (int i = 0; i < positions.length; i++) {
+                final int position = positions[i];
+                if (position >= 0) {
+                    targetArguments[i] = arguments[position];
+                } else if (dynamicProviders[i] == null) {
+                    targetArguments[i] = constants[i];
+                } else {
+                    targetArguments[i] = dynamicProviders[i].get(arguments);
+                }
+            }
+        }
+    }
+}
@@ -2,34 +2,117 @@ package org.polyforms.parameter.support;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.polyforms.parameter.ArgumentProvider;
 import org.polyforms.parameter.annotation.Provider;
+import org.polyforms.parameter.annotation.Stateless;
+import org.polyforms.util.ClassCache;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
 
+/**
+ * Builder of {@link ArgumentProvider} from annotation annotated by {@link Provider}.
+ * 
+ * Each annotation type is resolved to constructor of its provider once in the process. Providers annotated by
+ * {@link Stateless} are shared among annotations with equal value.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
 class ArgumentProviderBuilder {
+    private static final String VALUE = "value";
+    private static final ClassCache<ProviderType> PROVIDER_TYPES = new ClassCache<ProviderType>() {
+        @Override
+        protected ProviderType computeValue(final Class<?> annotationType) {
+            return new ProviderType(annotationType);
+        }
+    };
+
+    /**
+     * Check whether the annotation is annotated by {@link Provider}.
+     */
+    protected static boolean isProviderAnnotation(final Annotation annotation) {
+        return PROVIDER_TYPES.get(annotation.annotationType()).providerClass != null;
+    }
+
     protected ArgumentProvider fromAnnotation(final Annotation annotation) {
-        final Provider provider = AnnotationUtils.findAnnotation(annotation.getClass(), Provider.class);
-        Assert.notNull(provider, "Annotation @Provider must present at the annotation.");
-
-        final Class<?> providerClass = provider.value();
-        final Object argument = AnnotationUtils.getValue(annotation);
-
-        final Constructor<?> constructor = ClassUtils
-                .getConstructorIfAvailable(providerClass, new Class<?>[] { org.polyforms.util.ClassUtils
-                        .resolvePrimitiveWrapperIfNecessary(argument.getClass()) });
-        Assert.notNull(constructor, "The provider " + providerClass
-                + " must have a constructor with paramater of type " + argument.getClass());
-
-        try {
-            return (ArgumentProvider) constructor.newInstance(argument);
-        } catch (final Exception e) {
-            ReflectionUtils.handleReflectionException(e);
+        final ProviderType providerType = PROVIDER_TYPES.get(annotation.annotationType());
+        Assert.notNull(providerType.providerClass, "Annotation @Provider must present at the annotation.");
+        Assert.notNull(providerType.constructor, "The provider " + providerType.providerClass
+                + " must have a constructor with paramater of type " + providerType.valueType);
+
+        final Object argument = providerType.valueType == null ? null : AnnotationUtils.getValue(annotation);
+        if (providerType.sharedProviders == null) {
+            return providerType.newInstance(argument);
         }
 
-        throw new IllegalStateException("Should never get here");
+        ArgumentProvider argumentProvider = providerType.sharedProviders.get(argument);
+        if (argumentProvider == null) {
+            argumentProvider = providerType.newInstance(argument);
+            final ArgumentProvider existingProvider = providerType.sharedProviders.putIfAbsent(argument,
+                    argumentProvider);
+            if (existingProvider != null) {
+                argumentProvider = existingProvider;
+            }
+        }
+        return argumentProvider;
+    }
+
+    private static final class ProviderType {
+        private final Class<? extends ArgumentProvider> providerClass;
+        private final Class<?> valueType;
+        private final Constructor<?> constructor;
+        private final ConcurrentMap<Object, ArgumentProvider> sharedProviders;
+
+        private ProviderType(final Class<?> annotationType) {
+            final Provider provider = AnnotationUtils.findAnnotation(annotationType, Provider.class);
+            if (provider == null) {
+                providerClass = null;
+                valueType = null;
+                constructor = null;
+                sharedProviders = null;
+                return;
+            }
+
+            providerClass = provider.value();
+            final Method valueMethod = ClassUtils.getMethodIfAvailable(annotationType, VALUE, new Class<?>[0]);
+            valueType = valueMethod == null ? null : valueMethod.getReturnType();
+            constructor = findConstructor(providerClass, valueType);
+            sharedProviders = providerClass.isAnnotationPresent(Stateless.class) && valueType != null
+                    && !valueType.isArray() ? new ConcurrentHashMap<Object, ArgumentProvider>() : null;
+        }
+
+        private static Constructor<?> findConstructor(final Class<?> providerClass, final Class<?> valueType) {
+            final Class<?>[] parameterTypes = valueType == null ? new Class<?>[0] : new Class<?>[] { valueType };
+            final Constructor<?> constructor = ClassUtils.getConstructorIfAvailable(providerClass, parameterTypes);
+            if (constructor != null || valueType == null) {
+                return constructor;
+            }
+
+            for (final Constructor<?> candidate : providerClass.getConstructors()) {
+                final Class<?>[] candidateParameterTypes = candidate.getParameterTypes();
+                if (candidateParameterTypes.length == 1
+                        && ClassUtils.isAssignable(candidateParameterTypes[0], valueType)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+
+        private ArgumentProvider newInstance(final Object argument) {
+            try {
+                return (ArgumentProvider) (valueType == null ? constructor.newInstance() : constructor
+                        .newInstance(argument));
+            } catch (final Exception e) {
+                ReflectionUtils.handleReflectionException(e);
+            }
+
+            throw new IllegalStateException("Should never get here");
+        }
     }
 }
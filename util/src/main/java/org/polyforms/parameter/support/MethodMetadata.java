@@ -0,0 +1,185 @@
+package org.polyforms.parameter.support;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.polyforms.parameter.annotation.Provider;
+import org.polyforms.util.ArrayUtils;
+import org.polyforms.util.ClassCache;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.LocalVariableTableParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Immutable metadata of method resolved against a class, which is cached process-wide.
+ * 
+ * Names of parameters are read from reflection data if the class is compiled with "-parameters" option, otherwise
+ * from local variable table in class file. Names of all methods and constructors declared by a class are read at once
+ * into the cache of the class, by a discoverer which is discarded afterwards, so the cache is the only place keeping
+ * them.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public final class MethodMetadata {
+    private static final ParameterNameDiscoverer REFLECTION_NAME_DISCOVERER = new ReflectionParameterNameDiscoverer();
+    private static final ClassCache<ClassMetadata> METADATA_CACHE = new MethodMetadataCache();
+    private static final ParameterNameDiscoverer CACHED_NAME_DISCOVERER = new CachedParameterNameDiscoverer();
+    private final Class<?>[] parameterTypes;
+    private final String[] parameterNames;
+    private final Annotation[] providerAnnotations;
+    private final Class<?> returnType;
+
+    private MethodMetadata(final Class<?> clazz, final Method method) {
+        final int parameterCount = method.getParameterTypes().length;
+        final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        parameterTypes = new Class<?>[parameterCount];
+        providerAnnotations = new Annotation[parameterCount];
+        for (int i = 0; i < parameterCount; i++) {
+            parameterTypes[i] = ClassUtils.resolvePrimitiveIfNecessary(GenericTypeResolver.resolveParameterType(
+                    new org.springframework.core.MethodParameter(method, i), clazz));
+            providerAnnotations[i] = getFirstProviderAnnotation(parameterAnnotations[i]);
+        }
+        parameterNames = METADATA_CACHE.get(method.getDeclaringClass()).getParameterNames(method);
+        returnType = GenericTypeResolver.resolveReturnType(method, clazz);
+    }
+
+    private static Annotation getFirstProviderAnnotation(final Annotation[] annotations) {
+        for (final Annotation annotation : annotations) {
+            if (ArgumentProviderBuilder.isProviderAnnotation(annotation)) {
+                return annotation;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Get metadata of method resolved against specified class.
+     */
+    public static MethodMetadata get(final Class<?> clazz, final Method method) {
+        Assert.notNull(clazz);
+        Assert.notNull(method);
+
+        final ConcurrentMap<Method, MethodMetadata> metadataMap = METADATA_CACHE.get(clazz).methods;
+        MethodMetadata metadata = metadataMap.get(method);
+        if (metadata == null) {
+            metadata = new MethodMetadata(clazz, method);
+            final MethodMetadata existingMetadata = metadataMap.putIfAbsent(method, metadata);
+            if (existingMetadata != null) {
+                metadata = existingMetadata;
+            }
+        }
+        return metadata;
+    }
+
+    /**
+     * Get names of parameters of method.
+     * 
+     * @return null if names are not available in class file
+     */
+    public static String[] getParameterNames(final Method method) {
+        final String[] names = get(method.getDeclaringClass(), method).parameterNames;
+        return names == null ? null : ArrayUtils.clone(names);
+    }
+
+    /**
+     * Get {@link ParameterNameDiscoverer} which discovers names of method parameters from the cache.
+     */
+    public static ParameterNameDiscoverer getParameterNameDiscoverer() {
+        return CACHED_NAME_DISCOVERER;
+    }
+
+    protected int getParameterCount() {
+        return parameterTypes.length;
+    }
+
+    /**
+     * Get resolved type of parameter, whose primitive type is replaced with wrapper type.
+     */
+    protected Class<?> getParameterType(final int index) {
+        return parameterTypes[index];
+    }
+
+    /**
+     * Get name of parameter.
+     * 
+     * @return null if names are not available in class file
+     */
+    protected String getParameterName(final int index) {
+        return parameterNames == null ? null : parameterNames[index];
+    }
+
+    /**
+     * Get the first annotation annotated by {@link Provider} of parameter.
+     * 
+     * @return null if there is no provider annotation
+     */
+    protected Annotation getProviderAnnotation(final int index) {
+        return providerAnnotations[index];
+    }
+
+    /**
+     * Get resolved return type, which might be void.
+     */
+    protected Class<?> getReturnType() {
+        return returnType;
+    }
+
+    private static final class CachedParameterNameDiscoverer implements ParameterNameDiscoverer {
+        /**
+         * {@inheritDoc}
+         */
+        public String[] getParameterNames(final Method method) {
+            return MethodMetadata.getParameterNames(method);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @SuppressWarnings("rawtypes")
+        public String[] getParameterNames(final Constructor constructor) {
+            final String[] names = METADATA_CACHE.get(constructor.getDeclaringClass()).getParameterNames(constructor);
+            return names == null ? null : ArrayUtils.clone(names);
+        }
+    }
+
+    private static final class ClassMetadata {
+        private final ConcurrentMap<Method, MethodMetadata> methods = new ConcurrentHashMap<Method, MethodMetadata>();
+        private final Map<Member, String[]> parameterNames;
+
+        private ClassMetadata(final Map<Member, String[]> parameterNames) {
+            this.parameterNames = parameterNames;
+        }
+
+        private String[] getParameterNames(final Member member) {
+            return parameterNames.get(member);
+        }
+    }
+
+    private static final class MethodMetadataCache extends ClassCache<ClassMetadata> {
+        @Override
+        protected ClassMetadata computeValue(final Class<?> type) {
+            final ParameterNameDiscoverer debugNameDiscoverer = new LocalVariableTableParameterNameDiscoverer();
+            final Map<Member, String[]> parameterNames = new HashMap<Member, String[]>();
+            for (final Method method : type.getDeclaredMethods()) {
+                final String[] names = REFLECTION_NAME_DISCOVERER.getParameterNames(method);
+                parameterNames.put(method, names == null ? debugNameDiscoverer.getParameterNames(method) : names);
+            }
+            for (final Constructor<?> constructor : type.getDeclaredConstructors()) {
+                final String[] names = REFLECTION_NAME_DISCOVERER.getParameterNames(constructor);
+                parameterNames.put(constructor, names == null ? debugNameDiscoverer.getParameterNames(constructor)
+                        : names);
+            }
+            return new ClassMetadata(parameterNames);
+        }
+    }
+}
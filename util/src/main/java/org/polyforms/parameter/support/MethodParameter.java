@@ -9,7 +9,6 @@ import org.polyforms.parameter.annotation.At;
 import org.polyforms.parameter.annotation.Named;
 import org.polyforms.parameter.annotation.Provider;
 import org.polyforms.parameter.annotation.TypeOf;
-import org.polyforms.util.AopUtils;
 import org.springframework.util.Assert;
 
 /**
@@ -52,8 +51,8 @@ public class MethodParameter extends Parameter {
      */
     public void setAnnotation(final Annotation annotation) {
         if (annotation != null) {
-            final Class<?> annotationClass = findAnnotationClass(annotation);
-            Assert.notNull(annotationClass, "The annotation for argument provider should be annotated by @Provider.");
+            Assert.isTrue(ArgumentProviderBuilder.isProviderAnnotation(annotation),
+                    "The annotation for argument provider should be annotated by @Provider.");
         }
 
         this.annotation = annotation;
@@ -65,22 +64,11 @@ public class MethodParameter extends Parameter {
     @SuppressWarnings("unchecked")
     public void applyAnnotation() {
         if (annotation != null) {
-            final Class<?> annotationClass = findAnnotationClass(annotation);
-
-            if (ANNOTATION_ACTIONS.containsKey(annotationClass)) {
-                ANNOTATION_ACTIONS.get(annotationClass).apply(this, annotation);
-            }
-        }
-    }
-
-    private Class<?> findAnnotationClass(final Annotation annotation) {
-        final Class<?>[] candidates = AopUtils.deproxy(annotation.getClass());
-        for (final Class<?> candidate : candidates) {
-            if (candidate.isAnnotationPresent(Provider.class)) {
-                return candidate;
+            final Action<Annotation> action = ANNOTATION_ACTIONS.get(annotation.annotationType());
+            if (action != null) {
+                action.apply(this, annotation);
             }
         }
-        return null;
     }
 
     public Annotation getAnnotation() {
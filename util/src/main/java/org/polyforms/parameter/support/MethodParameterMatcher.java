@@ -1,12 +1,11 @@
 package org.polyforms.parameter.support;
 
 import java.lang.annotation.Annotation;
-import java.util.Map;
-import java.util.WeakHashMap;
 
 import org.polyforms.parameter.ArgumentProvider;
 import org.polyforms.parameter.Parameters;
 import org.polyforms.parameter.provider.ArgumentAt;
+import org.polyforms.util.LruCache;
 
 /**
  * Parameter Matcher used to match parameters from two methods.
@@ -15,19 +14,76 @@ import org.polyforms.parameter.provider.ArgumentAt;
  * @since 1.0
  */
 public class MethodParameterMatcher extends AbstractParameterMatcher<MethodParameter, MethodParameter> {
-    private final Map<ParametersPair, ArgumentProvider[]> argumentProvidersCache = new WeakHashMap<ParametersPair, ArgumentProvider[]>();
+    private static final int DEFAULT_CACHE_SIZE = 1024;
+    private final LruCache<ParametersPair, ArgumentMapper> argumentMappersCache;
+    private final LruCache<Parameters<?>, SourceParameters> sourceParametersCache;
     private final ArgumentProviderBuilder argumentProviderBuilder = new ArgumentProviderBuilder();
 
+    /**
+     * Create an instance caching argument mappers of at most 1024 pairs of parameters.
+     */
+    public MethodParameterMatcher() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Create an instance caching argument mappers of at most specified number of pairs of parameters.
+     */
+    public MethodParameterMatcher(final int cacheSize) {
+        argumentMappersCache = new LruCache<ParametersPair, ArgumentMapper>(cacheSize);
+        sourceParametersCache = new LruCache<Parameters<?>, SourceParameters>(cacheSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Argument providers are cached by pair of parameters, which should implement equals and hashCode by identity of
+     * class and method, such as {@link MethodParameters}.
+     */
     @Override
     public ArgumentProvider[] match(final Parameters<MethodParameter> sourceParameters,
             final Parameters<MethodParameter> targetParameters) {
+        return compile(sourceParameters, targetParameters).getArgumentProviders();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * The compiled mapper is cached in the same way as argument providers.
+     */
+    @Override
+    public ArgumentMapper compile(final Parameters<MethodParameter> sourceParameters,
+            final Parameters<MethodParameter> targetParameters) {
         final ParametersPair parametersPair = new ParametersPair(sourceParameters, targetParameters);
-        ArgumentProvider[] argumentProviders = argumentProvidersCache.get(parametersPair);
-		if (argumentProviders == null) {
-			argumentProviders = super.match(sourceParameters, targetParameters);
-            argumentProvidersCache.put(parametersPair, argumentProviders);
+        final ArgumentMapper argumentMapper = argumentMappersCache.get(parametersPair);
+        if (argumentMapper != null) {
+            return argumentMapper;
         }
-        return argumentProviders;
+
+        return argumentMappersCache.putIfAbsent(parametersPair,
+                ArgumentMapper.compile(super.match(sourceParameters, targetParameters)));
+    }
+
+    /**
+     * Get statistics of cache of argument mappers.
+     */
+    public LruCache.Statistics getCacheStatistics() {
+        return argumentMappersCache.getStatistics();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * The lookup index is cached by source parameters and shared by all matches against them.
+     */
+    @Override
+    protected SourceParameters getSourceParameters(final Parameters<MethodParameter> sourceParameters) {
+        final SourceParameters cachedSourceParameters = sourceParametersCache.get(sourceParameters);
+        if (cachedSourceParameters != null) {
+            return cachedSourceParameters;
+        }
+
+        return sourceParametersCache.putIfAbsent(sourceParameters, super.getSourceParameters(sourceParameters));
     }
 
     @Override
@@ -1,29 +1,24 @@
 package org.polyforms.parameter.support;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 
 import org.polyforms.parameter.ReturnParameterAware;
-import org.polyforms.parameter.annotation.Provider;
 import org.polyforms.util.ArrayUtils;
-import org.springframework.core.GenericTypeResolver;
-import org.springframework.core.LocalVariableTableParameterNameDiscoverer;
-import org.springframework.core.ParameterNameDiscoverer;
-import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 
 /**
- * {@link org.polyforms.parameter.Parameters} to extra parameters information from {@link Method}.
+ * {@link org.polyforms.parameter.Parameters} to extra parameters information from {@link Method}, which is a view over
+ * {@link MethodMetadata} cached process-wide.
  * 
  * @author Kuisong Tong
  * @since 1.0
  */
 public class MethodParameters implements ReturnParameterAware<MethodParameter> {
     private static final String NAME_OF_RETURN_VALUE = "returnValue";
-    private final ParameterNameDiscoverer parameterNameDiscoverer = new LocalVariableTableParameterNameDiscoverer();
     private final Class<?> clazz;
     private final Method method;
+    private final MethodMetadata metadata;
     private final MethodParameter[] parameters;
 
     /**
@@ -36,39 +31,19 @@ public class MethodParameters implements ReturnParameterAware<MethodParameter> {
         this.clazz = clazz;
         this.method = method;
 
-        final Class<?>[] parameterTypes = method.getParameterTypes();
-        final String[] parameterNames = parameterNameDiscoverer.getParameterNames(method);
-        final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
-
-        parameters = new MethodParameter[parameterTypes.length];
-        for (int i = 0; i < parameterTypes.length; i++) {
+        metadata = MethodMetadata.get(clazz, method);
+        parameters = new MethodParameter[metadata.getParameterCount()];
+        for (int i = 0; i < parameters.length; i++) {
             final MethodParameter parameter = new MethodParameter();
             parameters[i] = parameter;
 
             parameter.setIndex(i);
-
-            final Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(GenericTypeResolver.resolveParameterType(
-                    new org.springframework.core.MethodParameter(method, i), clazz));
-            parameter.setType(type);
-
-            if (parameterNames != null) {
-                parameter.setName(parameterNames[i]);
-            }
-
-            parameter.setAnnotation(getFirstProviderAnnotation(parameterAnnotations[i]));
+            parameter.setType(metadata.getParameterType(i));
+            parameter.setName(metadata.getParameterName(i));
+            parameter.setAnnotation(metadata.getProviderAnnotation(i));
         }
     }
 
-    private Annotation getFirstProviderAnnotation(final Annotation[] annotations) {
-        for (final Annotation annotation : annotations) {
-            if (AnnotationUtils.findAnnotation(annotation.getClass(), Provider.class) != null) {
-                return annotation;
-            }
-        }
-
-        return null;
-    }
-
     /**
      * Apply annotations to meta data of parameters.
      */
@@ -89,7 +64,7 @@ public class MethodParameters implements ReturnParameterAware<MethodParameter> {
      * {@inheritDoc}
      */
     public MethodParameter getReturnParameter() {
-        final Class<?> returnType = GenericTypeResolver.resolveReturnType(method, clazz);
+        final Class<?> returnType = metadata.getReturnType();
         if (returnType.equals(void.class)) {
             return null;
         }
@@ -0,0 +1,70 @@
+package org.polyforms.parameter.support;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@link ParameterNameDiscoverer} which reads names of parameters from reflection data of class compiled with
+ * "-parameters" option, available since Java 8 and accessed reflectively to run on earlier versions.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+class ReflectionParameterNameDiscoverer implements ParameterNameDiscoverer {
+    private static final Method GET_PARAMETERS;
+    private static final Method IS_NAME_PRESENT;
+    private static final Method GET_NAME;
+
+    static {
+        final String parameterClassName = "java.lang.reflect.Parameter";
+        final ClassLoader classLoader = ReflectionParameterNameDiscoverer.class.getClassLoader();
+        if (ClassUtils.isPresent(parameterClassName, classLoader)) {
+            final Class<?> parameterClass = ClassUtils.resolveClassName(parameterClassName, classLoader);
+            GET_PARAMETERS = ReflectionUtils.findMethod(Method.class, "getParameters");
+            IS_NAME_PRESENT = ReflectionUtils.findMethod(parameterClass, "isNamePresent");
+            GET_NAME = ReflectionUtils.findMethod(parameterClass, "getName");
+        } else {
+            GET_PARAMETERS = null;
+            IS_NAME_PRESENT = null;
+            GET_NAME = null;
+        }
+    }
+
+    /**
+     * Check whether reflection data of parameters is supported by current JVM.
+     */
+    protected static boolean isSupported() {
+        return GET_PARAMETERS != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String[] getParameterNames(final Method method) {
+        if (!isSupported()) {
+            return null;
+        }
+
+        final Object[] parameters = (Object[]) ReflectionUtils.invokeMethod(GET_PARAMETERS, method);
+        final String[] parameterNames = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            if (!(Boolean) ReflectionUtils.invokeMethod(IS_NAME_PRESENT, parameters[i])) {
+                return null;
+            }
+            parameterNames[i] = (String) ReflectionUtils.invokeMethod(GET_NAME, parameters[i]);
+        }
+        return parameterNames;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("rawtypes")
+    public String[] getParameterNames(final Constructor constructor) {
+        return null;
+    }
+}
@@ -1,9 +1,8 @@
 package org.polyforms.parameter.support;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.Set;
+import java.util.TreeMap;
 
 import org.polyforms.parameter.Parameter;
 import org.polyforms.parameter.Parameters;
@@ -12,17 +11,66 @@ import org.springframework.util.StringUtils;
 /**
  * Help class used to match parameter.
  * 
+ * The lookup index is computed once from source parameters and never changes, so an instance can be shared by all
+ * matches against the same source parameters. Names and indexes are kept in sorted arrays for binary search, types are
+ * kept in a compact array with parameters of ambiguous types precomputed.
+ * 
  * @author Kuisong Tong
  * @since 1.0
  */
 public class SourceParameters {
-    private final Parameters<?> parameters;
-    private Map<String, Parameter> namedParameters;
-    private Map<Class<?>, Set<Parameter>> typedParameters;
-    private Map<Integer, Parameter> indexedParameters;
+    private final String[] names;
+    private final Parameter[] namedParameters;
+    private final Class<?>[] types;
+    private final Parameter[] typedParameters;
+    private final int[] indexes;
+    private final Parameter[] indexedParameters;
 
     protected SourceParameters(final Parameters<?> parameters) {
-        this.parameters = parameters;
+        final Parameter[] sourceParameters = parameters.getParameters();
+
+        final Map<String, Parameter> parametersByName = new TreeMap<String, Parameter>();
+        final Map<Integer, Parameter> parametersByIndex = new TreeMap<Integer, Parameter>();
+        final Class<?>[] distinctTypes = new Class<?>[sourceParameters.length];
+        final Parameter[] parametersByType = new Parameter[sourceParameters.length];
+        int typeCount = 0;
+        for (final Parameter sourceParameter : sourceParameters) {
+            final String name = sourceParameter.getName();
+            if (StringUtils.hasText(name)) {
+                parametersByName.put(name, sourceParameter);
+            }
+            parametersByIndex.put(sourceParameter.getIndex(), sourceParameter);
+
+            final int typePosition = indexOf(distinctTypes, typeCount, sourceParameter.getType());
+            if (typePosition < 0) {
+                distinctTypes[typeCount] = sourceParameter.getType();
+                parametersByType[typeCount++] = sourceParameter;
+            } else if (parametersByType[typePosition] != sourceParameter) {
+                parametersByType[typePosition] = null;
+            }
+        }
+
+        names = parametersByName.keySet().toArray(new String[parametersByName.size()]);
+        namedParameters = parametersByName.values().toArray(new Parameter[parametersByName.size()]);
+        indexes = new int[parametersByIndex.size()];
+        indexedParameters = parametersByIndex.values().toArray(new Parameter[parametersByIndex.size()]);
+        int i = 0;
+        for (final Integer index : parametersByIndex.keySet()) {
+            indexes[i++] = index;
+        }
+        types = new Class<?>[typeCount];
+        typedParameters = new Parameter[typeCount];
+        System.arraycopy(distinctTypes, 0, types, 0, typeCount);
+        System.arraycopy(parametersByType, 0, typedParameters, 0, typeCount);
+    }
+
+    private static int indexOf(final Class<?>[] types, final int length, final Class<?> type) {
+        for (int i = 0; i < length; i++) {
+            if (types[i] == type) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     /**
@@ -51,58 +99,22 @@ public class SourceParameters {
     }
 
     private Parameter matchByName(final Parameter parameter) {
-        if (namedParameters == null) {
-            prepareNamedParameters();
-        }
-        return namedParameters.get(parameter.getName());
-    }
-
-    private void prepareNamedParameters() {
-        namedParameters = new HashMap<String, Parameter>();
-        for (final Parameter sourceParameter : parameters.getParameters()) {
-            final String name = sourceParameter.getName();
-            if (StringUtils.hasText(name)) {
-                namedParameters.put(name, sourceParameter);
-            }
-        }
-    }
-
-    private Parameter matchByType(final Parameter parameter) {
-        if (typedParameters == null) {
-            prepareTypedParameters();
-        }
-        final Set<Parameter> matchedParameters = typedParameters.get(parameter.getType());
-        if (matchedParameters == null || matchedParameters.size() > 1) {
+        final String name = parameter.getName();
+        if (name == null) {
             return null;
         }
 
-        return matchedParameters.iterator().next();
+        final int position = Arrays.binarySearch(names, name);
+        return position < 0 ? null : namedParameters[position];
     }
 
-    private void prepareTypedParameters() {
-        typedParameters = new HashMap<Class<?>, Set<Parameter>>();
-
-        for (final Parameter sourceParameter : parameters.getParameters()) {
-            final Class<?> type = sourceParameter.getType();
-            if (!typedParameters.containsKey(type)) {
-                typedParameters.put(type, new HashSet<Parameter>());
-            }
-            typedParameters.get(type).add(sourceParameter);
-        }
+    private Parameter matchByType(final Parameter parameter) {
+        final int position = indexOf(types, types.length, parameter.getType());
+        return position < 0 ? null : typedParameters[position];
     }
 
     private Parameter matchByIndex(final Parameter parameter) {
-        if (indexedParameters == null) {
-            prepareIndexedParameters();
-        }
-        return indexedParameters.get(parameter.getIndex());
-    }
-
-    private void prepareIndexedParameters() {
-        indexedParameters = new HashMap<Integer, Parameter>();
-
-        for (final Parameter sourceParameter : parameters.getParameters()) {
-            indexedParameters.put(sourceParameter.getIndex(), sourceParameter);
-        }
+        final int position = Arrays.binarySearch(indexes, parameter.getIndex());
+        return position < 0 ? null : indexedParameters[position];
     }
 }
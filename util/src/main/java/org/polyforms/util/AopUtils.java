@@ -1,17 +1,38 @@
 package org.polyforms.util;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import net.sf.cglib.proxy.Enhancer;
 import net.sf.cglib.proxy.Proxy;
 
 /**
  * Utility for AOP support.
  * 
+ * The deproxied classes are cached per class in an unmodifiable list by {@link ClassCache}, which references classes
+ * weakly and lists softly, so a cached list never prevents its class loader from being unloaded except until it is
+ * collected under memory pressure.
+ * 
  * @author Kuisong Tong
  * @since 1.0
  */
 public final class AopUtils {
     private static final Deproxyer[] DEPROXYERS = new Deproxyer[] { new NullDeproxyer(), new ProxyDeproxyer(),
-            new EnhancerDeproxyer() };
+            new EnhancerDeproxyer(), new ClassDeproxyer() };
+    private static final Class<?>[] EMPTY_CLASS = new Class<?>[0];
+    private static final ClassCache<List<Class<?>>> DEPROXIED_CACHE = new ClassCache<List<Class<?>>>() {
+        @Override
+        protected List<Class<?>> computeValue(final Class<?> clazz) {
+            for (final Deproxyer deproxyer : DEPROXYERS) {
+                if (deproxyer.supports(clazz)) {
+                    return Collections.unmodifiableList(Arrays.asList(deproxyer.deproxy(clazz)));
+                }
+            }
+
+            throw new IllegalStateException("Should never get here");
+        }
+    };
 
     protected AopUtils() {
         throw new UnsupportedOperationException();
@@ -21,16 +42,26 @@ public final class AopUtils {
      * Determine the target class or interfaces of the given class which might be an AOP proxy.
      * 
      * @param clazz of AOP proxy
-     * @return target class if proxying by enhancer, or interfaces if proxying by proxy
+     * @return target class if proxying by enhancer, or interfaces if proxying by proxy, in a new array unless it is
+     *         empty
      */
     public static Class<?>[] deproxy(final Class<?> clazz) {
-        for (final Deproxyer deproxyer : DEPROXYERS) {
-            if (deproxyer.supports(clazz)) {
-                return deproxyer.deproxy(clazz);
-            }
+        return getDeproxiedClasses(clazz).toArray(EMPTY_CLASS);
+    }
+
+    /**
+     * Determine the target class or interfaces of the given class which might be an AOP proxy, without allocation once
+     * the class is cached.
+     * 
+     * @param clazz of AOP proxy
+     * @return unmodifiable list of target class if proxying by enhancer, or interfaces if proxying by proxy
+     */
+    public static List<Class<?>> getDeproxiedClasses(final Class<?> clazz) {
+        if (clazz == null) {
+            return Collections.emptyList();
         }
 
-        return new Class<?>[] { clazz };
+        return DEPROXIED_CACHE.get(clazz);
     }
 
     private abstract static class Deproxyer {
@@ -40,16 +71,14 @@ public final class AopUtils {
     }
 
     private static class NullDeproxyer extends Deproxyer {
-        private static final Class<?>[] EMPTY_CLASS = new Class<?>[0];
-
         @Override
         protected boolean supports(final Class<?> clazz) {
-            return clazz == null || clazz.getSuperclass() == null;
+            return clazz.getSuperclass() == null;
         }
 
         @Override
         protected Class<?>[] deproxy(final Class<?> clazz) {
-            return EMPTY_CLASS.clone();
+            return EMPTY_CLASS;
         }
     }
 
@@ -79,4 +108,16 @@ public final class AopUtils {
             return result;
         }
     }
+
+    private static class ClassDeproxyer extends Deproxyer {
+        @Override
+        protected boolean supports(final Class<?> clazz) {
+            return true;
+        }
+
+        @Override
+        protected Class<?>[] deproxy(final Class<?> clazz) {
+            return new Class<?>[] { clazz };
+        }
+    }
 }
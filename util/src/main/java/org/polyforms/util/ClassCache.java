@@ -0,0 +1,149 @@
+package org.polyforms.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.util.Assert;
+
+/**
+ * Thread-safe cache of values computed lazily for classes.
+ * 
+ * Lookups never lock. Classes are referenced weakly and values softly, and a value collected by garbage collector is
+ * computed again on next lookup. A value referencing its class, directly or through members or other classes of the
+ * same class loader, keeps the class and its class loader reachable until the value is collected under memory
+ * pressure; values which must not delay unloading should not reference classes of the key's class loader.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public abstract class ClassCache<V> {
+    private final ConcurrentMap<ClassKey, Reference<V>> values = new ConcurrentHashMap<ClassKey, Reference<V>>();
+    private final ReferenceQueue<Class<?>> queue = new ReferenceQueue<Class<?>>();
+
+    /**
+     * Compute the value for class at the first lookup. The method might be invoked more than once for the same class
+     * under contention, but only one value is kept and returned to all callers.
+     */
+    protected abstract V computeValue(Class<?> type);
+
+    /**
+     * Get the value for class, which is computed if absent.
+     */
+    public V get(final Class<?> type) {
+        Assert.notNull(type);
+        final Reference<V> reference = values.get(new LookupKey(type));
+        if (reference != null) {
+            final V value = reference.get();
+            if (value != null) {
+                return value;
+            }
+        }
+
+        return putIfAbsent(type);
+    }
+
+    private V putIfAbsent(final Class<?> type) {
+        expungeStaleEntries();
+        final V value = computeValue(type);
+        Assert.notNull(value, "The value computed for class must not be null.");
+
+        final ClassKey key = new WeakKey(type, queue);
+        final Reference<V> reference = new SoftReference<V>(value);
+        while (true) {
+            final Reference<V> existingReference = values.putIfAbsent(key, reference);
+            if (existingReference == null) {
+                return value;
+            }
+
+            final V existingValue = existingReference.get();
+            if (existingValue != null) {
+                return existingValue;
+            }
+
+            if (values.replace(key, existingReference, reference)) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Remove the value for class, which would be computed again at next lookup.
+     */
+    public void remove(final Class<?> type) {
+        Assert.notNull(type);
+        values.remove(new LookupKey(type));
+    }
+
+    /**
+     * Get the number of classes having values cached.
+     */
+    protected int size() {
+        expungeStaleEntries();
+        return values.size();
+    }
+
+    private void expungeStaleEntries() {
+        Reference<? extends Class<?>> reference;
+        while ((reference = queue.poll()) != null) {
+            values.remove(reference);
+        }
+    }
+
+    private interface ClassKey {
+        Class<?> getType();
+    }
+
+    private static final class LookupKey implements ClassKey {
+        private final Class<?> type;
+
+        private LookupKey(final Class<?> type) {
+            this.type = type;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(type);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof ClassKey && type == ((ClassKey) obj).getType();
+        }
+    }
+
+    private static final class WeakKey extends WeakReference<Class<?>> implements ClassKey {
+        private final int hashCode;
+
+        private WeakKey(final Class<?> type, final ReferenceQueue<Class<?>> queue) {
+            super(type, queue);
+            hashCode = System.identityHashCode(type);
+        }
+
+        public Class<?> getType() {
+            return get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            final Class<?> type = get();
+            return type != null && obj instanceof ClassKey && type == ((ClassKey) obj).getType();
+        }
+    }
+}
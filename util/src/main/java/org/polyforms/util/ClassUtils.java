@@ -34,10 +34,7 @@ public final class ClassUtils {
      * @return the original class, or a primitive for the original primitive wrapper type
      */
     public static Class<?> resolvePrimitiveWrapperIfNecessary(final Class<?> clazz) {
-        if (PRIMITIVE_WRAPPER_TYPE_MAP.containsKey(clazz)) {
-            return PRIMITIVE_WRAPPER_TYPE_MAP.get(clazz);
-        }
-
-        return clazz;
+        final Class<?> primitiveType = PRIMITIVE_WRAPPER_TYPE_MAP.get(clazz);
+        return primitiveType == null ? clazz : primitiveType;
     }
 }
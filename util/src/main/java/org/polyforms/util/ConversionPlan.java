@@ -0,0 +1,186 @@
+package org.polyforms.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.util.Assert;
+
+/**
+ * Plan to convert arguments and return value of method, with type descriptors resolved against target class in
+ * advance.
+ * 
+ * Type descriptors of values are cached by their classes, so the converter cache of
+ * {@link org.springframework.core.convert.support.GenericConversionService} is hit with equal descriptors on each
+ * conversion. Every value is passed to {@link ConversionService}, except by {@link #convertArgumentsInPlace} and
+ * {@link #convertReturnValueIfNecessary}, which pass values which are already instances of non-container types through
+ * and widen values of primitive wrapper types directly by {@link PrimitiveWidening}. Those shortcuts bypass converters
+ * registered for the same types, so callers have to opt in to them.
+ * 
+ * Plans are cached per target class in a {@link ClassCache}. The cached plans reference methods of the class, so the
+ * class stays reachable until the plans are collected under memory pressure.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public final class ConversionPlan {
+    private static final TypeDescriptor[] NO_TYPE_DESCRIPTORS = new TypeDescriptor[0];
+    private static final ClassCache<ConcurrentMap<Method, ConversionPlan>> PLANS_CACHE = new ConversionPlansCache();
+    private final Slot[] parameterSlots;
+    private final Slot returnSlot;
+
+    private ConversionPlan(final TypeDescriptor[] parameterTypeDescriptors, final TypeDescriptor returnTypeDescriptor) {
+        parameterSlots = new Slot[parameterTypeDescriptors.length];
+        for (int i = 0; i < parameterSlots.length; i++) {
+            parameterSlots[i] = new Slot(parameterTypeDescriptors[i]);
+        }
+        returnSlot = new Slot(returnTypeDescriptor);
+    }
+
+    /**
+     * Get the plan of method resolved against target class, which is cached process-wide.
+     */
+    public static ConversionPlan get(final Class<?> targetClass, final Method method) {
+        Assert.notNull(targetClass);
+        Assert.notNull(method);
+
+        final ConcurrentMap<Method, ConversionPlan> plans = PLANS_CACHE.get(targetClass);
+        ConversionPlan plan = plans.get(method);
+        if (plan == null) {
+            plan = new ConversionPlan(ConversionUtils.getParameterTypeDescriptors(targetClass, method),
+                    ConversionUtils.getReturnTypeDescriptor(targetClass, method));
+            final ConversionPlan existingPlan = plans.putIfAbsent(method, plan);
+            if (existingPlan != null) {
+                plan = existingPlan;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Create a plan converting return value to provided type descriptor, without parameters.
+     */
+    public static ConversionPlan forReturnValue(final TypeDescriptor returnTypeDescriptor) {
+        Assert.notNull(returnTypeDescriptor);
+        return new ConversionPlan(NO_TYPE_DESCRIPTORS, returnTypeDescriptor);
+    }
+
+    /**
+     * Get resolved type descriptors of parameters.
+     */
+    public TypeDescriptor[] getParameterTypeDescriptors() {
+        final TypeDescriptor[] typeDescriptors = new TypeDescriptor[parameterSlots.length];
+        for (int i = 0; i < typeDescriptors.length; i++) {
+            typeDescriptors[i] = parameterSlots[i].targetType;
+        }
+        return typeDescriptors;
+    }
+
+    /**
+     * Get resolved type descriptor of return type.
+     */
+    public TypeDescriptor getReturnTypeDescriptor() {
+        return returnSlot.targetType;
+    }
+
+    /**
+     * Convert arguments to types of parameters.
+     * 
+     * @return the arguments themselves if every argument is converted to itself, otherwise a new array of converted arguments
+     */
+    public Object[] convertArguments(final ConversionService conversionService, final Object[] arguments) {
+        Object[] convertedArguments = arguments;
+        for (int i = 0; i < parameterSlots.length; i++) {
+            final Object argument = arguments[i];
+            final Object convertedArgument = parameterSlots[i].convert(conversionService, argument, false);
+            if (convertedArgument != argument && convertedArguments == arguments) {
+                convertedArguments = ArrayUtils.copyOf(arguments, parameterSlots.length);
+            }
+            convertedArguments[i] = convertedArgument;
+        }
+
+        return convertedArguments.length == parameterSlots.length ? convertedArguments : ArrayUtils.copyOf(
+                convertedArguments, parameterSlots.length);
+    }
+
+    /**
+     * Convert arguments to types of parameters in place, passing arguments which are already instances of parameter
+     * types through.
+     */
+    public void convertArgumentsInPlace(final ConversionService conversionService, final Object[] arguments) {
+        for (int i = 0; i < parameterSlots.length; i++) {
+            arguments[i] = parameterSlots[i].convert(conversionService, arguments[i], true);
+        }
+    }
+
+    /**
+     * Convert return value to return type, the default value of return type is returned if the value is null.
+     */
+    public Object convertReturnValue(final ConversionService conversionService, final Object returnValue) {
+        return convertReturnValue(conversionService, returnValue, false);
+    }
+
+    /**
+     * Convert return value to return type if it is not an instance of return type yet, the default value of return
+     * type is returned if the value is null.
+     */
+    public Object convertReturnValueIfNecessary(final ConversionService conversionService, final Object returnValue) {
+        return convertReturnValue(conversionService, returnValue, true);
+    }
+
+    private Object convertReturnValue(final ConversionService conversionService, final Object returnValue,
+            final boolean shortcut) {
+        final Class<?> returnType = returnSlot.targetType.getType();
+        if (returnType == void.class || returnValue == null) {
+            return DefaultValue.get(returnType);
+        }
+
+        return returnSlot.convert(conversionService, returnValue, shortcut);
+    }
+
+    private static final class Slot {
+        private final TypeDescriptor targetType;
+        private final Class<?> instanceType;
+        private final ConcurrentMap<Class<?>, TypeDescriptor> sourceTypes =
+                new ConcurrentHashMap<Class<?>, TypeDescriptor>();
+
+        private Slot(final TypeDescriptor targetType) {
+            this.targetType = targetType;
+            instanceType = targetType.isCollection() || targetType.isArray() || targetType.isMap() ? null : targetType
+                    .getObjectType();
+        }
+
+        private Object convert(final ConversionService conversionService, final Object value, final boolean shortcut) {
+            if (value == null) {
+                return conversionService.convert(null, null, targetType);
+            }
+
+            final Class<?> valueClass = value.getClass();
+            if (shortcut) {
+                if (instanceType != null && instanceType.isAssignableFrom(valueClass)) {
+                    return value;
+                }
+
+                if (PrimitiveWidening.isWidening(valueClass, instanceType)) {
+                    return PrimitiveWidening.widen(value, instanceType);
+                }
+            }
+
+            TypeDescriptor sourceType = sourceTypes.get(valueClass);
+            if (sourceType == null) {
+                sourceType = TypeDescriptor.valueOf(valueClass);
+                sourceTypes.putIfAbsent(valueClass, sourceType);
+            }
+            return conversionService.convert(value, sourceType, targetType);
+        }
+    }
+
+    private static final class ConversionPlansCache extends ClassCache<ConcurrentMap<Method, ConversionPlan>> {
+        @Override
+        protected ConcurrentMap<Method, ConversionPlan> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<Method, ConversionPlan>();
+        }
+    }
+}
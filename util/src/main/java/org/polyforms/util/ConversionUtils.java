@@ -20,16 +20,28 @@ public class ConversionUtils {
 
     /**
      * Convert arguments for provided method.
+     * 
+     * @see ConversionPlan#convertArguments(ConversionService, Object[])
      */
     public static Object[] convertArguments(final ConversionService conversionService, final Class<?> targetClass,
             final Method method, final Object[] arguments) {
-        final Class<?>[] parameterTypes = method.getParameterTypes();
-        final Object[] convertedArguments = new Object[parameterTypes.length];
+        return convertArguments(conversionService, ConversionPlan.get(targetClass, method)
+                .getParameterTypeDescriptors(), arguments);
+    }
+
+    /**
+     * Convert arguments to pre-resolved type descriptors of parameters.
+     * 
+     * @see #getParameterTypeDescriptors(Class, Method)
+     */
+    public static Object[] convertArguments(final ConversionService conversionService,
+            final TypeDescriptor[] parameterTypeDescriptors, final Object[] arguments) {
+        final Object[] convertedArguments = new Object[parameterTypeDescriptors.length];
 
-        for (int i = 0; i < parameterTypes.length; i++) {
+        for (int i = 0; i < parameterTypeDescriptors.length; i++) {
             final Object argument = arguments[i];
             convertedArguments[i] = conversionService.convert(argument, TypeDescriptor.forObject(argument),
-                    createTypeDescriptor(method, i, targetClass));
+                    parameterTypeDescriptors[i]);
         }
 
         return convertedArguments;
@@ -46,8 +58,42 @@ public class ConversionUtils {
             return DefaultValue.get(returnType);
         }
 
-        return conversionService.convert(returnValue, TypeDescriptor.forObject(returnValue),
-                createTypeDescriptor(method, -1, targetClass));
+        return convertReturnValue(conversionService, ConversionPlan.get(targetClass, method).getReturnTypeDescriptor(),
+                returnValue);
+    }
+
+    /**
+     * Convert return value to pre-resolved type descriptor of return type.
+     * 
+     * @see #getReturnTypeDescriptor(Class, Method)
+     */
+    public static Object convertReturnValue(final ConversionService conversionService,
+            final TypeDescriptor returnTypeDescriptor, final Object returnValue) {
+        final Class<?> returnType = returnTypeDescriptor.getType();
+
+        if (returnType == void.class || returnValue == null) {
+            return DefaultValue.get(returnType);
+        }
+
+        return conversionService.convert(returnValue, TypeDescriptor.forObject(returnValue), returnTypeDescriptor);
+    }
+
+    /**
+     * Resolve type descriptors of parameters of method against target class.
+     */
+    public static TypeDescriptor[] getParameterTypeDescriptors(final Class<?> targetClass, final Method method) {
+        final TypeDescriptor[] typeDescriptors = new TypeDescriptor[method.getParameterTypes().length];
+        for (int i = 0; i < typeDescriptors.length; i++) {
+            typeDescriptors[i] = createTypeDescriptor(method, i, targetClass);
+        }
+        return typeDescriptors;
+    }
+
+    /**
+     * Resolve type descriptor of return type of method against target class.
+     */
+    public static TypeDescriptor getReturnTypeDescriptor(final Class<?> targetClass, final Method method) {
+        return createTypeDescriptor(method, -1, targetClass);
     }
 
     private static TypeDescriptor createTypeDescriptor(final Method method, final int index, final Class<?> targetClass) {
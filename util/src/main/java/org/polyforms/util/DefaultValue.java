@@ -43,6 +43,10 @@ public final class DefaultValue {
      */
     @SuppressWarnings("unchecked")
     public static <T> T get(final Class<T> type) {
+        if (type == null || !type.isPrimitive()) {
+            return null;
+        }
+
         return (T) PRIMITIVE_MAP.get(type);
     }
 }
@@ -0,0 +1,218 @@
+package org.polyforms.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.util.Assert;
+
+/**
+ * Thread-safe cache bounded by maximum size, which evicts least recently used entries when it is full.
+ * 
+ * Lookups never lock, they only stamp the entry with {@link System#nanoTime()} by a volatile write, so concurrent
+ * lookups do not contend on a shared clock. The order of eviction is approximate, as a stamp might be overwritten by
+ * an earlier one. When an insertion exceeds the maximum size, one thread captures the stamps of all entries and evicts
+ * the least recently used ones in a batch until the cache is back under the low water mark, so the cost of eviction is
+ * amortized over many insertions.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public class LruCache<K, V> {
+    private static final int EVICTION_BATCH_RATIO = 8;
+    private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<K, Entry<V>>();
+    private final Lock evictionLock = new ReentrantLock();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final int maximumSize;
+    private final int lowWaterMark;
+
+    /**
+     * Create an instance with maximum number of entries.
+     */
+    public LruCache(final int maximumSize) {
+        Assert.isTrue(maximumSize > 0, "The maximum size of cache must be positive.");
+        this.maximumSize = maximumSize;
+        lowWaterMark = Math.max(1, maximumSize - Math.max(1, maximumSize / EVICTION_BATCH_RATIO));
+    }
+
+    /**
+     * Get the value cached for key.
+     * 
+     * @return null if there is no value cached
+     */
+    public V get(final K key) {
+        final Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+
+        entry.accessTime = System.nanoTime();
+        hitCount.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * Cache the value for key if absent.
+     * 
+     * @return the value which is cached for key, which might be put by another thread
+     */
+    public V putIfAbsent(final K key, final V value) {
+        Assert.notNull(key);
+        Assert.notNull(value);
+
+        final Entry<V> entry = new Entry<V>(value, System.nanoTime());
+        final Entry<V> existingEntry = entries.putIfAbsent(key, entry);
+        if (existingEntry != null) {
+            return existingEntry.value;
+        }
+
+        if (entries.size() > maximumSize) {
+            evict();
+        }
+        return value;
+    }
+
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+
+        try {
+            final List<Candidate<K, V>> snapshot = new ArrayList<Candidate<K, V>>(entries.size());
+            for (final Map.Entry<K, Entry<V>> entry : entries.entrySet()) {
+                snapshot.add(new Candidate<K, V>(entry.getKey(), entry.getValue()));
+            }
+            final int evictions = snapshot.size() - lowWaterMark;
+            if (evictions <= 0) {
+                return;
+            }
+
+            Collections.sort(snapshot);
+            for (int i = 0; i < evictions; i++) {
+                final Candidate<K, V> eldest = snapshot.get(i);
+                if (entries.remove(eldest.key, eldest.entry)) {
+                    evictionCount.incrementAndGet();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Remove all entries, without resetting statistics.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Get the number of entries cached.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Get a snapshot of statistics of cache.
+     */
+    public Statistics getStatistics() {
+        return new Statistics(hitCount.get(), missCount.get(), evictionCount.get(), entries.size());
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private volatile long accessTime;
+
+        private Entry(final V value, final long accessTime) {
+            this.value = value;
+            this.accessTime = accessTime;
+        }
+    }
+
+    /**
+     * Entry with its access time captured when eviction starts, so the order stays consistent while lookups keep
+     * stamping the entry.
+     */
+    private static final class Candidate<K, V> implements Comparable<Candidate<K, V>> {
+        private final K key;
+        private final Entry<V> entry;
+        private final long accessTime;
+
+        private Candidate(final K key, final Entry<V> entry) {
+            this.key = key;
+            this.entry = entry;
+            accessTime = entry.accessTime;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public int compareTo(final Candidate<K, V> candidate) {
+            final long difference = accessTime - candidate.accessTime;
+            return difference < 0 ? -1 : difference == 0 ? 0 : 1;
+        }
+    }
+
+    /**
+     * Immutable snapshot of statistics of {@link LruCache}.
+     */
+    public static final class Statistics {
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final int size;
+
+        private Statistics(final long hitCount, final long missCount, final long evictionCount, final int size) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.size = size;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * Get the ratio of lookups which hit the cache.
+         * 
+         * @return 1 if there is no lookup yet
+         */
+        public double getHitRate() {
+            final long requestCount = hitCount + missCount;
+            return requestCount == 0 ? 1 : (double) hitCount / requestCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics [hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount="
+                    + evictionCount + ", size=" + size + "]";
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.polyforms.util;
+
+import org.springframework.util.Assert;
+
+/**
+ * Utility for widening primitive conversions of values of primitive wrapper types, as defined in section 5.1.2 of the
+ * Java Language Specification.
+ * 
+ * Types are compared by identity, without map lookup and without the overhead of conversion service. Widening
+ * conversion between the same types returns the value itself, otherwise the cached wrapper instances of
+ * <code>valueOf</code> are reused where possible.
+ * 
+ * @author Kuisong Tong
+ * @since 1.0
+ */
+public final class PrimitiveWidening {
+    private static final int NONE = 0;
+    private static final int BYTE = 1;
+    private static final int SHORT = 2;
+    private static final int CHAR = 3;
+    private static final int INT = 4;
+    private static final int LONG = 5;
+    private static final int FLOAT = 6;
+    private static final int DOUBLE = 7;
+
+    protected PrimitiveWidening() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Check whether the value of source type can be converted to target type by widening primitive conversion. Both
+     * primitive types and their wrapper types are accepted.
+     * 
+     * @param sourceType type of value
+     * @param targetType type to convert to
+     * @return true if it is an identity or widening primitive conversion
+     */
+    public static boolean isWidening(final Class<?> sourceType, final Class<?> targetType) {
+        final int sourceRank = rankOf(sourceType);
+        final int targetRank = rankOf(targetType);
+        if (sourceRank == NONE || targetRank == NONE) {
+            return false;
+        }
+
+        if (sourceRank == targetRank) {
+            return true;
+        }
+
+        if (targetRank == CHAR) {
+            return false;
+        }
+
+        return sourceRank == CHAR ? targetRank >= INT : sourceRank < targetRank;
+    }
+
+    /**
+     * Convert the value of primitive wrapper type to target type by widening primitive conversion.
+     * 
+     * @param value of primitive wrapper type
+     * @param targetType primitive type or its wrapper type to convert to
+     * @return value of wrapper type of target type, which is the value itself if no conversion is necessary
+     */
+    public static Object widen(final Object value, final Class<?> targetType) {
+        Assert.notNull(value);
+        final Class<?> sourceType = value.getClass();
+        Assert.isTrue(isWidening(sourceType, targetType), "Cannot widen " + sourceType + " to " + targetType + ".");
+
+        final int targetRank = rankOf(targetType);
+        if (rankOf(sourceType) == targetRank) {
+            return value;
+        }
+
+        if (value instanceof Character) {
+            return widen(((Character) value).charValue(), targetRank);
+        }
+
+        final Number number = (Number) value;
+        switch (targetRank) {
+        case SHORT:
+            return Short.valueOf(number.shortValue());
+        case INT:
+            return Integer.valueOf(number.intValue());
+        case LONG:
+            return Long.valueOf(number.longValue());
+        case FLOAT:
+            return Float.valueOf(number.floatValue());
+        default:
+            return Double.valueOf(number.doubleValue());
+        }
+    }
+
+    private static Object widen(final char value, final int targetRank) {
+        switch (targetRank) {
+        case INT:
+            return Integer.valueOf(value);
+        case LONG:
+            return Long.valueOf(value);
+        case FLOAT:
+            return Float.valueOf(value);
+        default:
+            return Double.valueOf(value);
+        }
+    }
+
+    private static int rankOf(final Class<?> type) {
+        if (type == int.class || type == Integer.class) {
+            return INT;
+        } else if (type == long.class || type == Long.class) {
+            return LONG;
+        } else if (type == double.class || type == Double.class) {
+            return DOUBLE;
+        } else if (type == float.class || type == Float.class) {
+            return FLOAT;
+        } else if (type == short.class || type == Short.class) {
+            return SHORT;
+        } else if (type == byte.class || type == Byte.class) {
+            return BYTE;
+        } else if (type == char.class || type == Character.class) {
+            return CHAR;
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,81 @@
+package org.polyforms.parameter.support;
+
+import junit.framework.Assert;
+
+import org.easymock.EasyMock;
+import org.junit.Test;
+import org.polyforms.parameter.ArgumentProvider;
+import org.polyforms.parameter.provider.ArgumentAt;
+import org.polyforms.parameter.provider.ArgumentOfType;
+import org.polyforms.parameter.provider.ConstantArgument;
+
+public class ArgumentMapperTest {
+    private final Object[] arguments = new Object[] { "a", 1, 2L };
+
+    @Test
+    public void identity() {
+        final ArgumentMapper argumentMapper = ArgumentMapper.compile(new ArgumentProvider[] { new ArgumentAt(0),
+                new ArgumentAt(1), new ArgumentAt(2) });
+        Assert.assertSame(arguments, argumentMapper.map(arguments));
+
+        final Object[] targetArguments = new Object[3];
+        argumentMapper.map(arguments, targetArguments);
+        assertArrayEquals(arguments, targetArguments);
+    }
+
+    @Test
+    public void prefix() {
+        final ArgumentMapper argumentMapper = ArgumentMapper.compile(new ArgumentProvider[] { new ArgumentAt(0),
+                new ArgumentAt(1) });
+        assertArrayEquals(new Object[] { "a", 1 }, argumentMapper.map(arguments));
+    }
+
+    @Test
+    public void shift() {
+        final ArgumentMapper argumentMapper = ArgumentMapper.compile(new ArgumentProvider[] { new ArgumentAt(1),
+                new ArgumentAt(2) });
+        assertArrayEquals(new Object[] { 1, 2L }, argumentMapper.map(arguments));
+    }
+
+    @Test
+    public void permutation() throws NoSuchMethodException {
+        final ArgumentOfType argumentOfType = new ArgumentOfType(String.class);
+        argumentOfType.validate(String.class.getMethod("indexOf", new Class<?>[] { String.class, int.class }));
+        final ArgumentMapper argumentMapper = ArgumentMapper.compile(new ArgumentProvider[] { new ArgumentAt(2),
+                new ConstantArgument("constant"), argumentOfType });
+        assertArrayEquals(new Object[] { 2L, "constant", "a" }, argumentMapper.map(arguments));
+        Assert.assertEquals(3, argumentMapper.getArgumentCount());
+    }
+
+    @Test
+    public void dynamicProvider() {
+        final ArgumentProvider argumentProvider = EasyMock.createMock(ArgumentProvider.class);
+        argumentProvider.get(arguments);
+        EasyMock.expectLastCall().andReturn("dynamic");
+        EasyMock.replay(argumentProvider);
+
+        final ArgumentProvider[] argumentProviders = new ArgumentProvider[] { argumentProvider, new ArgumentAt(0) };
+        final ArgumentMapper argumentMapper = ArgumentMapper.compile(argumentProviders);
+        Assert.assertSame(argumentProviders, argumentMapper.getArgumentProviders());
+        assertArrayEquals(new Object[] { "dynamic", "a" }, argumentMapper.map(arguments));
+        EasyMock.verify(argumentProvider);
+    }
+
+    @Test
+    public void noArgument() {
+        final ArgumentMapper argumentMapper = ArgumentMapper.compile(new ArgumentProvider[0]);
+        Assert.assertEquals(0, argumentMapper.map(arguments).length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unvalidatedProvider() {
+        ArgumentMapper.compile(new ArgumentProvider[] { new ArgumentOfType(String.class) }).map(arguments);
+    }
+
+    private void assertArrayEquals(final Object[] expected, final Object[] actual) {
+        Assert.assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i], actual[i]);
+        }
+    }
+}
@@ -8,7 +8,10 @@ import junit.framework.Assert;
 import org.junit.Test;
 import org.polyforms.parameter.ArgumentProvider;
 import org.polyforms.parameter.annotation.At;
+import org.polyforms.parameter.annotation.Constant;
+import org.polyforms.parameter.annotation.ReturnValue;
 import org.polyforms.parameter.provider.ArgumentAt;
+import org.polyforms.parameter.provider.ConstantArgument;
 
 public class ArgumentProviderBuilderTest {
     private final ArgumentProviderBuilder argumentProviderBuilde = new ArgumentProviderBuilder();
@@ -22,6 +25,44 @@ public class ArgumentProviderBuilderTest {
         Assert.assertEquals(ArgumentAt.class, argumentProvider.getClass());
     }
 
+    @Test
+    public void shareStatelessProvider() throws NoSuchMethodException {
+        final Annotation[][] annotations = this.getClass().getMethod("shared",
+                new Class<?>[] { String.class, String.class, String.class }).getParameterAnnotations();
+
+        final ArgumentProvider argumentProvider = argumentProviderBuilde.fromAnnotation(annotations[0][0]);
+        Assert.assertSame(argumentProvider, argumentProviderBuilde.fromAnnotation(annotations[1][0]));
+        Assert.assertNotSame(argumentProvider, argumentProviderBuilde.fromAnnotation(annotations[2][0]));
+    }
+
+    @Test
+    public void buildConstant() throws NoSuchMethodException {
+        final Annotation[][] annotations = this.getClass().getMethod("constant", new Class<?>[] { String.class })
+                .getParameterAnnotations();
+
+        final ArgumentProvider argumentProvider = argumentProviderBuilde.fromAnnotation(annotations[0][0]);
+        Assert.assertEquals(ConstantArgument.class, argumentProvider.getClass());
+        Assert.assertEquals("constant", argumentProvider.get());
+    }
+
+    @Test
+    public void buildWithoutValue() throws NoSuchMethodException {
+        final Annotation[][] annotations = this.getClass().getMethod("returnValue", new Class<?>[] { String.class })
+                .getParameterAnnotations();
+
+        final ArgumentProvider argumentProvider = argumentProviderBuilde.fromAnnotation(annotations[0][0]);
+        Assert.assertEquals(org.polyforms.parameter.provider.ReturnValue.class, argumentProvider.getClass());
+        Assert.assertNotSame(argumentProvider, argumentProviderBuilde.fromAnnotation(annotations[0][0]));
+    }
+
+    @Test
+    public void isProviderAnnotation() throws NoSuchMethodException {
+        Assert.assertTrue(ArgumentProviderBuilder.isProviderAnnotation(this.getClass()
+                .getMethod("at", new Class<?>[] { String.class }).getParameterAnnotations()[0][0]));
+        Assert.assertFalse(ArgumentProviderBuilder.isProviderAnnotation(this.getClass()
+                .getMethod("noProvider", new Class<?>[] { String.class }).getParameterAnnotations()[0][0]));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void noProvider() throws NoSuchMethodException {
         final Method method = this.getClass().getMethod("noProvider", new Class<?>[] { String.class });
@@ -46,6 +87,15 @@ public class ArgumentProviderBuilderTest {
     public void at(@At(0) final String string) {
     }
 
+    public void shared(@At(0) final String string1, @At(0) final String string2, @At(1) final String string3) {
+    }
+
+    public void constant(@Constant("constant") final String string) {
+    }
+
+    public void returnValue(@ReturnValue final String string) {
+    }
+
     public void noProvider(@Deprecated final String string) {
     }
 
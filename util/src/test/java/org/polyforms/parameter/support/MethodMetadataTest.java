@@ -0,0 +1,71 @@
+package org.polyforms.parameter.support;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.polyforms.parameter.annotation.Named;
+
+public class MethodMetadataTest {
+    @Test
+    public void cachedMetadata() throws NoSuchMethodException {
+        final Method method = getClass().getMethod("annotatedMethod", new Class<?>[] { String.class, int.class });
+        Assert.assertSame(MethodMetadata.get(getClass(), method), MethodMetadata.get(getClass(), method));
+    }
+
+    @Test
+    public void metadataResolvedAgainstClass() throws NoSuchMethodException {
+        final Method method = GenericType.class.getMethod("get", new Class<?>[] { Object.class });
+        final MethodMetadata genericMetadata = MethodMetadata.get(GenericType.class, method);
+        final MethodMetadata stringMetadata = MethodMetadata.get(StringType.class, method);
+        Assert.assertNotSame(genericMetadata, stringMetadata);
+        Assert.assertEquals(Object.class, genericMetadata.getParameterType(0));
+        Assert.assertEquals(String.class, stringMetadata.getParameterType(0));
+        Assert.assertEquals(List.class, stringMetadata.getReturnType());
+    }
+
+    @Test
+    public void metadata() throws NoSuchMethodException {
+        final Method method = getClass().getMethod("annotatedMethod", new Class<?>[] { String.class, int.class });
+        final MethodMetadata metadata = MethodMetadata.get(getClass(), method);
+        Assert.assertEquals(2, metadata.getParameterCount());
+        Assert.assertEquals(String.class, metadata.getParameterType(0));
+        Assert.assertEquals(Integer.class, metadata.getParameterType(1));
+        Assert.assertEquals("string", metadata.getParameterName(0));
+        Assert.assertEquals("index", metadata.getParameterName(1));
+        Assert.assertEquals(Named.class, metadata.getProviderAnnotation(0).annotationType());
+        Assert.assertNull(metadata.getProviderAnnotation(1));
+        Assert.assertEquals(void.class, metadata.getReturnType());
+    }
+
+    @Test
+    public void getParameterNames() throws NoSuchMethodException {
+        final Method method = getClass().getMethod("annotatedMethod", new Class<?>[] { String.class, int.class });
+        final String[] parameterNames = MethodMetadata.getParameterNames(method);
+        Assert.assertEquals("string", parameterNames[0]);
+        Assert.assertEquals("index", parameterNames[1]);
+
+        parameterNames[0] = "modified";
+        Assert.assertEquals("string", MethodMetadata.getParameterNames(method)[0]);
+    }
+
+    @Test
+    public void getParameterNamesWithoutDebugInformation() throws NoSuchMethodException {
+        Assert.assertNull(MethodMetadata.getParameterNames(String.class.getMethod("indexOf", new Class<?>[] {
+                String.class, int.class })));
+    }
+
+    public void annotatedMethod(@Deprecated @Named("named") final String string, final int index) {
+    }
+
+    public static class GenericType<T> {
+        public List<T> get(final T key) {
+            return null;
+        }
+    }
+
+    public static class StringType extends GenericType<String> {
+    }
+}
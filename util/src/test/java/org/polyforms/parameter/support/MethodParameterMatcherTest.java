@@ -7,6 +7,7 @@ import junit.framework.Assert;
 import org.junit.Test;
 import org.polyforms.parameter.ArgumentProvider;
 import org.polyforms.parameter.annotation.At;
+import org.polyforms.util.LruCache;
 
 public class MethodParameterMatcherTest {
     private final MethodParameterMatcher methodParameterMatcher = new MethodParameterMatcher();
@@ -32,6 +33,48 @@ public class MethodParameterMatcherTest {
         Assert.assertSame(argumentProviders, methodParameterMatcher.match(sourceParameters, targetParameters));
     }
 
+    @Test
+    public void matchCachedByMethods() throws NoSuchMethodException {
+        final Method sourceMethod = this.getClass().getMethod("sourceMethod",
+                new Class<?>[] { String.class, int.class });
+        final Method targetMethod = this.getClass().getMethod("targetMethod",
+                new Class<?>[] { long.class, String.class });
+
+        final ArgumentProvider[] argumentProviders = methodParameterMatcher.match(new MethodParameters(
+                this.getClass(), sourceMethod), new MethodParameters(this.getClass(), targetMethod));
+        Assert.assertSame(argumentProviders, methodParameterMatcher.match(new MethodParameters(this.getClass(),
+                sourceMethod), new MethodParameters(this.getClass(), targetMethod)));
+
+        final LruCache.Statistics statistics = methodParameterMatcher.getCacheStatistics();
+        Assert.assertEquals(1, statistics.getHitCount());
+        Assert.assertEquals(1, statistics.getMissCount());
+        Assert.assertEquals(1, statistics.getSize());
+    }
+
+    @Test
+    public void shareSourceParameters() throws NoSuchMethodException {
+        final Method sourceMethod = this.getClass().getMethod("sourceMethod",
+                new Class<?>[] { String.class, int.class });
+        final SourceParameters sourceParameters = methodParameterMatcher.getSourceParameters(new MethodParameters(
+                this.getClass(), sourceMethod));
+        Assert.assertSame(sourceParameters, methodParameterMatcher.getSourceParameters(new MethodParameters(this
+                .getClass(), sourceMethod)));
+    }
+
+    @Test
+    public void evictFromBoundedCache() throws NoSuchMethodException {
+        final MethodParameterMatcher boundedMatcher = new MethodParameterMatcher(1);
+        final Method sourceMethod = this.getClass().getMethod("sourceMethod",
+                new Class<?>[] { String.class, int.class });
+        final MethodParameters sourceParameters = new MethodParameters(this.getClass(), sourceMethod);
+        boundedMatcher.match(sourceParameters, sourceParameters);
+        boundedMatcher.match(sourceParameters, new MethodParameters(this.getClass(), this.getClass().getMethod(
+                "targetMethod", new Class<?>[] { long.class, String.class })));
+
+        Assert.assertEquals(1, boundedMatcher.getCacheStatistics().getEvictionCount());
+        Assert.assertEquals(1, boundedMatcher.getCacheStatistics().getSize());
+    }
+
     public void sourceMethod(final String name, final int index) {
     }
 
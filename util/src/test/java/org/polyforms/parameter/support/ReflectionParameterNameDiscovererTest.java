@@ -0,0 +1,39 @@
+package org.polyforms.parameter.support;
+
+import java.lang.reflect.Method;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+public class ReflectionParameterNameDiscovererTest {
+    private final ReflectionParameterNameDiscoverer parameterNameDiscoverer = new ReflectionParameterNameDiscoverer();
+
+    @Test
+    public void getParameterNamesWithoutReflectionData() throws NoSuchMethodException {
+        final Method method = getClass().getMethod("method", new Class<?>[] { String.class });
+        Assert.assertNull(parameterNameDiscoverer.getParameterNames(method));
+    }
+
+    @Test
+    public void getParameterNamesOfMethodWithoutParameter() throws NoSuchMethodException {
+        final String[] parameterNames = parameterNameDiscoverer.getParameterNames(getClass().getMethod("method",
+                new Class<?>[0]));
+        if (ReflectionParameterNameDiscoverer.isSupported()) {
+            Assert.assertEquals(0, parameterNames.length);
+        } else {
+            Assert.assertNull(parameterNames);
+        }
+    }
+
+    @Test
+    public void getParameterNamesOfConstructor() {
+        Assert.assertNull(parameterNameDiscoverer.getParameterNames(getClass().getConstructors()[0]));
+    }
+
+    public void method(final String name) {
+    }
+
+    public void method() {
+    }
+}
@@ -19,13 +19,10 @@ public class SourceParametersTest {
     @Before
     public void setUp() {
         parameters = EasyMock.createMock(Parameters.class);
-        sourceParameters = new SourceParameters(parameters);
-    }
-
-    private void mockParameters(final int times) {
         parameters.getParameters();
-        EasyMock.expectLastCall().andReturn(new Parameter[] { parameter1, parameter2, parameter3 }).times(times);
+        EasyMock.expectLastCall().andReturn(new Parameter[] { parameter1, parameter2, parameter3 });
         EasyMock.replay(parameters);
+        sourceParameters = new SourceParameters(parameters);
     }
 
     private Parameter createParameter(final Class<?> type, final String name, final int index) {
@@ -38,7 +35,6 @@ public class SourceParametersTest {
 
     @Test
     public void matchByName() {
-        mockParameters(1);
         Assert.assertEquals(parameter2, sourceParameters.match(createParameter(String.class, "index", 0)));
 
         // Just for testing cache
@@ -47,7 +43,6 @@ public class SourceParametersTest {
 
     @Test
     public void matchByType() {
-        mockParameters(2);
         Assert.assertEquals(parameter1, sourceParameters.match(createParameter(String.class, null, 1)));
 
         // Just for testing cache
@@ -56,7 +51,6 @@ public class SourceParametersTest {
 
     @Test
     public void matchByIndex() {
-        mockParameters(3);
         Assert.assertEquals(parameter2, sourceParameters.match(createParameter(Float.class, null, 1)));
 
         // Just for testing cache
@@ -65,7 +59,6 @@ public class SourceParametersTest {
 
     @Test(expected = IllegalArgumentException.class)
     public void unmatch() {
-        mockParameters(3);
         sourceParameters.match(createParameter(Integer.class, null, 4));
     }
 
@@ -1,5 +1,8 @@
 package org.polyforms.util;
 
+import java.util.Arrays;
+import java.util.List;
+
 import net.sf.cglib.proxy.Enhancer;
 import net.sf.cglib.proxy.NoOp;
 import net.sf.cglib.proxy.Proxy;
@@ -53,6 +56,30 @@ public class AopUtilsTest {
         Assert.assertTrue(contains(classes, MockInterface.class));
     }
 
+    @Test
+    public void deproxyIntoNewArray() {
+        final Class<?> cglibProxyClass = createEnhancer(MockClass.class, new Class<?>[] { MockInterface.class });
+        final Class<?>[] classes = AopUtils.deproxy(cglibProxyClass);
+        Arrays.fill(classes, null);
+        Assert.assertTrue(contains(AopUtils.deproxy(cglibProxyClass), MockInterface.class));
+        Assert.assertNotSame(AopUtils.deproxy(String.class), AopUtils.deproxy(String.class));
+    }
+
+    @Test
+    public void getCachedDeproxiedClasses() {
+        final Class<?> cglibProxyClass = createEnhancer(MockClass.class, new Class<?>[] { MockInterface.class });
+        final List<Class<?>> classes = AopUtils.getDeproxiedClasses(cglibProxyClass);
+        Assert.assertTrue(classes.contains(MockClass.class));
+        Assert.assertTrue(classes.contains(MockInterface.class));
+        Assert.assertSame(classes, AopUtils.getDeproxiedClasses(cglibProxyClass));
+        Assert.assertTrue(AopUtils.getDeproxiedClasses(null).isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void cannotModifyDeproxiedClasses() {
+        AopUtils.getDeproxiedClasses(String.class).set(0, Object.class);
+    }
+
     private Class<?> createEnhancer(final Class<?> superClass, final Class<?>[] interfaces) {
         final Enhancer enhancer = new Enhancer();
         enhancer.setSuperclass(superClass);
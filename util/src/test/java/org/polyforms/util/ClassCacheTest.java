@@ -0,0 +1,124 @@
+package org.polyforms.util;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ClassCacheTest {
+    private static final Class<?>[] CLASSES = new Class<?>[] { Object.class, String.class, Integer.class, Long.class,
+            Short.class, Byte.class, Character.class, Boolean.class, Float.class, Double.class, List.class,
+            ArrayList.class, ClassCache.class, ClassCacheTest.class, Runnable.class, Thread.class };
+    private final AtomicInteger computations = new AtomicInteger();
+    private ClassCache<Object> classCache;
+
+    @Before
+    public void setUp() {
+        classCache = new ClassCache<Object>() {
+            @Override
+            protected Object computeValue(final Class<?> type) {
+                computations.incrementAndGet();
+                return new Object();
+            }
+        };
+    }
+
+    @Test
+    public void get() {
+        final Object value = classCache.get(String.class);
+        Assert.assertSame(value, classCache.get(String.class));
+        Assert.assertNotSame(value, classCache.get(Object.class));
+        Assert.assertEquals(2, computations.get());
+    }
+
+    @Test
+    public void remove() {
+        final Object value = classCache.get(String.class);
+        classCache.remove(String.class);
+        Assert.assertNotSame(value, classCache.get(String.class));
+        Assert.assertEquals(2, computations.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getNull() {
+        classCache.get(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void computeNull() {
+        new ClassCache<Object>() {
+            @Override
+            protected Object computeValue(final Class<?> type) {
+                return null;
+            }
+        }.get(String.class);
+    }
+
+    @Test
+    public void unloadClass() throws Exception {
+        final URL location = ClassCacheTest.class.getProtectionDomain().getCodeSource().getLocation();
+        ClassLoader classLoader = new URLClassLoader(new URL[] { location }, null);
+        classCache.get(classLoader.loadClass(ClassCacheTest.class.getName()));
+        Assert.assertEquals(1, classCache.size());
+
+        classLoader = null;
+        for (int i = 0; i < 50 && classCache.size() > 0; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        Assert.assertEquals(0, classCache.size());
+    }
+
+    @Test
+    public void concurrentGet() throws Exception {
+        final int threads = Runtime.getRuntime().availableProcessors() * 4;
+        final int iterations = 10000;
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        final List<Future<Object[]>> futures = new ArrayList<Future<Object[]>>();
+
+        try {
+            for (int t = 0; t < threads; t++) {
+                final int offset = t;
+                futures.add(executorService.submit(new Callable<Object[]>() {
+                    public Object[] call() throws InterruptedException {
+                        final Object[] values = new Object[CLASSES.length];
+                        startLatch.await();
+                        for (int i = 0; i < iterations; i++) {
+                            final int index = (i + offset) % CLASSES.length;
+                            final Object value = classCache.get(CLASSES[index]);
+                            if (values[index] == null) {
+                                values[index] = value;
+                            } else if (values[index] != value) {
+                                throw new IllegalStateException("Different values returned for " + CLASSES[index]);
+                            }
+                        }
+                        return values;
+                    }
+                }));
+            }
+            startLatch.countDown();
+
+            for (final Future<Object[]> future : futures) {
+                final Object[] values = future.get();
+                for (int i = 0; i < CLASSES.length; i++) {
+                    Assert.assertSame(classCache.get(CLASSES[i]), values[i]);
+                }
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        Assert.assertEquals(CLASSES.length, classCache.size());
+    }
+}
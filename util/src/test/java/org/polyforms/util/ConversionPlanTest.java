@@ -0,0 +1,143 @@
+package org.polyforms.util;
+
+import java.lang.reflect.Method;
+
+import org.easymock.EasyMock;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+
+public class ConversionPlanTest {
+    private ConversionService conversionService;
+    private Method method;
+
+    @Before
+    public void setUp() throws NoSuchMethodException {
+        conversionService = EasyMock.createMock(ConversionService.class);
+        method = ForConversionTest.class.getMethod("indexOf", new Class<?>[] { Object[].class, Integer.class });
+    }
+
+    @Test
+    public void getCachedPlan() {
+        final ConversionPlan plan = ConversionPlan.get(ConversionUtilsTest.class, method);
+        Assert.assertSame(plan, ConversionPlan.get(ConversionUtilsTest.class, method));
+        Assert.assertTrue(plan.getParameterTypeDescriptors()[0].isArray());
+        Assert.assertEquals(String.class, plan.getReturnTypeDescriptor().getType());
+    }
+
+    @Test
+    public void convertAssignableArguments() throws NoSuchMethodException {
+        final Object[] arguments = new Object[] { "a" };
+        conversionService.convert(EasyMock.eq("a"), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn("a");
+        EasyMock.replay(conversionService);
+
+        final ConversionPlan plan = ConversionPlan.get(String.class,
+                String.class.getMethod("concat", new Class<?>[] { String.class }));
+        Assert.assertSame(arguments, plan.convertArguments(conversionService, arguments));
+        EasyMock.verify(conversionService);
+    }
+
+    @Test
+    public void skipAssignableArgumentsInPlace() throws NoSuchMethodException {
+        EasyMock.replay(conversionService);
+
+        final Object[] arguments = new Object[] { "a" };
+        ConversionPlan.get(String.class, String.class.getMethod("concat", new Class<?>[] { String.class }))
+                .convertArgumentsInPlace(conversionService, arguments);
+        Assert.assertEquals("a", arguments[0]);
+        EasyMock.verify(conversionService);
+    }
+
+    @Test
+    public void widenPrimitiveArgumentsInPlace() throws NoSuchMethodException {
+        EasyMock.replay(conversionService);
+
+        final Object[] arguments = new Object[] { 1 };
+        ConversionPlan.get(Long.class, Long.class.getMethod("valueOf", new Class<?>[] { long.class }))
+                .convertArgumentsInPlace(conversionService, arguments);
+        Assert.assertEquals(Long.valueOf(1), arguments[0]);
+        EasyMock.verify(conversionService);
+    }
+
+    @Test
+    public void convertArguments() {
+        final Integer[] integers = new Integer[] { 1 };
+        final Object[] arguments = new Object[] { integers, 0 };
+
+        conversionService.convert(EasyMock.eq(integers), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn(new String[] { "1" });
+        conversionService.convert(EasyMock.eq(0), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn(0);
+        EasyMock.replay(conversionService);
+
+        final Object[] convertedArguments = ConversionPlan.get(ConversionUtilsTest.class, method).convertArguments(
+                conversionService, arguments);
+        Assert.assertNotSame(arguments, convertedArguments);
+        Assert.assertSame(integers, arguments[0]);
+        Assert.assertEquals("1", ((String[]) convertedArguments[0])[0]);
+        Assert.assertEquals(0, convertedArguments[1]);
+        EasyMock.verify(conversionService);
+    }
+
+    @Test
+    public void convertArgumentsInPlace() {
+        final Object[] arguments = new Object[] { new Integer[] { 1 }, 0 };
+
+        conversionService.convert(EasyMock.isA(Integer[].class), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn(new String[] { "1" });
+        EasyMock.replay(conversionService);
+
+        ConversionPlan.get(ConversionUtilsTest.class, method).convertArgumentsInPlace(conversionService, arguments);
+        Assert.assertEquals("1", ((String[]) arguments[0])[0]);
+        Assert.assertEquals(0, arguments[1]);
+        EasyMock.verify(conversionService);
+    }
+
+    @Test
+    public void convertReturnValue() {
+        conversionService.convert(EasyMock.eq(1), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn("1");
+        conversionService.convert(EasyMock.eq("2"), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn("2");
+        EasyMock.replay(conversionService);
+
+        final ConversionPlan plan = ConversionPlan.get(ConversionUtilsTest.class, method);
+        Assert.assertEquals("1", plan.convertReturnValue(conversionService, 1));
+        Assert.assertEquals("2", plan.convertReturnValue(conversionService, "2"));
+        Assert.assertNull(plan.convertReturnValue(conversionService, null));
+        EasyMock.verify(conversionService);
+    }
+
+    @Test
+    public void convertReturnValueIfNecessary() {
+        conversionService.convert(EasyMock.eq(1), EasyMock.isA(TypeDescriptor.class),
+                EasyMock.isA(TypeDescriptor.class));
+        EasyMock.expectLastCall().andReturn("1");
+        EasyMock.replay(conversionService);
+
+        final ConversionPlan plan = ConversionPlan.get(ConversionUtilsTest.class, method);
+        Assert.assertEquals("1", plan.convertReturnValueIfNecessary(conversionService, 1));
+        Assert.assertEquals("2", plan.convertReturnValueIfNecessary(conversionService, "2"));
+        EasyMock.verify(conversionService);
+    }
+
+    @Test
+    public void returnDefaultValue() {
+        EasyMock.replay(conversionService);
+
+        final ConversionPlan plan = ConversionPlan.forReturnValue(TypeDescriptor.valueOf(int.class));
+        Assert.assertEquals(0, plan.getParameterTypeDescriptors().length);
+        Assert.assertEquals(0, plan.convertReturnValue(conversionService, null));
+        Assert.assertEquals(1, plan.convertReturnValueIfNecessary(conversionService, 1));
+        EasyMock.verify(conversionService);
+    }
+}
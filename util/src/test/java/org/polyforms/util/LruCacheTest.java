@@ -0,0 +1,138 @@
+package org.polyforms.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LruCacheTest {
+    private LruCache<String, Object> lruCache;
+
+    @Before
+    public void setUp() {
+        lruCache = new LruCache<String, Object>(8);
+    }
+
+    @Test
+    public void getAndPut() {
+        Assert.assertNull(lruCache.get("key"));
+        final Object value = new Object();
+        Assert.assertSame(value, lruCache.putIfAbsent("key", value));
+        Assert.assertSame(value, lruCache.putIfAbsent("key", new Object()));
+        Assert.assertSame(value, lruCache.get("key"));
+
+        final LruCache.Statistics statistics = lruCache.getStatistics();
+        Assert.assertEquals(1, statistics.getHitCount());
+        Assert.assertEquals(1, statistics.getMissCount());
+        Assert.assertEquals(0, statistics.getEvictionCount());
+        Assert.assertEquals(1, statistics.getSize());
+        Assert.assertEquals(0.5, statistics.getHitRate(), 0);
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() {
+        for (int i = 0; i < 8; i++) {
+            lruCache.putIfAbsent("key" + i, i);
+            waitForNextTick();
+        }
+        lruCache.get("key0");
+        waitForNextTick();
+        lruCache.putIfAbsent("key8", 8);
+
+        Assert.assertEquals(7, lruCache.size());
+        Assert.assertEquals(2, lruCache.getStatistics().getEvictionCount());
+        Assert.assertEquals(0, lruCache.get("key0"));
+        Assert.assertNull(lruCache.get("key1"));
+        Assert.assertNull(lruCache.get("key2"));
+        Assert.assertEquals(8, lruCache.get("key8"));
+    }
+
+    @Test
+    public void boundedUnderContention() throws Exception {
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            final Future<?>[] futures = new Future<?>[4];
+            for (int i = 0; i < futures.length; i++) {
+                final int thread = i;
+                futures[i] = executorService.submit(new Callable<Object>() {
+                    public Object call() {
+                        for (int j = 0; j < 1000; j++) {
+                            final String key = thread + ":" + j;
+                            lruCache.putIfAbsent(key, j);
+                            lruCache.get(key);
+                        }
+                        return null;
+                    }
+                });
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        Assert.assertTrue(lruCache.size() <= lruCache.getMaximumSize() + 4);
+        Assert.assertEquals(4000, lruCache.getStatistics().getHitCount() + lruCache.getStatistics().getMissCount());
+    }
+
+    @Test
+    public void evictWhileLookupsStampSharedEntries() throws Exception {
+        final LruCache<String, Object> sharedCache = new LruCache<String, Object>(64);
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            final Future<?>[] futures = new Future<?>[8];
+            for (int i = 0; i < futures.length; i++) {
+                final int thread = i;
+                futures[i] = executorService.submit(new Callable<Object>() {
+                    public Object call() {
+                        for (int j = 0; j < 20000; j++) {
+                            final String key = String.valueOf((j * 31 + thread) % 256);
+                            if (sharedCache.get(key) == null) {
+                                sharedCache.putIfAbsent(key, j);
+                            }
+                        }
+                        return null;
+                    }
+                });
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        sharedCache.putIfAbsent("key", new Object());
+        Assert.assertTrue(sharedCache.size() <= sharedCache.getMaximumSize());
+    }
+
+    @Test
+    public void clear() {
+        lruCache.putIfAbsent("key", new Object());
+        lruCache.clear();
+        Assert.assertEquals(0, lruCache.size());
+        Assert.assertEquals(1.0, lruCache.getStatistics().getHitRate(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveMaximumSize() {
+        new LruCache<String, Object>(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void putNullValue() {
+        lruCache.putIfAbsent("key", null);
+    }
+
+    private void waitForNextTick() {
+        final long now = System.nanoTime();
+        while (System.nanoTime() == now) {
+            // the access time of entries is distinct only if the clock ticks
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.polyforms.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrimitiveWideningTest {
+    @Test(expected = UnsupportedOperationException.class)
+    public void cannotInstance() {
+        new PrimitiveWidening();
+    }
+
+    @Test
+    public void isWidening() {
+        Assert.assertTrue(PrimitiveWidening.isWidening(Integer.class, long.class));
+        Assert.assertTrue(PrimitiveWidening.isWidening(int.class, Long.class));
+        Assert.assertTrue(PrimitiveWidening.isWidening(Long.class, long.class));
+        Assert.assertTrue(PrimitiveWidening.isWidening(Byte.class, short.class));
+        Assert.assertTrue(PrimitiveWidening.isWidening(Character.class, int.class));
+        Assert.assertTrue(PrimitiveWidening.isWidening(Long.class, float.class));
+        Assert.assertFalse(PrimitiveWidening.isWidening(Long.class, int.class));
+        Assert.assertFalse(PrimitiveWidening.isWidening(Short.class, char.class));
+        Assert.assertFalse(PrimitiveWidening.isWidening(Character.class, short.class));
+        Assert.assertFalse(PrimitiveWidening.isWidening(Boolean.class, int.class));
+        Assert.assertFalse(PrimitiveWidening.isWidening(String.class, int.class));
+        Assert.assertFalse(PrimitiveWidening.isWidening(Integer.class, null));
+    }
+
+    @Test
+    public void widen() {
+        final Long value = 1L;
+        Assert.assertSame(value, PrimitiveWidening.widen(value, long.class));
+        Assert.assertEquals(Long.valueOf(1), PrimitiveWidening.widen(1, long.class));
+        Assert.assertEquals(Short.valueOf((short) 1), PrimitiveWidening.widen((byte) 1, short.class));
+        Assert.assertEquals(Integer.valueOf(1), PrimitiveWidening.widen((short) 1, Integer.class));
+        Assert.assertEquals(Float.valueOf(1), PrimitiveWidening.widen(1L, float.class));
+        Assert.assertEquals(Double.valueOf(1), PrimitiveWidening.widen(1F, double.class));
+        Assert.assertEquals(Integer.valueOf('a'), PrimitiveWidening.widen('a', int.class));
+        Assert.assertEquals(Long.valueOf('a'), PrimitiveWidening.widen('a', long.class));
+        Assert.assertEquals(Float.valueOf('a'), PrimitiveWidening.widen('a', float.class));
+        Assert.assertEquals(Double.valueOf('a'), PrimitiveWidening.widen('a', double.class));
+    }
+
+    @Test
+    public void widenWithoutAllocation() {
+        Assert.assertSame(Long.valueOf(1), PrimitiveWidening.widen(1, long.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotNarrow() {
+        PrimitiveWidening.widen(1L, int.class);
+    }
+}